@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import model.Bitacora;
+import model.Pastor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coste de registrar una eliminación en la bitácora: apagada, con salida síncrona a
+ * {@code System.out} y con la salida asíncrona. Conviene redirigir la salida estándar
+ * a {@code /dev/null} al ejecutarlo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitacoraBenchmark {
+
+    @Param({"APAGADO", "SINCRONA", "ASINCRONA"})
+    private String salida;
+
+    private Pastor pastor;
+    private int creyentes;
+
+    @Setup
+    public void preparar() {
+        switch (salida) {
+            case "APAGADO" -> Bitacora.configurar(Bitacora.Nivel.APAGADO, false);
+            case "SINCRONA" -> Bitacora.configurar(Bitacora.Nivel.INFO, false);
+            default -> Bitacora.configurar(Bitacora.Nivel.INFO, true);
+        }
+        pastor = Mesas.aleatoria(1, 42).getCabeza().getDato();
+    }
+
+    @TearDown
+    public void vaciar() {
+        Bitacora.vaciar();
+    }
+
+    @Benchmark
+    public int registrarEliminacion() {
+        Bitacora.registrar(Bitacora.Evento.PASTOR_ELIMINADO, pastor, ++creyentes, pastor.getDinero());
+        return creyentes;
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara dos resultados de JMH en formato CSV ({@code -rf csv}) y señala las regresiones.
+ *
+ * Uso: {@code java -cp benchmarks.jar benchmark.CompararResultados base.csv nuevo.csv [tolerancia%]}
+ * Termina con código 1 si algún benchmark (modo de tiempo medio) empeora más que la tolerancia.
+ */
+public final class CompararResultados {
+
+    private CompararResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararResultados base.csv nuevo.csv [tolerancia%]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Double> base = leer(Path.of(args[0]));
+        Map<String, Double> nuevo = leer(Path.of(args[1]));
+
+        int regresiones = 0;
+        for (Map.Entry<String, Double> entrada : base.entrySet()) {
+            Double puntaje = nuevo.get(entrada.getKey());
+            if (puntaje == null) {
+                continue;
+            }
+            double cambio = 100 * (puntaje - entrada.getValue()) / entrada.getValue();
+            boolean regresion = cambio > tolerancia;
+            if (regresion) {
+                regresiones++;
+            }
+            System.out.printf("%-80s %14.3f -> %14.3f  %+7.1f%%%s%n", entrada.getKey(),
+                    entrada.getValue(), puntaje, cambio, regresion ? "  REGRESIÓN" : "");
+        }
+        System.exit(regresiones > 0 ? 1 : 0);
+    }
+
+    /**
+     * Lee un CSV de JMH y devuelve el puntaje de cada benchmark, identificado por su
+     * nombre y sus parámetros.
+     */
+    private static Map<String, Double> leer(Path archivo) throws IOException {
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        List<String> cabecera = columnas(lineas.get(0));
+        int colNombre = cabecera.indexOf("Benchmark");
+        int colPuntaje = cabecera.indexOf("Score");
+        Map<String, Double> puntajes = new LinkedHashMap<>();
+        for (String linea : lineas.subList(1, lineas.size())) {
+            List<String> valores = columnas(linea);
+            StringBuilder clave = new StringBuilder(valores.get(colNombre));
+            for (int i = 0; i < cabecera.size(); i++) {
+                if (cabecera.get(i).startsWith("Param: ")) {
+                    clave.append(' ').append(cabecera.get(i).substring(7)).append('=').append(valores.get(i));
+                }
+            }
+            puntajes.put(clave.toString(), Double.parseDouble(valores.get(colPuntaje)));
+        }
+        return puntajes;
+    }
+
+    /** Separa una línea CSV respetando los campos entre comillas. */
+    private static List<String> columnas(String linea) {
+        List<String> columnas = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (char c : linea.toCharArray()) {
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (c == ',' && !entreComillas) {
+                columnas.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        columnas.add(actual.toString());
+        return columnas;
+    }
+}
@@ -0,0 +1,131 @@
+package benchmark;
+
+import controller.ControllerJuego;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.Pastor;
+import model.PilaPastores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de las reglas de {@link ControllerJuego} sobre una mesa de {@code tamanno} pastores.
+ *
+ * {@code reorganizarMesa} y {@code eliminarPastorMenosFeligreses} modifican la mesa, así que
+ * cada invocación parte de una copia nueva de la mesa aleatoria (la copia no se mide).
+ * Para una comparación rápida se puede restringir el parámetro con {@code -p tamanno=10,1000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerJuegoBenchmark {
+
+    /** Copia nueva de una mesa aleatoria (con conflictos de oficio) para cada invocación. */
+    @State(Scope.Thread)
+    public static class MesaCopiada {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        private int tamanno;
+
+        @Param({"3"})
+        private int pasos;
+
+        private ListaCircularDoble<Pastor> original;
+        private ControllerJuego juego;
+        private Pastor actual;
+
+        @Setup(Level.Trial)
+        public void crearMesa() {
+            original = Mesas.aleatoria(tamanno, 42);
+        }
+
+        @Setup(Level.Invocation)
+        public void copiarMesa() {
+            ListaCircularDoble<Pastor> copia = original.clonarLista();
+            juego = new ControllerJuego(copia, new PilaPastores());
+            actual = copia.obtenerPrimerPastor();
+        }
+    }
+
+    /**
+     * Copia nueva de una mesa aleatoria con {@code pasos = tamanno / 3}, sin y con creyentes
+     * indexados por posición, para medir la búsqueda del vecino con menos feligreses.
+     */
+    @State(Scope.Thread)
+    public static class MesaPasosLargos {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        private int tamanno;
+
+        @Param({"false", "true"})
+        private boolean indexada;
+
+        private ListaCircularDoble<Pastor> original;
+        private ControllerJuego juego;
+        private Pastor actual;
+
+        @Setup(Level.Trial)
+        public void crearMesa() {
+            original = new ListaCircularDoble<>(ListaCircularDoble.TipoIndice.IDENTIDAD, indexada);
+            Mesas.aleatoria(tamanno, 42).recorrer(original::insertarAlFinal);
+            if (indexada) {
+                original.setClaveMinimo(Pastor::getCreyentes);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void copiarMesa() {
+            ListaCircularDoble<Pastor> copia = original.clonarLista();
+            juego = new ControllerJuego(copia, new PilaPastores());
+            actual = copia.obtenerPrimerPastor();
+        }
+    }
+
+    /** Mesa sin conflictos, para medir un recorrido completo de {@code hayConflictosOficio}. */
+    @State(Scope.Thread)
+    public static class MesaSinConflictos {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        private int tamanno;
+
+        private ControllerJuego juego;
+
+        @Setup(Level.Trial)
+        public void crearMesa() {
+            juego = new ControllerJuego(Mesas.sinConflictos(tamanno), new PilaPastores());
+        }
+    }
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> reorganizarMesa(MesaCopiada mesa) {
+        mesa.juego.reorganizarMesa();
+        return mesa.juego.getPastorList();
+    }
+
+    @Benchmark
+    public Pastor eliminarPastorMenosFeligreses(MesaCopiada mesa) {
+        return mesa.juego.eliminarPastorMenosFeligreses(mesa.actual, "derecha", mesa.pasos);
+    }
+
+    @Benchmark
+    public Pastor eliminarPastorMenosFeligresesPasosLargos(MesaPasosLargos mesa) {
+        return mesa.juego.eliminarPastorMenosFeligreses(mesa.actual, "derecha", Math.max(1, mesa.tamanno / 3));
+    }
+
+    @Benchmark
+    public boolean hayConflictosOficio(MesaSinConflictos mesa) {
+        return mesa.juego.hayConflictosOficio();
+    }
+}
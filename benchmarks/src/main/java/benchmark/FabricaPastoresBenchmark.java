@@ -0,0 +1,47 @@
+package benchmark;
+
+import controller.ControllerPastor;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.Pastor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Siembra de una mesa de {@code tamanno} pastores aleatorios: generación secuencial con un
+ * solo generador frente a {@code FabricaPastores} en paralelo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FabricaPastoresBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tamanno;
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> secuencial() {
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>();
+        ControllerPastor.crearListaPastores(mesa, tamanno, new SplittableRandom(42));
+        return mesa;
+    }
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> paralela() {
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>();
+        ControllerPastor.crearListaPastores(mesa, tamanno, 42L);
+        return mesa;
+    }
+}
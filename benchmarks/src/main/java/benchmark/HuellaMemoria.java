@@ -0,0 +1,46 @@
+package benchmark;
+
+import model.ListaCircular;
+import model.ListaCircularArreglo;
+
+/**
+ * Mide la memoria que ocupa la estructura de cada implementación de {@link ListaCircular}
+ * (sin contar los datos: todos los elementos apuntan al mismo objeto).
+ *
+ * Uso: {@code java -cp benchmarks.jar benchmark.HuellaMemoria [tamanno]}
+ */
+public final class HuellaMemoria {
+
+    private HuellaMemoria() {
+    }
+
+    public static void main(String[] args) {
+        int tamanno = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Object dato = new Object();
+        for (ListaCircular.Implementacion implementacion : ListaCircular.Implementacion.values()) {
+            long antes = memoriaUsada();
+            ListaCircular<Object> lista = ListaCircular.crear(implementacion, ListaCircular.TipoIndice.NINGUNO);
+            for (int i = 0; i < tamanno; i++) {
+                lista.insertarAlFinal(dato);
+            }
+            long despues = memoriaUsada();
+            System.out.printf("%-8s %,d elementos: %,d bytes (%.1f bytes/elemento)%n", implementacion,
+                    tamanno, despues - antes, (double) (despues - antes) / tamanno);
+            if (lista instanceof ListaCircularArreglo<Object> arreglo) {
+                arreglo.compactar();
+                long compacta = memoriaUsada();
+                System.out.printf("%-8s compactada: %,d bytes (%.1f bytes/elemento)%n", implementacion,
+                        compacta - antes, (double) (compacta - antes) / tamanno);
+            }
+            lista.borrarLista();
+        }
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
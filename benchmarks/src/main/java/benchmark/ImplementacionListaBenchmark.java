@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircular;
+import model.ListaCircularArreglo;
+import model.OficiosPastores;
+import model.Pastor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara el recorrido completo de {@link model.ListaCircularDoble} (nodos) y
+ * {@link ListaCircularArreglo} (arreglos {@code int[]}) con el mismo contenido.
+ *
+ * Con {@code orden = MEZCLADO} la mesa se construye secuencialmente y luego se mueven
+ * {@code tamanno} pastores al azar al final, de modo que el orden de la lista deja de
+ * coincidir con el orden en memoria (como ocurre tras muchas eliminaciones y
+ * resurrecciones). {@code COMPACTADO} aplica además {@link ListaCircularArreglo#compactar()}
+ * a la versión con arreglos.
+ *
+ * La huella de memoria de cada implementación se mide con {@link HuellaMemoria}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ImplementacionListaBenchmark {
+
+    public enum Orden { SECUENCIAL, MEZCLADO, COMPACTADO }
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int tamanno;
+
+    @Param({"NODOS", "ARREGLO"})
+    private ListaCircular.Implementacion implementacion;
+
+    @Param({"SECUENCIAL", "MEZCLADO", "COMPACTADO"})
+    private Orden orden;
+
+    private ListaCircular<Pastor> lista;
+
+    /** Suma acumulada por {@link #recorrer()}; un campo para que el JIT no elimine el recorrido. */
+    private long suma;
+
+    @Setup
+    public void preparar() {
+        lista = ListaCircular.crear(implementacion, ListaCircular.TipoIndice.IDENTIDAD);
+        OficiosPastores[] oficios = OficiosPastores.values();
+        Pastor[] pastores = new Pastor[tamanno];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < tamanno; i++) {
+            pastores[i] = Mesas.pastor(i, random.nextInt(1000), random.nextInt(500),
+                    oficios[i % oficios.length]);
+            lista.insertarAlFinal(pastores[i]);
+        }
+        if (orden != Orden.SECUENCIAL) {
+            for (int i = 0; i < tamanno; i++) {
+                Pastor pastor = pastores[random.nextInt(tamanno)];
+                lista.eliminar(pastor);
+                lista.insertarAlFinal(pastor);
+            }
+        }
+        if (orden == Orden.COMPACTADO && lista instanceof ListaCircularArreglo<Pastor> arreglo) {
+            arreglo.compactar();
+        }
+    }
+
+    @Benchmark
+    public long recorrer() {
+        suma = 0;
+        lista.recorrer(p -> suma += p.getCreyentes());
+        return suma;
+    }
+
+    @Benchmark
+    public Pastor obtenerMasRico() {
+        return lista.obtenerMasRico((p1, p2) -> Integer.compare(p1.getDinero(), p2.getDinero()));
+    }
+}
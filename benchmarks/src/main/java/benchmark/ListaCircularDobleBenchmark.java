@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.Pastor;
+import model.PastorMemoria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de las operaciones de {@link ListaCircularDoble} sobre una mesa de
+ * {@code tamanno} pastores, con y sin índice de elemento a nodo.
+ *
+ * Las operaciones que modifican la lista se miden junto con la operación O(1) que la
+ * devuelve a su estado inicial, de modo que el tamaño se mantiene estable entre
+ * invocaciones y buscan el último elemento (peor caso); las consultas buscan el
+ * elemento central.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListaCircularDobleBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int tamanno;
+
+    @Param({"NINGUNO", "IDENTIDAD"})
+    private ListaCircularDoble.TipoIndice indice;
+
+    private ListaCircularDoble<Pastor> lista;
+    private Pastor ultimo;
+    private Pastor medio;
+    private Pastor nuevo;
+    private Comparator<Pastor> porDinero;
+
+    @Setup
+    public void preparar() {
+        lista = Mesas.aleatoria(tamanno, 42, indice);
+        ultimo = lista.obtenerUltimoPastor();
+        NodoDoble<Pastor> nodo = lista.getCabeza();
+        for (int i = 0; i < tamanno / 2; i++) {
+            nodo = nodo.getSiguiente();
+        }
+        medio = nodo.getDato();
+        nuevo = new PastorMemoria(1, 1);
+        porDinero = (p1, p2) -> Integer.compare(p1.getDinero(), p2.getDinero());
+    }
+
+    /** Inserción al final seguida de {@code eliminarAlFinal} para restaurar la lista. */
+    @Benchmark
+    public Pastor insertarAlFinal() {
+        lista.insertarAlFinal(nuevo);
+        return lista.eliminarAlFinal();
+    }
+
+    /** Inserción tras el último elemento (búsqueda completa) y {@code eliminarAlFinal}. */
+    @Benchmark
+    public Pastor insertarDespuesDe() {
+        lista.insertarDespuesDe(ultimo, nuevo);
+        return lista.eliminarAlFinal();
+    }
+
+    /** Eliminación del último elemento por valor (búsqueda completa) e {@code insertarAlFinal}. */
+    @Benchmark
+    public boolean eliminar() {
+        boolean eliminado = lista.eliminar(ultimo);
+        lista.insertarAlFinal(ultimo);
+        return eliminado;
+    }
+
+    @Benchmark
+    public NodoDoble<Pastor> buscarNodo() {
+        return lista.buscarNodo(medio);
+    }
+
+    @Benchmark
+    public Pastor obtenerSiguiente() {
+        return lista.obtenerSiguiente(medio);
+    }
+
+    @Benchmark
+    public Pastor obtenerMasRico() {
+        return lista.obtenerMasRico(porDinero);
+    }
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> clonarLista() {
+        return lista.clonarLista();
+    }
+}
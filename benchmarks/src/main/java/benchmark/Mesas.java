@@ -0,0 +1,70 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import model.ListaCircularDoble;
+import model.OficiosPastores;
+import model.Pastor;
+import model.PastorMemoria;
+
+/**
+ * Construcción de mesas de prueba para los benchmarks.
+ * No usa {@code ControllerPastor} para no imprimir un mensaje por pastor al preparar mesas grandes.
+ */
+final class Mesas {
+
+    private static final OficiosPastores[] OFICIOS = OficiosPastores.values();
+
+    private Mesas() {
+    }
+
+    /**
+     * Crea una mesa de {@code n} pastores con recursos y oficios aleatorios.
+     *
+     * @param n       número de asientos
+     * @param semilla semilla para que todas las ejecuciones usen la misma mesa
+     * @return la mesa
+     */
+    static ListaCircularDoble<Pastor> aleatoria(int n, long semilla) {
+        return aleatoria(n, semilla, ListaCircularDoble.TipoIndice.NINGUNO);
+    }
+
+    /**
+     * Crea una mesa de {@code n} pastores con recursos y oficios aleatorios.
+     *
+     * @param n          número de asientos
+     * @param semilla    semilla para que todas las ejecuciones usen la misma mesa
+     * @param tipoIndice modo de indexación de la lista
+     * @return la mesa
+     */
+    static ListaCircularDoble<Pastor> aleatoria(int n, long semilla, ListaCircularDoble.TipoIndice tipoIndice) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>(tipoIndice);
+        for (int i = 0; i < n; i++) {
+            mesa.insertarAlFinal(pastor(i, random.nextInt(1000), random.nextInt(500),
+                    OFICIOS[random.nextInt(OFICIOS.length)]));
+        }
+        return mesa;
+    }
+
+    /**
+     * Crea una mesa de {@code n} pastores donde los oficios se repiten en ciclo,
+     * de modo que no hay dos vecinos con el mismo oficio (si {@code n % 30 != 1}).
+     *
+     * @param n número de asientos
+     * @return la mesa
+     */
+    static ListaCircularDoble<Pastor> sinConflictos(int n) {
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>();
+        for (int i = 0; i < n; i++) {
+            mesa.insertarAlFinal(pastor(i, i % 1000, i % 500, OFICIOS[i % OFICIOS.length]));
+        }
+        return mesa;
+    }
+
+    static Pastor pastor(int i, int dinero, int creyentes, OficiosPastores oficio) {
+        Pastor pastor = new PastorMemoria(dinero, creyentes);
+        pastor.setNombre("Pastor " + i);
+        pastor.setOficio(oficio);
+        return pastor;
+    }
+}
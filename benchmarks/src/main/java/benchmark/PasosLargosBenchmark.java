@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import model.ListaCircular;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.Pastor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Paso de eliminación estilo Josefo con {@code pasos = tamanno / 3}: avanzar desde el
+ * cursor, desenlazar el nodo alcanzado y devolver su dato al final de la mesa para que
+ * el tamaño se mantenga estable. Compara la lista sin y con árbol de posiciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PasosLargosBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int tamanno;
+
+    @Param({"false", "true"})
+    private boolean conPosiciones;
+
+    private ListaCircularDoble<Pastor> lista;
+    private NodoDoble<Pastor> cursor;
+    private int pasos;
+
+    @Setup
+    public void preparar() {
+        lista = new ListaCircularDoble<>(ListaCircular.TipoIndice.NINGUNO, conPosiciones);
+        Mesas.aleatoria(tamanno, 42).recorrer(lista::insertarAlFinal);
+        cursor = lista.getCabeza();
+        pasos = Math.max(1, tamanno / 3);
+    }
+
+    @Benchmark
+    public Pastor eliminarKesimo() {
+        NodoDoble<Pastor> victima = lista.avanzar(cursor, pasos);
+        cursor = victima.getSiguiente();
+        Pastor eliminado = lista.desenlazar(victima);
+        lista.insertarAlFinal(eliminado);
+        return eliminado;
+    }
+}
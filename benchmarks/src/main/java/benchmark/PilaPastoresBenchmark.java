@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import model.Pastor;
+import model.PastorMemoria;
+import model.PilaPastores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Llenar una {@link PilaPastores} con {@code profundidad} pastores y vaciarla, guardando
+ * todos los pastores como objetos, compactando los que no caben en memoria o volcándolos
+ * además a un archivo. Con {@code -Xmx256m} solo los dos últimos modos terminan a diez
+ * millones.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dbitacora.nivel=APAGADO", "-Xmx256m"})
+@State(Scope.Thread)
+public class PilaPastoresBenchmark {
+
+    /** Pastores de la cima que se guardan como objetos al compactar. */
+    private static final int EN_MEMORIA = 1 << 14;
+
+    public enum Modo { OBJETOS, COMPACTA, DISCO }
+
+    @Param({"1000000", "10000000"})
+    private int profundidad;
+
+    @Param
+    private Modo modo;
+
+    private PilaPastores pila;
+    /** Directorio temporal donde la pila crea su archivo de desborde. */
+    private Path directorio;
+    private Path archivo;
+
+    @Setup(Level.Iteration)
+    public void crearPila() throws IOException {
+        directorio = Files.createTempDirectory("pila");
+        archivo = directorio.resolve("desborde.bin");
+        pila = switch (modo) {
+            case OBJETOS -> new PilaPastores();
+            case COMPACTA -> new PilaPastores(EN_MEMORIA);
+            case DISCO -> new PilaPastores(EN_MEMORIA, 4 * EN_MEMORIA, archivo);
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void cerrarPila() throws IOException {
+        pila.close();
+        Files.deleteIfExists(archivo);
+        Files.delete(directorio);
+    }
+
+    @Benchmark
+    public long llenarYVaciar() {
+        for (int i = 0; i < profundidad; i++) {
+            Pastor pastor = new PastorMemoria(i, i);
+            pastor.setCodigoNombre(i & 0xFFFFF);
+            pila.apilar(pastor);
+        }
+        long dinero = 0;
+        while (!pila.estaVacia()) {
+            dinero += pila.desapilar().getDinero();
+        }
+        return dinero;
+    }
+}
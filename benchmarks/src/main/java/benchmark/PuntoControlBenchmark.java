@@ -0,0 +1,72 @@
+package benchmark;
+
+import controller.ControllerPastor;
+import controller.Jugada;
+import controller.MotorJuego;
+import controller.PuntoControl;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import model.Bitacora;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Guardar y restaurar un punto de control de una partida de {@code asientos} pastores a la
+ * que ya se le han aplicado mil ataques (para que haya pila).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dbitacora.nivel=APAGADO", "-Xms2g"})
+@State(Scope.Thread)
+public class PuntoControlBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int asientos;
+
+    private MotorJuego motor;
+    private Path archivo;
+
+    @Setup(Level.Trial)
+    public void prepararPartida() throws IOException {
+        Bitacora.configurar(Bitacora.Nivel.APAGADO, false);
+        motor = new MotorJuego();
+        ControllerPastor.crearListaPastores(motor.getPastorList(), asientos, 42L);
+        motor.iniciar();
+        for (int i = 0; i < 1000; i++) {
+            motor.jugar(Jugada.ATACAR, 3);
+        }
+        archivo = Files.createTempFile("punto", ".bin");
+        PuntoControl.guardar(motor, archivo);
+    }
+
+    @TearDown(Level.Trial)
+    public void borrarPunto() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public Path guardar() throws IOException {
+        PuntoControl.guardar(motor, archivo);
+        return archivo;
+    }
+
+    @Benchmark
+    public MotorJuego restaurar() throws IOException {
+        return PuntoControl.restaurar(archivo);
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import controller.ControllerPastor;
+import controller.FabricaPastores;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.Pastor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Preparar una mesa de {@code tamanno} pastores: generarlos en el heap con
+ * {@code FabricaPastores} frente a cargar un padrón ya generado y mapeado en memoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class RegistroPastoresBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int tamanno;
+
+    private Path padron;
+
+    @Setup(Level.Trial)
+    public void escribirPadron() throws IOException {
+        padron = Files.createTempFile("padron", ".bin");
+        FabricaPastores.escribirRegistro(padron, tamanno, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void borrarPadron() throws IOException {
+        Files.deleteIfExists(padron);
+    }
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> generar() {
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>();
+        ControllerPastor.crearListaPastores(mesa, tamanno, 42L);
+        return mesa;
+    }
+
+    @Benchmark
+    public ListaCircularDoble<Pastor> cargarPadron() throws IOException {
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>();
+        ControllerPastor.cargarListaPastores(mesa, padron);
+        return mesa;
+    }
+}
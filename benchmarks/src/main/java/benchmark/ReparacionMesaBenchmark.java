@@ -0,0 +1,53 @@
+package benchmark;
+
+import controller.ControllerJuego;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.Pastor;
+import model.PilaPastores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mantenimiento de la mesa sin conflictos de oficio durante la partida: cada invocación
+ * elimina al vecino del pastor actual y lo resucita, así que la mesa conserva su tamaño
+ * y cada jugada pasa por la reparación local de {@code ControllerJuego}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReparacionMesaBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int tamanno;
+
+    private ControllerJuego juego;
+    private NodoDoble<Pastor> actual;
+
+    @Setup
+    public void preparar() {
+        ListaCircularDoble<Pastor> mesa = Mesas.aleatoria(tamanno, 42, ListaCircularDoble.TipoIndice.IDENTIDAD);
+        juego = new ControllerJuego(mesa, new PilaPastores());
+        juego.reorganizarMesa();
+        actual = mesa.getCabeza();
+    }
+
+    @Benchmark
+    public Pastor eliminarYResucitar() {
+        juego.eliminarVecino(actual, "derecha", 1);
+        return juego.resucitarDesdePila(actual.getDato());
+    }
+}
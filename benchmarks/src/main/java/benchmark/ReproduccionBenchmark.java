@@ -0,0 +1,76 @@
+package benchmark;
+
+import controller.ControllerPastor;
+import controller.DiarioPartidas;
+import controller.MotorJuego;
+import controller.ReproductorPartidas;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import model.Bitacora;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reproducción de un diario de {@code partidas} partidas de 10 pastores anotadas con una
+ * semilla fija: sirve de banco de regresión de las reglas del juego, porque cada partida
+ * se vuelve a jugar y se compara con lo anotado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dbitacora.nivel=APAGADO")
+@State(Scope.Thread)
+public class ReproduccionBenchmark {
+
+    @Param({"1000"})
+    private int partidas;
+
+    private Path archivo;
+
+    @Setup(Level.Trial)
+    public void anotarPartidas() throws IOException {
+        Bitacora.configurar(Bitacora.Nivel.APAGADO, false);
+        archivo = Files.createTempFile("diario", ".bin");
+        SplittableRandom random = new SplittableRandom(42);
+        try (DiarioPartidas diario = DiarioPartidas.crear(archivo)) {
+            for (int i = 0; i < partidas; i++) {
+                MotorJuego motor = new MotorJuego();
+                motor.setDiario(diario);
+                ControllerPastor.crearListaPastores(motor.getPastorList(), 10, random);
+                motor.iniciar();
+                motor.jugarPartida(random, 3, 10_000);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void borrarDiario() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public int reproducir() throws IOException {
+        int turnos = 0;
+        try (ReproductorPartidas reproductor = new ReproductorPartidas(archivo)) {
+            while (reproductor.haySiguientePartida()) {
+                turnos += reproductor.reproducirPartida().getTurnos();
+            }
+        }
+        return turnos;
+    }
+}
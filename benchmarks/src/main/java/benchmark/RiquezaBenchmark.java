@@ -0,0 +1,64 @@
+package benchmark;
+
+import controller.ControllerJuego;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import model.ListaCircularDoble;
+import model.Pastor;
+import model.PilaPastores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Regla del robo con y sin índice de riqueza: se cambia el dinero de un pastor al azar
+ * y se consultan el más pobre y el más rico, como hace {@code MotorJuego.robar()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RiquezaBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int tamanno;
+
+    @Param({"false", "true"})
+    private boolean indexada;
+
+    private ControllerJuego juego;
+    private ListaCircularDoble<Pastor> mesa;
+    private Pastor[] pastores;
+    private SplittableRandom random;
+
+    @Setup
+    public void preparar() {
+        mesa = Mesas.aleatoria(tamanno, 42);
+        juego = new ControllerJuego(mesa, new PilaPastores());
+        if (indexada) {
+            juego.indexarRiqueza();
+        }
+        pastores = new Pastor[tamanno];
+        int[] i = {0};
+        mesa.recorrer(p -> pastores[i[0]++] = p);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public Pastor cambiarDineroYConsultar() {
+        pastores[random.nextInt(tamanno)].setDinero(random.nextInt(1000));
+        Pastor pobre = juego.obtenerMasPobre();
+        Pastor rico = juego.obtenerMasRico(mesa);
+        return pobre.getDinero() < rico.getDinero() ? pobre : rico;
+    }
+}
@@ -1,9 +1,18 @@
 package controller;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import model.Bitacora;
+import model.Bitacora.Evento;
+import model.CambioMesa;
+import model.InstantaneaMesa;
 import model.ListaCircularDoble;
-import model.NodoDoble;
+import model.ObservadorLista;
 import model.Pastor;
+import model.PilaPastores;
 
 /**
  * Clase principal del controlador del juego "Mesa de Pastores".
@@ -28,22 +37,30 @@ public final class Controller {
     /** Controlador del modelo Pastor, encargado de crear y manipular la lista circular. */
     private final ControllerPastor controllerPastor;
 
-    /** Controlador del juego, encargado de la lógica del juego (turnos, eliminación, etc). */
-    private ControllerJuego controllerJuego;
+    /** Motor del juego, sin interfaz gráfica: mesa, pila, turno y reglas. */
+    private final MotorJuego motor;
 
-    private Pastor turnoActual;
+    /** Vista de solo lectura de la mesa como lista, siempre al día. */
+    private List<Pastor> pastores;
 
-    /** Lista circular doble que contiene a los pastores activos en el juego. */
-    private ListaCircularDoble<Pastor> pastorList;
-
-    /** Dirección actual del turno ("izquierda" o "derecha"). */
-    private String direccion;
-
-    /** Lista lineal de pastores (para uso directo en la vista). */
-    private ArrayList<Pastor> pastores;
+    /**
+     * Cambios de la mesa desde la última publicación, en el orden en que ocurrieron. Solo
+     * los toca el hilo que juega.
+     */
+    private final List<CambioMesa> cambios = new ArrayList<>();
+    /** Indica que hay que publicar la mesa completa en lugar de los cambios. */
+    private boolean publicarCompleta = true;
 
-    /** Pila de pastores desposeídos (para uso directo en la vista). */
-    private ArrayList<Pastor> pila;
+    /**
+     * Hilo del juego: las jugadas pedidas desde la ventana se aplican aquí, una tras otra,
+     * para no bloquear el hilo de eventos de Swing. Tras {@link #run()} solo este hilo
+     * toca el motor.
+     */
+    private final ExecutorService hiloJuego = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "juego");
+        hilo.setDaemon(true);
+        return hilo;
+    });
 
     /**
      * Constructor principal del controlador.
@@ -54,12 +71,31 @@ public final class Controller {
     public Controller() {
         this.controllerVista = new ControllerVista(this);
         this.controllerPastor = new ControllerPastor(this);
-        this.pastorList = new ListaCircularDoble<>();
-        this.pastores = new ArrayList<>();
-        this.pila = new ArrayList<>();
-        this.controllerJuego = new ControllerJuego(pastorList, pila, this);
-        this.direccion = ""; // Dirección inicial por defecto
-        this.turnoActual = null;
+        // Con el árbol de posiciones cada aviso de cambio de la mesa cuesta O(log n)
+        this.motor = new MotorJuego(true);
+        this.pastores = getPastorList().vista();
+        getPastorList().agregarObservador(new ObservadorLista<>() {
+            @Override
+            public void insertado(int posicion, Pastor pastor) {
+                anotar(CambioMesa.insertado(posicion, pastor));
+            }
+
+            @Override
+            public void eliminado(int posicion, Pastor pastor) {
+                anotar(CambioMesa.eliminado(posicion, pastor));
+            }
+
+            @Override
+            public void movido(int desde, int hasta, Pastor pastor) {
+                anotar(CambioMesa.movido(desde, hasta, pastor));
+            }
+
+            @Override
+            public void reordenada() {
+                cambios.clear();
+                publicarCompleta = true;
+            }
+        });
         run();
     }
 
@@ -68,7 +104,6 @@ public final class Controller {
      * Muestra mensaje de bienvenida.
      *   Pide la cantidad de jugadores al usuario y valida la entrada.
      *   Crea la lista circular de pastores con {@link ControllerPastor}.
-     *   Llena la lista auxiliar de {@link #pastores} para la vista.
      *   Actualiza la interfaz gráfica con los jugadores y la pila.
      */
     public void run() {
@@ -83,15 +118,35 @@ public final class Controller {
         int numJugadores = Integer.parseInt(jugadores);
         controllerPastor.crearListaPastores(numJugadores);
 
-        System.out.println("Lista circular creada con " + pastorList.getTamanno() + " pastores.");
-        turnoActual = pastorMasRico();
-        controllerVista.mostrarTurno(turnoActual);
+        Bitacora.registrar(Evento.MESA_CREADA, getPastorList().getTamanno());
+        Pastor turnoActual = motor.iniciar();
         controllerVista.mostrarMensaje("El pastor más rico es: " + turnoActual.getNombre() + " con " + turnoActual.getDinero() + " monedas.");
 
-        pastores = convertirListaCircularAArrayList(pastorList.getCabeza());
-        controllerVista.actualizarMesaYPila(pastores, pila);
+        actualizarVista();
         controllerVista.mostrarJuego();
-        direccion = controllerVista.pedirDireccion();
+        String direccion = controllerVista.pedirDireccion();
+        // A partir de aquí el motor solo se toca desde el hilo del juego
+        hiloJuego.execute(() -> motor.setDireccion(direccion));
+    }
+
+    /**
+     * Aplica una jugada en el hilo del juego y, al terminar, avisa a la vista con el
+     * ganador si la partida acabó. Se llama desde el hilo de eventos de Swing.
+     *
+     * @param jugada jugada a aplicar (por ejemplo {@link #eliminarVecino(int)})
+     */
+    public void ejecutarJugada(Runnable jugada) {
+        hiloJuego.execute(() -> {
+            Pastor ganador = null;
+            try {
+                jugada.run();
+                if (getControllerJuego().verificarFinJuego()) {
+                    ganador = getControllerJuego().getPastorGanador();
+                }
+            } finally {
+                controllerVista.jugadaTerminada(ganador);
+            }
+        });
     }
 
     /**
@@ -110,7 +165,7 @@ public final class Controller {
     }
 
     public boolean validarPilaVacia() {
-        if (pila.isEmpty()) {
+        if (getPila().estaVacia()) {
             controllerVista.mostrarMensaje("La pila está vacía. No se puede resucitar a ningún pastor.");
             return true;
         } else {
@@ -124,7 +179,7 @@ public final class Controller {
      * 
      */
     public Pastor pastorMasPobre() {
-        return controllerJuego.obtenerMasPobre();
+        return motor.getControllerJuego().obtenerMasPobre();
     }
 
     /*
@@ -133,95 +188,91 @@ public final class Controller {
      * 
      */
     public Pastor pastorMasRico() {
-        return controllerJuego.obtenerMasRico(pastorList);
+        return motor.getControllerJuego().obtenerMasRico(getPastorList());
     }
 
     /*
-     * El pastor más pobre roba un tercio de los recursos al más rico.
-     * @param pobre Pastor más pobre
-     * @param rico Pastor más rico
-     * 
+     * El pastor en turno ataca a su vecino y se pasa el turno.
+     * @param pasos número de posiciones a recorrer
      */
     public void eliminarVecino(int pasos) {
-        System.out.println("\n Atacando----------------------------\n");
-        if(validarPilaVacia()){
-            controllerJuego.eliminarPastorMenosFeligreses(turnoActual, direccion, pasos);
-        }else{
-            controllerJuego.eliminarVecino(turnoActual, direccion, pasos);
-        }
-        cambioDeTurno();
-        pastores = convertirListaCircularAArrayList(pastorList.getCabeza());
-        controllerVista.actualizarMesaYPila(pastores, pila);
+        Bitacora.registrar(Evento.ATAQUE, getTurnoActual());
+        motor.atacar(pasos);
+        actualizarVista();
     }
 
     /*
      * Resucita al último pastor de la pila y lo añade a la lista circular.
      * Si la pila está vacía, muestra un mensaje de error.
-     * @return true si se resucitó un pastor, false si la pila estaba vacía.
      */
     public void rescatarDePila() {
         if(!validarPilaVacia()){
-            Pastor resucitado = controllerJuego.resucitarDesdePila(turnoActual);
+            Pastor resucitado = motor.resucitar();
             controllerVista.mostrarMensaje("El pastor " + resucitado.getNombre() + " ha sido resucitado.");
-            pastores = convertirListaCircularAArrayList(pastorList.getCabeza());
-            controllerVista.actualizarMesaYPila(pastores, pila);
-            cambioDeTurno();
+            actualizarVista();
         }
     }
 
     /*
      * El pastor más pobre roba un tercio de los recursos al más rico.
-     *
-     * @param pobre Pastor más pobre
-     * @param rico Pastor más rico
+     * Solo está permitido si el pastor en turno es el más pobre.
      */
     public void robarRicoAPobre() {
-        if(turnoActual.equals(pastorMasPobre())){
-            controllerJuego.robarUnTercio(pastorMasPobre(), pastorMasRico());
-            controllerVista.actualizarMesaYPila(pastores, pila);
-            cambioDeTurno();
+        if(motor.robar()){
+            actualizarVista();
         }else{
             controllerVista.mostrarMensaje("Solo el pastor más pobre puede robar.");
         }
     }
 
-    
     /*
-     * Cambia el turno al siguiente pastor según la dirección actual.
-     * Actualiza la vista para mostrar el nuevo turno.
+     * Reproduce hasta {@code jugadas} jugadas al azar seguidas, sin mensajes, publicando
+     * la mesa tras cada una; se detiene antes si la partida termina. Las instantáneas
+     * llegan más deprisa de lo que se dibujan y la vista las junta por cuadro.
+     * @param jugadas número máximo de jugadas
+     * @param pasos número de posiciones de cada ataque
      */
-    public void cambioDeTurno(){
-        System.out.println("turn actual: " + turnoActual.getNombre() + ", posición: ");
-        System.out.println("Cambiando turno en dirección: " + direccion);
-        if (direccion.equals("derecha")) {
-            turnoActual = pastorList.obtenerSiguiente(turnoActual);
-            System.out.println("turn actual: " + turnoActual.getNombre() + ", posición: ");
-        } else {
-            turnoActual = pastorList.obtenerAnterior(turnoActual);
-            System.out.println("turn actual: " + turnoActual.getNombre() + ", posición: ");
+    public void jugarRapido(int jugadas, int pasos) {
+        for (int i = 0; i < jugadas && !motor.terminado(); i++) {
+            Jugada jugada = motor.jugadaAleatoria(ThreadLocalRandom.current());
+            if (jugada == Jugada.ATACAR) {
+                Bitacora.registrar(Evento.ATAQUE, getTurnoActual());
+            }
+            motor.jugar(jugada, pasos);
+            actualizarVista();
         }
-        controllerVista.mostrarTurno(turnoActual);
     }
 
     /*
-     * Convierte la lista circular de pastores en un ArrayList para facilitar su uso en la vista.
-     * @param cabeza Nodo cabeza de la lista circular.
-     * @return ArrayList con los pastores en orden.
+     * Publica en la vista la mesa, la pila y el turno tras una jugada del motor, desde el
+     * hilo que jugó. La mesa va completa la primera vez y tras reordenarla; en las demás
+     * jugadas van solo sus cambios, de modo que publicar no depende del tamaño de la mesa.
      */
-    public ArrayList<Pastor> convertirListaCircularAArrayList(NodoDoble<Pastor> cabeza) {
-        ArrayList<Pastor> lista = new ArrayList<>();
-
-        if (cabeza == null) {
-            return lista; // lista vacía
+    private void actualizarVista() {
+        InstantaneaMesa instantanea;
+        if (publicarCompleta) {
+            instantanea = new InstantaneaMesa(pastores, getPila(), getTurnoActual());
+        } else {
+            instantanea = InstantaneaMesa.conCambios(cambios, pastores, getPila(), getTurnoActual());
         }
+        cambios.clear();
+        publicarCompleta = false;
+        controllerVista.publicar(instantanea);
+    }
 
-        NodoDoble<Pastor> actual = cabeza;
-        do {
-            lista.add(actual.getDato()); // suponiendo que Nodo tiene un Pastor como dato
-            actual = actual.getSiguiente();
-        } while (actual != cabeza); // cuando vuelve a la cabeza, se detiene
-
-        return lista;
+    /*
+     * Guarda un cambio de la mesa para la próxima publicación. Si se juntan más cambios
+     * que asientos, sale más barato publicar la mesa completa.
+     */
+    private void anotar(CambioMesa cambio) {
+        if (publicarCompleta) {
+            return;
+        }
+        cambios.add(cambio);
+        if (cambios.size() > pastores.size()) {
+            cambios.clear();
+            publicarCompleta = true;
+        }
     }
 
     // ========================
@@ -229,17 +280,17 @@ public final class Controller {
     // ========================
 
     /**
-     * @return la lista circular de pastores activos en el juego.
+     * @return el motor del juego sin interfaz gráfica.
      */
-    public ListaCircularDoble<Pastor> getPastorList() {
-        return pastorList;
+    public MotorJuego getMotor() {
+        return motor;
     }
 
     /**
-     * @param pastorList lista circular de pastores a establecer.
+     * @return la lista circular de pastores activos en el juego.
      */
-    public void setPastorList(ListaCircularDoble<Pastor> pastorList) {
-        this.pastorList = pastorList;
+    public ListaCircularDoble<Pastor> getPastorList() {
+        return motor.getPastorList();
     }
 
     /**
@@ -257,72 +308,51 @@ public final class Controller {
     }
 
     /**
-     * @return lista de pastores para ser usada en la vista.
+     * @return vista de solo lectura de la mesa, en orden desde la cabeza.
      */
-    public ArrayList<Pastor> getPastores() {
+    public List<Pastor> getPastores() {
         return pastores;
     }
 
-    /**
-     * @param pastores lista de pastores a establecer.
-     */
-    public void setPastores(ArrayList<Pastor> pastores) {
-        this.pastores = pastores;
-    }
-
     /**
      * @return pila de pastores desposeídos.
      */
-    public ArrayList<Pastor> getPila() {
-        return pila;
-    }
-
-    /**
-     * @param pila pila de pastores a establecer.
-     */
-    public void setPila(ArrayList<Pastor> pila) {
-        this.pila = pila;
+    public PilaPastores getPila() {
+        return motor.getPila();
     }
 
     /**
      * @return el controlador del juego.
      */
     public ControllerJuego getControllerJuego() {
-        return controllerJuego;
-    }
-
-    /**
-     * @param controllerJuego el controlador del juego a establecer.
-     */
-    public void setControllerJuego(ControllerJuego controllerJuego) {
-        this.controllerJuego = controllerJuego;
+        return motor.getControllerJuego();
     }
 
     /*
      * @return la dirección actual del juego ("izquierda" o "derecha").
      */
     public String getDireccion() {
-        return direccion;
+        return motor.getDireccion();
     }
 
     /*
      * @param direccion la dirección del juego a establecer ("izquierda" o "derecha").
      */
     public void setDireccion(String direccion) {
-        this.direccion = direccion;
+        motor.setDireccion(direccion);
     }
 
     /*
      * @return el pastor cuyo turno es actualmente.
      */
     public Pastor getTurnoActual() {
-        return turnoActual;
+        return motor.getTurnoActual();
     }
 
     /*
      * @param turnoActual el pastor al que se le asigna el turno actual.
      */
     public void setTurnoActual(Pastor turnoActual) {
-        this.turnoActual = turnoActual;
+        motor.setTurnoActual(turnoActual);
     }
 }
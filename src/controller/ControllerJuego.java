@@ -1,9 +1,12 @@
 package controller;
 
-import java.util.ArrayList;
+import model.Bitacora;
+import model.Bitacora.Evento;
+import model.IndiceRiqueza;
 import model.ListaCircularDoble;
 import model.NodoDoble;
 import model.Pastor;
+import model.PilaPastores;
 
 /**
  * Controlador encargado de manejar la lógica principal del juego de Pastores.
@@ -13,21 +16,42 @@ import model.Pastor;
 public class ControllerJuego {
 
     private ListaCircularDoble<Pastor> pastorList;
-    private ArrayList<Pastor> pila;
+    private PilaPastores pila;
 
-    private Controller controller;
+    /** Reparación local de conflictos de oficio tras cada eliminación o resurrección. */
+    private ReparadorMesa reparador;
+
+    /** Resultado de la última reparación de la mesa: {@code true} si quedó sin conflictos. */
+    private boolean mesaReparada;
+
+    /** Índice de riqueza de la mesa, o {@code null} mientras no se haya creado con {@link #indexarRiqueza()}. */
+    private IndiceRiqueza indiceRiqueza;
 
     /**
      * Constructor que recibe la lista circular de pastores y la pila de eliminados.
+     * No depende de la vista: las reglas pueden ejecutarse sin interfaz gráfica
+     * (ver {@link MotorJuego}).
      *
      * @param pastorList lista circular doble de los pastores activos en el juego
      * @param pila       pila (LIFO) de los pastores eliminados
-     * @param controller referencia al controlador principal del juego
      */
-    public ControllerJuego(ListaCircularDoble<Pastor> pastorList, ArrayList<Pastor> pila, Controller controller) {
+    public ControllerJuego(ListaCircularDoble<Pastor> pastorList, PilaPastores pila) {
         this.pastorList = pastorList;
-        this.controller = controller;
         this.pila = pila;
+        prepararMesa();
+    }
+
+    /**
+     * Prepara la mesa para las reglas: la lista cuenta los pares de vecinos con el mismo
+     * oficio en cada cambio de enlaces (así {@link #hayConflictosOficio()} es O(1)) y se
+     * crea el reparador local de conflictos.
+     */
+    private void prepararMesa() {
+        if (!pastorList.tieneClaveVecindad()) {
+            pastorList.setClaveVecindad(Pastor::getOficio);
+        }
+        this.reparador = new ReparadorMesa(pastorList);
+        this.mesaReparada = false;
     }
 
     /**
@@ -40,30 +64,23 @@ public class ControllerJuego {
      * @return Pastor vecino encontrado
      */
     public Pastor obtenerVecino(Pastor actual, String direccion, int pasos) {
-        if (pastorList.estaVacia()) {
-            return null;
-        }
-
-        NodoDoble<Pastor> nodoActual = pastorList.buscarNodo(actual);
-        if (nodoActual == null) {
-            return null; // El pastor actual no está en la lista
-        }
+        NodoDoble<Pastor> vecino = obtenerNodoVecino(pastorList.buscarNodo(actual), direccion, pasos);
+        return vecino == null ? null : vecino.getDato();
+    }
 
-        // Normalizamos dirección a minúsculas
-        direccion = direccion.toLowerCase();
-
-        for (int i = 0; i < pasos; i++) {
-            switch (direccion) {
-                case "derecha" ->
-                    nodoActual = nodoActual.getSiguiente();
-                case "izquierda" ->
-                    nodoActual = nodoActual.getAnterior();
-                default ->
-                    throw new IllegalArgumentException("Dirección inválida: use 'derecha' o 'izquierda'");
-            }
+    /**
+     * Obtiene el nodo vecino a partir del nodo del pastor actual, sin buscarlo en la lista.
+     *
+     * @param nodoActual nodo del pastor actual en turno
+     * @param direccion  "izquierda" o "derecha"
+     * @param pasos      número de posiciones a recorrer
+     * @return nodo vecino encontrado, o {@code null} si la mesa está vacía
+     */
+    public NodoDoble<Pastor> obtenerNodoVecino(NodoDoble<Pastor> nodoActual, String direccion, int pasos) {
+        if (pastorList.estaVacia() || nodoActual == null) {
+            return null;
         }
-
-        return nodoActual.getDato();
+        return pastorList.avanzar(nodoActual, sentido(direccion) * pasos);
     }
 
     /**
@@ -75,35 +92,32 @@ public class ControllerJuego {
      * @param pasos     número de pasos a recorrer
      */
     public boolean eliminarVecino(Pastor actual, String direccion, int pasos) {
-        if (pastorList.estaVacia()) {
-            return false;
-        }
-        NodoDoble<Pastor> nodoActual = pastorList.buscarNodo(actual);
-        if (nodoActual == null) {
-            return false; // El pastor actual no está en la lista
-        }
+        return eliminarVecino(pastorList.buscarNodo(actual), direccion, pasos) != null;
+    }
 
-        // Normalizamos dirección a minúsculas
-        direccion = direccion.toLowerCase();
-
-        for (int i = 0; i < pasos; i++) {
-            switch (direccion) {
-                case "derecha" ->
-                    nodoActual = nodoActual.getSiguiente();
-                case "izquierda" ->
-                    nodoActual = nodoActual.getAnterior();
-                default ->
-                    throw new IllegalArgumentException("Dirección inválida: use 'derecha' o 'izquierda'");
-            }
+    /**
+     * Elimina al vecino que está a {@code pasos} posiciones del nodo del pastor actual
+     * y lo envía a la pila.
+     *
+     * @param nodoActual nodo del pastor que elimina
+     * @param direccion  dirección del conteo
+     * @param pasos      número de pasos a recorrer
+     * @return el pastor eliminado, o {@code null} si no se eliminó a nadie
+     */
+    public Pastor eliminarVecino(NodoDoble<Pastor> nodoActual, String direccion, int pasos) {
+        NodoDoble<Pastor> nodoVecino = obtenerNodoVecino(nodoActual, direccion, pasos);
+        if (nodoVecino == null) {
+            return null; // Mesa vacía o pastor actual fuera de la mesa
         }
-        System.out.println("\nEliminando vecino: " + nodoActual.getDato().getNombre()
-                + " con creyentes: " + nodoActual.getDato().getCreyentes() + ", dinero: "
-                + nodoActual.getDato().getDinero() + "\n");
-
-        pastorList.eliminar(nodoActual.getDato());
-        pila.add(nodoActual.getDato());
-        reorganizarMesa();
-        return true;
+        Pastor vecino = nodoVecino.getDato();
+        Bitacora.registrar(Evento.VECINO_ELIMINADO, vecino, vecino.getCreyentes(), vecino.getDinero());
+
+        NodoDoble<Pastor> anterior = nodoVecino.getAnterior();
+        pastorList.desenlazar(nodoVecino);
+        quitarDelIndice(vecino);
+        pila.apilar(vecino);
+        repararTrasEliminar(anterior);
+        return vecino;
     }
 
     /**
@@ -113,55 +127,95 @@ public class ControllerJuego {
      * @param actual    Pastor que elimina
      * @param direccion dirección del conteo
      * @param pasos     número de pasos a recorrer
+     * @return el pastor eliminado, o {@code null} si no se eliminó a nadie
      */
-    public void eliminarPastorMenosFeligreses(Pastor actual, String direccion, int pasos) {
-        if (pastorList.estaVacia()) {
-            return; // no hay nada que hacer
-        }
+    public Pastor eliminarPastorMenosFeligreses(Pastor actual, String direccion, int pasos) {
+        return eliminarPastorMenosFeligreses(pastorList.buscarNodo(actual), direccion, pasos);
+    }
 
-        NodoDoble<Pastor> nodoActual = pastorList.buscarNodo(actual);
-        if (nodoActual == null) {
-            return; // el pastor actual no está en la lista
+    /**
+     * Elimina al vecino con menos feligreses entre los contados a partir del nodo
+     * del pastor actual y lo envía a la pila, transfiriendo sus recursos al pastor actual.
+     *
+     * @param nodoActual nodo del pastor que elimina
+     * @param direccion  dirección del conteo
+     * @param pasos      número de pasos a recorrer
+     * @return el pastor eliminado, o {@code null} si no se eliminó a nadie
+     */
+    public Pastor eliminarPastorMenosFeligreses(NodoDoble<Pastor> nodoActual, String direccion, int pasos) {
+        if (pastorList.estaVacia() || nodoActual == null) {
+            return null; // no hay nada que hacer
         }
 
-        direccion = direccion.toLowerCase();
-
-        // Inicializamos con el primer vecino en la dirección indicada
-        NodoDoble<Pastor> candidato = (direccion.equals("derecha"))
-                ? nodoActual.getSiguiente()
-                : nodoActual.getAnterior();
-
-        Pastor menosFeligreses = candidato.getDato();
-
-        // Recorremos hasta "pasos" vecinos
-        for (int i = 1; i < pasos; i++) {
-            candidato = (direccion.equals("derecha"))
-                    ? candidato.getSiguiente()
-                    : candidato.getAnterior();
-
-            Pastor p = candidato.getDato();
-            if (p.getCreyentes() < menosFeligreses.getCreyentes()) {
-                System.out.println("\nComparando: " + p.getNombre() + " (" + p.getCreyentes() + " creyentes) < "
-                        + menosFeligreses.getNombre() + " (" + menosFeligreses.getCreyentes() + " creyentes)\n");
-                menosFeligreses = p;
+        boolean derecha = sentido(direccion) > 0;
+        Pastor actual = nodoActual.getDato();
+        NodoDoble<Pastor> nodoMenosFeligreses;
+        Pastor menosFeligreses;
+
+        if (pastorList.tieneClaveMinimo()) {
+            // Consulta de mínimo por rango sobre la mesa: O(log n) para cualquier número de pasos
+            nodoMenosFeligreses = pastorList.minimoEnRango(nodoActual, (derecha ? 1 : -1) * Math.max(pasos, 1));
+            menosFeligreses = nodoMenosFeligreses.getDato();
+        } else {
+            // Inicializamos con el primer vecino en la dirección indicada
+            NodoDoble<Pastor> candidato = derecha ? nodoActual.getSiguiente() : nodoActual.getAnterior();
+            nodoMenosFeligreses = candidato;
+            menosFeligreses = candidato.getDato();
+
+            // Recorremos hasta "pasos" vecinos
+            for (int i = 1; i < pasos; i++) {
+                candidato = derecha ? candidato.getSiguiente() : candidato.getAnterior();
+
+                Pastor p = candidato.getDato();
+                if (p.getCreyentes() < menosFeligreses.getCreyentes()) {
+                    Bitacora.registrar(Evento.COMPARACION, p, menosFeligreses, null,
+                            p.getCreyentes(), menosFeligreses.getCreyentes());
+                    menosFeligreses = p;
+                    nodoMenosFeligreses = candidato;
+                }
             }
         }
 
         // Transferimos recursos del pastor eliminado al actual
         actual.setCreyentes(actual.getCreyentes() + menosFeligreses.getCreyentes());
+        pastorList.actualizarClave(nodoActual);
         actual.setDinero(actual.getDinero() + menosFeligreses.getDinero());
-        System.out.println("\nEliminando pastor: " + menosFeligreses.getNombre()
-                + " con creyentes: " + menosFeligreses.getCreyentes() + ", dinero: " + menosFeligreses.getDinero()
-                + "\n");
+        Bitacora.registrar(Evento.PASTOR_ELIMINADO, menosFeligreses, menosFeligreses.getCreyentes(),
+                menosFeligreses.getDinero());
 
         // Eliminamos al que tiene menos creyentes
-        pastorList.eliminar(menosFeligreses);
-        pila.add(menosFeligreses);
-        for (Pastor p : pila) {
-            System.out.println("Pila contiene: " + p.getNombre());
+        NodoDoble<Pastor> anterior = nodoMenosFeligreses.getAnterior();
+        pastorList.desenlazar(nodoMenosFeligreses);
+        quitarDelIndice(menosFeligreses);
+        pila.apilar(menosFeligreses);
+        registrarPila();
+        repararTrasEliminar(anterior);
+        return menosFeligreses;
+    }
 
+    /**
+     * Registra el contenido de la pila. Solo recorre la pila si el evento está activo.
+     */
+    private void registrarPila() {
+        if (Bitacora.activo(Evento.PILA)) {
+            for (Pastor p : pila) {
+                Bitacora.registrar(Evento.PILA, p);
+            }
         }
-        reorganizarMesa();
+    }
+
+    /**
+     * Convierte la dirección del conteo en un sentido de recorrido.
+     *
+     * @param direccion "izquierda" o "derecha" (sin distinguir mayúsculas)
+     * @return 1 para la derecha (siguiente), -1 para la izquierda (anterior)
+     */
+    private static int sentido(String direccion) {
+        return switch (direccion.toLowerCase()) {
+            case "derecha" -> 1;
+            case "izquierda" -> -1;
+            default -> throw new IllegalArgumentException("Dirección inválida: use 'derecha' o 'izquierda'");
+        };
     }
 
     /**
@@ -171,16 +225,13 @@ public class ControllerJuego {
      * @param actual Pastor que decide resucitar
      */
     public Pastor resucitarDesdePila(Pastor actual) {
-        if (pila.isEmpty()) {
+        if (pila.estaVacia()) {
             return null; // no hay pastores para resucitar
         }
 
-        Pastor resucitado = pila.remove(pila.size() - 1); // sacamos el último de la pila
-        System.out.println("\nSacando de la pila a: " + resucitado.getNombre() + "\n");
-
-        for (Pastor p : pila) {
-            System.out.println("\nPila contiene: " + p.getNombre());
-        }
+        Pastor resucitado = pila.desapilar(); // sacamos el último de la pila
+        Bitacora.registrar(Evento.SALIDA_PILA, resucitado);
+        registrarPila();
 
         // Transferimos la mitad de los recursos del pastor actual al resucitado
         int dineroTransferido = actual.getDinero() / 2;
@@ -190,30 +241,98 @@ public class ControllerJuego {
         resucitado.setCreyentes(resucitado.getCreyentes() + creyentesTransferidos);
 
         pastorList.insertarAlFinal(resucitado); // lo añadimos de nuevo a la lista
-        System.out.println("\nResucitando pastor: " + resucitado.getNombre()
-                + " con creyentes: " + resucitado.getCreyentes() + ", dinero: " + resucitado.getDinero() + "\n");
-        reorganizarMesa();
-        controller.getControllerVista().getJuegoFrame().revalidate();
-        controller.getControllerVista().getJuegoFrame().repaint();
+        if (indiceRiqueza != null) {
+            indiceRiqueza.agregar(resucitado);
+        }
+        Bitacora.registrar(Evento.PASTOR_RESUCITADO, resucitado, resucitado.getCreyentes(), resucitado.getDinero());
+        registrarReparacion(reparador.repararTrasInsertar(pastorList.getCabeza().getAnterior()));
         return resucitado;
     }
 
+    /**
+     * Crea (o reconstruye) el índice de riqueza con los pastores sentados en la mesa.
+     * A partir de entonces las reglas lo mantienen al eliminar y resucitar pastores, y
+     * {@link Pastor#setDinero(int)} lo mantiene al cambiar el dinero, de modo que
+     * {@link #obtenerMasRico(ListaCircularDoble)} y {@link #obtenerMasPobre()} cuestan
+     * O(log n) en lugar de recorrer la mesa. O(n log n).
+     *
+     * Los pastores que se sienten o levanten de la mesa sin pasar por estas reglas no
+     * quedan reflejados; en ese caso hay que volver a llamar a este método.
+     */
+    public void indexarRiqueza() {
+        if (indiceRiqueza != null) {
+            indiceRiqueza.vaciar();
+        }
+        Pastor[] sentados = new Pastor[pastorList.getTamanno()];
+        int[] i = {0};
+        pastorList.recorrer(p -> sentados[i[0]++] = p);
+        IndiceRiqueza nuevo = new IndiceRiqueza(sentados.length);
+        nuevo.agregarTodos(sentados);
+        indiceRiqueza = nuevo;
+    }
+
+    /**
+     * Crea (o reconstruye) el índice de riqueza agregando a los pastores en el orden
+     * indicado, que decide los empates de dinero (ver {@link IndiceRiqueza#ordenDeLlegada(Pastor)}).
+     *
+     * @param ordenLlegada todos los pastores sentados en la mesa, en orden de llegada
+     */
+    public void indexarRiqueza(Pastor[] ordenLlegada) {
+        if (indiceRiqueza != null) {
+            indiceRiqueza.vaciar();
+        }
+        IndiceRiqueza nuevo = new IndiceRiqueza(ordenLlegada.length);
+        nuevo.agregarTodos(ordenLlegada);
+        indiceRiqueza = nuevo;
+    }
+
+    /**
+     * Indexa los creyentes de la mesa por posición para que
+     * {@link #eliminarPastorMenosFeligreses(NodoDoble, String, int)} encuentre al vecino
+     * con menos feligreses en O(log n) para cualquier número de pasos. Requiere una mesa
+     * con posiciones (ver {@link ListaCircularDoble#ListaCircularDoble(ListaCircularDoble.TipoIndice, boolean)}).
+     * Las reglas avisan a la mesa cada vez que cambian los creyentes de un pastor sentado.
+     */
+    public void indexarCreyentes() {
+        pastorList.setClaveMinimo(Pastor::getCreyentes);
+    }
+
+    /**
+     * Quita a un pastor que acaba de salir de la mesa del índice de riqueza, si existe.
+     *
+     * @param pastor pastor eliminado
+     */
+    private void quitarDelIndice(Pastor pastor) {
+        if (indiceRiqueza != null) {
+            indiceRiqueza.quitar(pastor);
+        }
+    }
+
     /**
      * Obtiene el pastor más pobre de la mesa.
+     * O(log n) si la mesa está indexada (ver {@link #indexarRiqueza()}), O(n) en otro caso.
      *
      * @return Pastor con menos recursos
      */
     public Pastor obtenerMasPobre() {
+        if (indiceRiqueza != null) {
+            return indiceRiqueza.obtenerMasPobre();
+        }
         Pastor masPobre = pastorList.obtenerMasRico((p1, p2) -> Integer.compare(p2.getDinero(), p1.getDinero()));
         return masPobre;
     }
 
     /**
      * Obtiene el pastor más rico de la mesa.
+     * O(log n) si se consulta la mesa de este controlador y está indexada
+     * (ver {@link #indexarRiqueza()}), O(n) en otro caso.
      *
      * @return Pastor con más recursos
      */
     public Pastor obtenerMasRico(ListaCircularDoble<Pastor> pastorList) {
+        if (indiceRiqueza != null && pastorList == this.pastorList) {
+            return indiceRiqueza.obtenerMasRico();
+        }
         Pastor masRico = pastorList.obtenerMasRico((p1, p2) -> Integer.compare(p1.getDinero(), p2.getDinero()));
         return masRico;
     }
@@ -237,81 +356,70 @@ public class ControllerJuego {
 
         pobre.setDinero(pobre.getDinero() + dineroRobado);
         pobre.setCreyentes(pobre.getCreyentes() + creyentesRobados);
+
+        if (pastorList.tieneClaveMinimo()) {
+            pastorList.actualizarClave(pastorList.buscarNodo(rico));
+            pastorList.actualizarClave(pastorList.buscarNodo(pobre));
+        }
+    }
+
+    /**
+     * Repara localmente la mesa tras levantar a un pastor.
+     *
+     * @param anterior nodo que precedía al pastor eliminado
+     */
+    private void repararTrasEliminar(NodoDoble<Pastor> anterior) {
+        registrarReparacion(reparador.repararTrasEliminar(pastorList.estaVacia() ? null : anterior));
+    }
+
+    /**
+     * Guarda el resultado de una reparación e informa si la mesa no admite un reparto
+     * sin conflictos.
+     *
+     * @param sinConflictos {@code true} si la mesa quedó sin conflictos
+     */
+    private void registrarReparacion(boolean sinConflictos) {
+        mesaReparada = sinConflictos;
+        if (!sinConflictos) {
+            Bitacora.registrar(Evento.MESA_SIN_SOLUCION);
+        }
+    }
+
+    /**
+     * Olvida lo que el {@link ReparadorMesa} sabe de la mesa: la próxima reparación la
+     * revisa entera y reconstruye sus huecos en el orden de los asientos. Deja al
+     * reparador igual que en una mesa recién creada con los mismos asientos.
+     */
+    public void invalidarReparacion() {
+        reparador.invalidar();
     }
 
     /**
      * Reorganiza la mesa para asegurar que a la derecha de un pastor
-     * no se encuentre otro con el mismo oficio.
-     * Utiliza un algoritmo similar al ordenamiento por inserción:
-     * - Itera con un for hacia adelante
-     * - Utiliza un while hacia atrás para reposicionar pastores cuando es necesario
+     * no se encuentre otro con el mismo oficio. Las reglas del juego no la usan tras
+     * cada jugada, sino {@link ReparadorMesa}, que solo revisa los vecinos que cambian.
+     * Si la mesa ya no tiene conflictos no se mueve a nadie; en otro caso se vuelve a
+     * sentar a todos con {@link OrganizadorMesa}, en O(n). Si ningún reparto evita los
+     * conflictos (un oficio ocupa más de la mitad de la mesa) se informa y la mesa
+     * queda como estaba.
+     *
+     * @return {@code true} si la mesa queda sin conflictos
      */
-    public void reorganizarMesa() {
-        System.out.println("Reorganizando mesa...");
+    public boolean reorganizarMesa() {
+        Bitacora.registrar(Evento.REORGANIZACION, "Reorganizando mesa...");
 
         if (pastorList.estaVacia() || pastorList.getTamanno() <= 1) {
-            System.out.println("No hay suficientes pastores para reorganizar");
-            return;
+            Bitacora.registrar(Evento.REORGANIZACION, "No hay suficientes pastores para reorganizar");
+            return true;
         }
-
-        int maxIntentos = pastorList.getTamanno() * 2; 
-        int intentosRealizados = 0;
-        boolean hayConflictos = true;
-
-        while (hayConflictos && intentosRealizados < maxIntentos) {
-            hayConflictos = false;
-            intentosRealizados++;
-
-            NodoDoble<Pastor> nodoActual = pastorList.getCabeza();
-            int tamanio = pastorList.getTamanno();
-
-            for (int i = 0; i < tamanio && !hayConflictos; i++) {
-                NodoDoble<Pastor> pastorActual = nodoActual;
-                NodoDoble<Pastor> pastorDerecha = pastorActual.getSiguiente();
-
-                if (pastorActual.getDato().getOficio().equals(pastorDerecha.getDato().getOficio())) {
-                    System.out.println("Conflicto encontrado: " + pastorActual.getDato().getNombre()
-                            + " (" + pastorActual.getDato().getOficio() + ") tiene el mismo oficio que "
-                            + pastorDerecha.getDato().getNombre() + " (" + pastorDerecha.getDato().getOficio() + ")");
-
-                    hayConflictos = true;
-
-                    Pastor pastorConflictivo = pastorDerecha.getDato();
-                    pastorList.eliminar(pastorConflictivo);
-
-                    NodoDoble<Pastor> posicionInsercion = pastorActual;
-                    boolean posicionEncontrada = false;
-                    int pasosBusqueda = 0;
-
-                    while (!posicionEncontrada && pasosBusqueda < pastorList.getTamanno()) {
-                        posicionInsercion = posicionInsercion.getAnterior();
-                        pasosBusqueda++;
-
-                        String oficioAnterior = posicionInsercion.getDato().getOficio();
-                        String oficioSiguiente = posicionInsercion.getSiguiente().getDato().getOficio();
-
-                        if (!pastorConflictivo.getOficio().equals(oficioAnterior) &&
-                                !pastorConflictivo.getOficio().equals(oficioSiguiente)) {
-                            posicionEncontrada = true;
-                            System.out.println("Posición adecuada encontrada después de "
-                                    + posicionInsercion.getDato().getNombre());
-                        }
-                    }
-
-                    if (posicionEncontrada) {
-                        pastorList.insertarDespuesDe(posicionInsercion.getDato(), pastorConflictivo);
-                        System.out.println("Pastor " + pastorConflictivo.getNombre() + " reubicado exitosamente");
-                    } else {
-                        pastorList.insertarAlFinal(pastorConflictivo);
-                        System.out.println(
-                                "Pastor " + pastorConflictivo.getNombre() + " insertado al final como alternativa");
-                    }
-                    break;
-                } else {
-                    nodoActual = nodoActual.getSiguiente();
-                }
-            }
+        if (!hayConflictosOficio()) {
+            mesaReparada = true;
+            return true;
         }
+        reparador.invalidar();
+        boolean sinConflictos = OrganizadorMesa.organizar(pastorList);
+        registrarReparacion(sinConflictos);
+        return sinConflictos;
     }
 
     /**
@@ -321,7 +429,7 @@ public class ControllerJuego {
      */
     public boolean verificarFinJuego() {
         if (pastorList.getTamanno() == 1) {
-            System.out.println("Juego terminado. Ganador: " + pastorList.getCabeza().getDato().getNombre());
+            Bitacora.registrar(Evento.FIN_JUEGO, pastorList.getCabeza().getDato());
             return true;
         }
         return false;
@@ -342,11 +450,15 @@ public class ControllerJuego {
     /**
      * Verifica si existen conflictos de oficios en la mesa
      * (pastores con el mismo oficio sentados uno al lado del otro).
+     * O(1) con la cuenta de conflictos que mantiene la mesa; O(n) si se le quitó.
      *
      * @return true si hay conflictos, false si la mesa está correctamente
      *         organizada
      */
     public boolean hayConflictosOficio() {
+        if (pastorList.tieneClaveVecindad()) {
+            return pastorList.getConflictosVecindad() > 0;
+        }
         if (pastorList.estaVacia() || pastorList.getTamanno() <= 1) {
             return false;
         }
@@ -357,7 +469,7 @@ public class ControllerJuego {
             Pastor pastorActual = nodoActual.getDato();
             Pastor pastorDerecha = nodoActual.getSiguiente().getDato();
 
-            if (pastorActual.getOficio().equals(pastorDerecha.getOficio())) {
+            if (pastorActual.getOficio() == pastorDerecha.getOficio()) {
                 return true; // Se encontró un conflicto
             }
             nodoActual = nodoActual.getSiguiente();
@@ -373,13 +485,35 @@ public class ControllerJuego {
 
     public void setPastorList(ListaCircularDoble<Pastor> pastorList) {
         this.pastorList = pastorList;
+        prepararMesa();
+        if (indiceRiqueza != null) {
+            indexarRiqueza();
+        }
+    }
+
+    /**
+     * Indica si la última reparación dejó la mesa sin conflictos de oficio. Mientras sea
+     * {@code true}, {@link #hayConflictosOficio()} debe ser {@code false}.
+     *
+     * @return {@code false} antes de la primera reparación o si la mesa no admite un
+     *         reparto sin conflictos
+     */
+    public boolean isMesaReparada() {
+        return mesaReparada;
+    }
+
+    /**
+     * @return el índice de riqueza de la mesa, o {@code null} si no se ha creado
+     */
+    public IndiceRiqueza getIndiceRiqueza() {
+        return indiceRiqueza;
     }
 
-    public ArrayList<Pastor> getPila() {
+    public PilaPastores getPila() {
         return pila;
     }
 
-    public void setPila(ArrayList<Pastor> pila) {
+    public void setPila(PilaPastores pila) {
         this.pila = pila;
     }
 }
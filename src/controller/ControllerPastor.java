@@ -1,7 +1,15 @@
 package controller;
 
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import model.Bitacora;
+import model.Bitacora.Evento;
+import model.ListaCircularDoble;
+import model.NodoDoble;
 import model.Pastor;
+import model.RegistroPastores;
 
 public class ControllerPastor {
     private Controller controller;
@@ -10,15 +18,84 @@ public class ControllerPastor {
         this.controller = controller;
     }
 
+    /**
+     * Crea {@code n} pastores aleatorios en la mesa del {@link Controller} e informa
+     * de cada uno de ellos (no de los que ya estaban sentados) en la {@link Bitacora}.
+     *
+     * @param n número de pastores a crear
+     */
     public void crearListaPastores(int n) {
+        ListaCircularDoble<Pastor> pastorList = controller.getPastorList();
+        // Los nuevos se sientan al final: el primero es el siguiente al último de antes
+        NodoDoble<Pastor> ultimoAnterior = pastorList.estaVacia() ? null : pastorList.getCabeza().getAnterior();
+        crearListaPastores(pastorList, n);
+        if (Bitacora.activo(Evento.PASTOR_CREADO)) {
+            NodoDoble<Pastor> nodo = ultimoAnterior == null ? pastorList.getCabeza() : ultimoAnterior.getSiguiente();
+            for (int i = 0; i < n; i++) {
+                Pastor pastor = nodo.getDato();
+                Bitacora.registrar(Evento.PASTOR_CREADO, pastor, null,
+                        pastor.getOficio().toString(), pastor.getDinero(), pastor.getCreyentes());
+                nodo = nodo.getSiguiente();
+            }
+        }
+    }
+
+    /**
+     * Crea {@code n} pastores aleatorios y los sienta al final de la mesa indicada.
+     * No requiere un {@link Controller}, por lo que sirve también al {@link MotorJuego}.
+     *
+     * @param pastorList mesa donde se insertan los pastores
+     * @param n          número de pastores a crear
+     */
+    public static void crearListaPastores(ListaCircularDoble<Pastor> pastorList, int n) {
+        crearListaPastores(pastorList, n, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Crea {@code n} pastores aleatorios con el generador indicado y los sienta al
+     * final de la mesa. Cada hilo de una simulación debe usar su propio generador.
+     * Para mesas muy grandes conviene {@link #crearListaPastores(ListaCircularDoble, int, long)}.
+     *
+     * @param pastorList mesa donde se insertan los pastores
+     * @param n          número de pastores a crear
+     * @param random     generador de números aleatorios
+     */
+    public static void crearListaPastores(ListaCircularDoble<Pastor> pastorList, int n, RandomGenerator random) {
         for(int i = 0; i < n; i++) {
-            Pastor pastor = new Pastor(new Random().nextInt(1000), new Random().nextInt(500));
-            pastor.generarNombreCompleto();
-            pastor.generarOficio();
-            controller.getPastorList().insertarAlFinal(pastor);
-            System.out.println("Creado pastor: " + pastor.getNombre() + " con oficio: " + pastor.getOficio() 
-            + ", dinero: " + pastor.getDinero() + ", creyentes: " + pastor.getCreyentes());
+            pastorList.insertarAlFinal(FabricaPastores.crearPastor(random));
+        }
+    }
+
+    /**
+     * Crea {@code n} pastores aleatorios en paralelo y los sienta al final de la mesa
+     * (ver {@link FabricaPastores}). El resultado solo depende de la semilla.
+     *
+     * @param pastorList mesa donde se insertan los pastores
+     * @param n          número de pastores a crear
+     * @param semilla    semilla de la generación
+     */
+    public static void crearListaPastores(ListaCircularDoble<Pastor> pastorList, int n, long semilla) {
+        FabricaPastores.llenar(pastorList, n, semilla);
+    }
+
+    /**
+     * Sienta al final de la mesa a todos los pastores de un padrón en disco (ver
+     * {@link RegistroPastores}). Los datos no se copian al heap: cada pastor es una vista
+     * sobre su registro del archivo mapeado, y los cambios de la partida no se guardan
+     * en el archivo. Los padrones se generan con {@link FabricaPastores#escribirRegistro(Path, int, long)}.
+     *
+     * @param pastorList mesa donde se insertan los pastores
+     * @param archivo    ruta del padrón
+     * @return el padrón abierto
+     * @throws IOException si el archivo no se puede abrir o no es un padrón válido
+     */
+    public static RegistroPastores cargarListaPastores(ListaCircularDoble<Pastor> pastorList, Path archivo)
+            throws IOException {
+        RegistroPastores registro = RegistroPastores.abrir(archivo);
+        for (int i = 0; i < registro.getTamanno(); i++) {
+            pastorList.insertarAlFinal(registro.vista(i));
         }
+        return registro;
     }
 
     public Controller getController() {
@@ -30,4 +107,4 @@ public class ControllerPastor {
     }
 
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,8 @@
 package controller;
 
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.SwingUtilities;
+import model.InstantaneaMesa;
 import model.ListaCircularDoble;
 import model.Pastor;
 import view.JuegoFrame;
@@ -8,11 +11,16 @@ public final class ControllerVista {
     private Controller controller;
     private JuegoFrame juegoFrame;
     private final int PASOS;
+    /** Jugadas que reproduce el botón de jugar rápido. */
+    private static final int JUGADAS_RAPIDAS = 100;
+    /** Junta las instantáneas publicadas para dibujar como mucho una por cuadro. */
+    private final PlanificadorVista planificador;
 
     public ControllerVista(Controller controller) {
         this.controller = controller;
         this.juegoFrame = new JuegoFrame();
         this.PASOS = 1; // Número fijo de pasos para eliminar vecino
+        this.planificador = new PlanificadorVista(instantanea -> this.juegoFrame.mostrar(instantanea));
         agregarAcciones();
     }
 
@@ -24,16 +32,36 @@ public final class ControllerVista {
         return juegoFrame.cantidadJugadores();
     }
 
+    /**
+     * Muestra un mensaje y espera a que se cierre. Desde el hilo del juego el mensaje se
+     * abre en el hilo de eventos de Swing y la jugada espera con él. Antes se dibuja lo
+     * publicado, para que la mesa detrás del mensaje esté al día.
+     */
     public void mostrarMensaje(String mensaje) {
-        juegoFrame.mostrarMensaje(mensaje);
+        if (SwingUtilities.isEventDispatchThread()) {
+            planificador.vaciar();
+            juegoFrame.mostrarMensaje(mensaje);
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                planificador.vaciar();
+                juegoFrame.mostrarMensaje(mensaje);
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
-    public void actualizarMesaYPila(java.util.ArrayList<Pastor> pastores, java.util.ArrayList<Pastor> pila) {
-        juegoFrame.actualizarMesaYPila(pastores, pila);
-    }
-
-    public void mostrarTurno(Pastor pastor) {
-        juegoFrame.mostrarTurno(pastor);
+    /**
+     * Publica el estado de la partida para que la ventana lo dibuje en el hilo de eventos
+     * de Swing, junto con lo demás publicado en el mismo cuadro. Se puede llamar desde
+     * cualquier hilo.
+     */
+    public void publicar(InstantaneaMesa instantanea) {
+        planificador.publicar(instantanea);
     }
 
     public String pedirDireccion() {
@@ -41,26 +69,35 @@ public final class ControllerVista {
     }
 
     public void agregarAcciones() {
-        juegoFrame.setBtnAtacarListener(e -> {
-            controller.eliminarVecino(PASOS); // Eliminar vecino a partir de la posición actual
-            if(controller.getControllerJuego().verificarFinJuego()) {
-                juegoFrame.mostrarMensaje("Fin del juego. Ganador: " + controller.getControllerJuego().getPastorGanador().getNombre());
+        juegoFrame.setBtnAtacarListener(e -> jugar(() -> controller.eliminarVecino(PASOS))); // Eliminar vecino a partir de la posición actual
+        juegoFrame.setBtnResucitarListener(e -> jugar(controller::rescatarDePila)); // Resucitar desde pila
+        juegoFrame.setBtnRobarListener(e -> jugar(controller::robarRicoAPobre));
+        juegoFrame.setBtnRapidoListener(e -> jugar(() -> controller.jugarRapido(JUGADAS_RAPIDAS, PASOS)));
+    }
+
+    /*
+     * Desactiva los botones y manda la jugada al hilo del juego; la ventana sigue
+     * respondiendo mientras tanto y los botones vuelven al terminar la jugada.
+     */
+    private void jugar(Runnable jugada) {
+        juegoFrame.setControlesActivos(false);
+        controller.ejecutarJugada(jugada);
+    }
+
+    /**
+     * Avisa, desde el hilo del juego, de que terminó la jugada en curso.
+     *
+     * @param ganador ganador de la partida si la jugada la terminó, o {@code null}
+     */
+    public void jugadaTerminada(Pastor ganador) {
+        SwingUtilities.invokeLater(() -> {
+            // Lo pendiente se dibuja antes de reactivar los botones o anunciar al ganador
+            planificador.vaciar();
+            if (ganador != null) {
+                juegoFrame.mostrarMensaje("Fin del juego. Ganador: " + ganador.getNombre());
                 System.exit(0);
             }
-        });
-        juegoFrame.setBtnResucitarListener(e -> {
-            controller.rescatarDePila(); // Resucitar desde pila
-            if(controller.getControllerJuego().verificarFinJuego()) {
-                juegoFrame.mostrarMensaje("Fin del juego. Ganador: " + controller.getControllerJuego().getPastorGanador().getNombre());
-                System.exit(0);
-            };
-        });
-        juegoFrame.setBtnRobarListener(e -> {
-            controller.robarRicoAPobre();
-            if(controller.getControllerJuego().verificarFinJuego()) {
-                juegoFrame.mostrarMensaje("Fin del juego. Ganador: " + controller.getControllerJuego().getPastorGanador().getNombre());
-                System.exit(0);
-            };
+            juegoFrame.setControlesActivos(true);
         });
     }
 
@@ -77,6 +114,10 @@ public final class ControllerVista {
         this.controller = controller;
     }
 
+    public PlanificadorVista getPlanificador() {
+        return planificador;
+    }
+
     public JuegoFrame getJuegoFrame() {
         return juegoFrame;
     }
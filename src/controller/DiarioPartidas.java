@@ -0,0 +1,252 @@
+package controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import model.ListaCircularDoble;
+import model.Pastor;
+import model.PilaPastores;
+
+/**
+ * Diario binario de partidas, de solo añadido, escrito sobre un archivo mapeado en memoria.
+ *
+ * Un {@link MotorJuego} con diario ({@link MotorJuego#setDiario(DiarioPartidas)}) anota al
+ * iniciar cada partida la mesa y la pila completas, y después cada jugada: ataques,
+ * resurrecciones, robos, cambios de turno y de dirección y reorganizaciones de la mesa.
+ * Los pastores se identifican por su posición en la mesa inicial (seguida de la pila), y
+ * cada jugada guarda también al pastor afectado, de modo que {@link ReproductorPartidas}
+ * puede comprobar que la reproducción coincide. Un mismo archivo guarda tantas partidas
+ * como se quiera, una tras otra.
+ *
+ * Formato (little-endian): una cabecera de {@link #TAMANO_CABECERA} bytes (mágico, versión
+ * y longitud de los datos, que se escribe al cerrar) y una secuencia de eventos, cada uno
+ * con un byte de tipo y sus datos. El archivo se mapea por tramos de {@link #TAMANO_TRAMO}
+ * bytes; el espacio sin escribir queda a cero, así que si el proceso termina sin cerrar el
+ * diario se puede leer todo lo anotado hasta ese momento.
+ */
+public class DiarioPartidas implements AutoCloseable {
+
+    /** Marca al inicio del archivo ("DIAR"). */
+    static final int MAGICO = 0x44494152;
+    static final int VERSION = 1;
+
+    /** Bytes de la cabecera: mágico, versión y longitud de los datos. */
+    static final int TAMANO_CABECERA = 16;
+
+    /** Bytes que se mapean de una vez al escribir y al leer. */
+    static final int TAMANO_TRAMO = 1 << 23;
+
+    // Tipos de evento (0 marca el final de los datos)
+    static final byte FIN_DATOS = 0;
+    static final byte INICIO = 1;
+    static final byte ATAQUE = 2;
+    static final byte RESURRECCION = 3;
+    static final byte ROBO = 4;
+    static final byte CAMBIO_TURNO = 5;
+    static final byte DIRECCION = 6;
+    static final byte REORGANIZACION = 7;
+    static final byte TURNO_FIJADO = 8;
+    static final byte FIN_PARTIDA = 9;
+
+    private final FileChannel canal;
+    private MappedByteBuffer tramo;
+    /** Posición en el archivo del inicio de {@link #tramo}. */
+    private long inicioTramo;
+    private boolean cerrado;
+    /** Acceso al tramo para {@link FormatoPastor}. */
+    private final FormatoPastor.Tramo reserva = bytes -> {
+        reservar(bytes);
+        return tramo;
+    };
+
+    /** Identificador de cada pastor de la partida en curso. */
+    private final Map<Pastor, Integer> identificadores = new IdentityHashMap<>();
+    private int partidas;
+
+    private DiarioPartidas(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    /**
+     * Crea (o sobrescribe) un diario vacío.
+     *
+     * @param archivo ruta del diario
+     * @return el diario, listo para anotar partidas
+     * @throws IOException si no se puede crear o mapear el archivo
+     */
+    public static DiarioPartidas crear(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        DiarioPartidas diario = new DiarioPartidas(canal);
+        diario.mapear(0);
+        diario.tramo.putInt(MAGICO);
+        diario.tramo.putInt(VERSION);
+        diario.tramo.putLong(0);
+        return diario;
+    }
+
+    /**
+     * @return el número de partidas iniciadas en el diario
+     */
+    public int getPartidas() {
+        return partidas;
+    }
+
+    // ========================
+    //        EVENTOS
+    // ========================
+
+    /**
+     * Anota el comienzo de una partida con la mesa y la pila completas, el turno y la dirección.
+     *
+     * @param mesa      pastores sentados, en orden desde la cabeza
+     * @param pila      pastores de la pila, desde el fondo
+     * @param turno     pastor en turno, o {@code null}
+     * @param direccion dirección del turno
+     */
+    void iniciarPartida(ListaCircularDoble<Pastor> mesa, PilaPastores pila, Pastor turno, String direccion) {
+        identificadores.clear();
+        partidas++;
+        reservar(1 + 4 + 4);
+        tramo.put(INICIO);
+        tramo.putInt(mesa.getTamanno());
+        tramo.putInt(pila.getTamanno());
+        mesa.recorrer(this::escribirPastor);
+        for (Pastor pastor : pila) {
+            escribirPastor(pastor);
+        }
+        reservar(4 + 1);
+        tramo.putInt(identificador(turno));
+        tramo.put(codigoDireccion(direccion));
+    }
+
+    void ataque(int pasos, Pastor eliminado) {
+        reservar(1 + 4 + 4);
+        tramo.put(ATAQUE);
+        tramo.putInt(pasos);
+        tramo.putInt(identificador(eliminado));
+    }
+
+    void resurreccion(Pastor resucitado) {
+        evento(RESURRECCION, identificador(resucitado));
+    }
+
+    void robo(Pastor robado) {
+        evento(ROBO, identificador(robado));
+    }
+
+    void cambioDeTurno() {
+        reservar(1);
+        tramo.put(CAMBIO_TURNO);
+    }
+
+    void direccion(String direccion) {
+        reservar(2);
+        tramo.put(DIRECCION);
+        tramo.put(codigoDireccion(direccion));
+    }
+
+    void reorganizacion(boolean sinConflictos) {
+        reservar(2);
+        tramo.put(REORGANIZACION);
+        tramo.put((byte) (sinConflictos ? 1 : 0));
+    }
+
+    void turnoFijado(Pastor turno) {
+        evento(TURNO_FIJADO, identificador(turno));
+    }
+
+    void finPartida(Pastor ganador) {
+        evento(FIN_PARTIDA, identificador(ganador));
+    }
+
+    /**
+     * Escribe en la cabecera la longitud de los datos, recorta el archivo y lo cierra.
+     *
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        long longitud = posicion();
+        tramo.force();
+        tramo = null;
+        MappedByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO_CABECERA);
+        cabecera.order(ByteOrder.LITTLE_ENDIAN).putLong(8, longitud);
+        cabecera.force();
+        try {
+            canal.truncate(longitud);
+        } catch (IOException e) {
+            // Algunos sistemas no recortan archivos con tramos aún mapeados; el lector se
+            // guía por la longitud de la cabecera
+        }
+        canal.close();
+    }
+
+    // ========================
+    //       AUXILIARES
+    // ========================
+
+    private void evento(byte tipo, int pastor) {
+        reservar(1 + 4);
+        tramo.put(tipo);
+        tramo.putInt(pastor);
+    }
+
+    private void escribirPastor(Pastor pastor) {
+        identificadores.put(pastor, identificadores.size());
+        FormatoPastor.escribir(pastor, reserva);
+    }
+
+    private int identificador(Pastor pastor) {
+        if (pastor == null) {
+            return -1;
+        }
+        Integer id = identificadores.get(pastor);
+        if (id == null) {
+            throw new IllegalStateException("El pastor no pertenece a la partida anotada: " + pastor.getNombre());
+        }
+        return id;
+    }
+
+    static byte codigoDireccion(String direccion) {
+        return (byte) (MotorJuego.IZQUIERDA.equals(direccion) ? 1 : 0);
+    }
+
+    private long posicion() {
+        return inicioTramo + tramo.position();
+    }
+
+    /** Garantiza que caben {@code bytes} más en el tramo mapeado, mapeando el siguiente si hace falta. */
+    private void reservar(int bytes) {
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado");
+        }
+        if (tramo.remaining() < bytes) {
+            mapear(posicion(), bytes);
+        }
+    }
+
+    private void mapear(long desde) {
+        mapear(desde, 0);
+    }
+
+    private void mapear(long desde, int minimo) {
+        try {
+            tramo = canal.map(FileChannel.MapMode.READ_WRITE, desde, Math.max(TAMANO_TRAMO, minimo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede ampliar el diario", e);
+        }
+        tramo.order(ByteOrder.LITTLE_ENDIAN);
+        inicioTramo = desde;
+    }
+}
@@ -0,0 +1,218 @@
+package controller;
+
+import java.util.Arrays;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.OficiosPastores;
+import model.Pastor;
+
+/**
+ * Acumulador de resultados de muchas partidas jugadas por {@link SimuladorMonteCarlo}.
+ *
+ * Cada hilo de la simulación usa su propia instancia (no es segura para hilos) y
+ * los resultados parciales se combinan con {@link #combinar(EstadisticasSimulacion)}.
+ */
+public class EstadisticasSimulacion {
+
+    private static final int NUM_OFICIOS = OficiosPastores.CANTIDAD;
+
+    private long partidas;
+    private long terminadas;
+    private long ataques;
+    private long resurrecciones;
+    private long robos;
+    private long turnosTotales;
+
+    /** Partidas ganadas por un pastor de cada oficio, indexadas por ordinal. */
+    private final long[] victoriasPorOficio = new long[NUM_OFICIOS];
+
+    /** Pastores de cada oficio sentados al inicio de cada partida, indexados por ordinal. */
+    private final long[] participacionesPorOficio = new long[NUM_OFICIOS];
+
+    /** Número de partidas por duración en turnos; la última celda acumula las que llegan al límite. */
+    private final long[] histogramaTurnos;
+
+    /**
+     * @param maxTurnos límite de turnos por partida usado en la simulación
+     */
+    public EstadisticasSimulacion(int maxTurnos) {
+        this.histogramaTurnos = new long[maxTurnos + 1];
+    }
+
+    /**
+     * Registra los oficios de los pastores sentados al comenzar una partida.
+     *
+     * @param pastorList mesa inicial
+     */
+    public void registrarMesaInicial(ListaCircularDoble<Pastor> pastorList) {
+        NodoDoble<Pastor> actual = pastorList.getCabeza();
+        for (int i = 0; i < pastorList.getTamanno(); i++) {
+            OficiosPastores oficio = actual.getDato().getOficio();
+            if (oficio != null) {
+                participacionesPorOficio[oficio.ordinal()]++;
+            }
+            actual = actual.getSiguiente();
+        }
+    }
+
+    /**
+     * Registra el resultado de una partida.
+     *
+     * @param resultado resultado devuelto por {@link MotorJuego#jugarPartida}
+     */
+    public void registrar(ResultadoPartida resultado) {
+        partidas++;
+        ataques += resultado.getAtaques();
+        resurrecciones += resultado.getResurrecciones();
+        robos += resultado.getRobos();
+        turnosTotales += resultado.getTurnos();
+        histogramaTurnos[Math.min(resultado.getTurnos(), histogramaTurnos.length - 1)]++;
+        if (resultado.isTerminada()) {
+            terminadas++;
+            OficiosPastores oficio = resultado.getGanador().getOficio();
+            if (oficio != null) {
+                victoriasPorOficio[oficio.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Suma en esta instancia los resultados de otra.
+     *
+     * @param otra estadísticas parciales de otro hilo
+     * @return esta misma instancia
+     */
+    public EstadisticasSimulacion combinar(EstadisticasSimulacion otra) {
+        partidas += otra.partidas;
+        terminadas += otra.terminadas;
+        ataques += otra.ataques;
+        resurrecciones += otra.resurrecciones;
+        robos += otra.robos;
+        turnosTotales += otra.turnosTotales;
+        for (int i = 0; i < NUM_OFICIOS; i++) {
+            victoriasPorOficio[i] += otra.victoriasPorOficio[i];
+            participacionesPorOficio[i] += otra.participacionesPorOficio[i];
+        }
+        int n = Math.min(histogramaTurnos.length, otra.histogramaTurnos.length);
+        for (int i = 0; i < n; i++) {
+            histogramaTurnos[i] += otra.histogramaTurnos[i];
+        }
+        return this;
+    }
+
+    /**
+     * Tasa de victoria de un oficio: partidas ganadas por pastores de ese oficio
+     * entre el número de pastores de ese oficio que participaron.
+     *
+     * @param oficio oficio consultado
+     * @return la tasa de victoria, o 0 si el oficio no participó
+     */
+    public double getTasaVictoria(OficiosPastores oficio) {
+        long participaciones = participacionesPorOficio[oficio.ordinal()];
+        return participaciones == 0 ? 0 : (double) victoriasPorOficio[oficio.ordinal()] / participaciones;
+    }
+
+    /**
+     * Duración (en turnos) por debajo de la cual está la fracción {@code p} de las partidas.
+     *
+     * @param p percentil entre 0 y 1
+     * @return el número de turnos del percentil
+     */
+    public int getPercentilTurnos(double p) {
+        long objetivo = (long) Math.ceil(p * partidas);
+        long acumulado = 0;
+        for (int i = 0; i < histogramaTurnos.length; i++) {
+            acumulado += histogramaTurnos[i];
+            if (acumulado >= objetivo && acumulado > 0) {
+                return i;
+            }
+        }
+        return histogramaTurnos.length - 1;
+    }
+
+    /**
+     * @return número medio de turnos por partida
+     */
+    public double getTurnosPromedio() {
+        return partidas == 0 ? 0 : (double) turnosTotales / partidas;
+    }
+
+    /**
+     * @return fracción de jugadas que fueron ataques
+     */
+    public double getProporcionAtaques() {
+        return proporcion(ataques);
+    }
+
+    /**
+     * @return fracción de jugadas que fueron resurrecciones
+     */
+    public double getProporcionResurrecciones() {
+        return proporcion(resurrecciones);
+    }
+
+    /**
+     * @return fracción de jugadas que fueron robos
+     */
+    public double getProporcionRobos() {
+        return proporcion(robos);
+    }
+
+    private double proporcion(long jugadas) {
+        long total = ataques + resurrecciones + robos;
+        return total == 0 ? 0 : (double) jugadas / total;
+    }
+
+    /**
+     * Genera un informe legible de las estadísticas.
+     *
+     * @param segundos tiempo transcurrido, para calcular el rendimiento
+     * @return el informe
+     */
+    public String informe(double segundos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Partidas: %d (terminadas: %d) en %.2f s -> %.0f partidas/s%n",
+                partidas, terminadas, segundos, segundos > 0 ? partidas / segundos : 0));
+        sb.append(String.format("Turnos: promedio %.2f | p50 %d | p90 %d | p99 %d%n",
+                getTurnosPromedio(), getPercentilTurnos(0.5), getPercentilTurnos(0.9), getPercentilTurnos(0.99)));
+        sb.append(String.format("Jugadas: ataques %.1f%% | resurrecciones %.1f%% | robos %.1f%%%n",
+                100 * getProporcionAtaques(), 100 * getProporcionResurrecciones(), 100 * getProporcionRobos()));
+        sb.append("Tasa de victoria por oficio:").append(System.lineSeparator());
+        for (OficiosPastores oficio : OficiosPastores.values()) {
+            sb.append(String.format("  %-35s %6.2f%% (%d/%d)%n", oficio.getOficio(),
+                    100 * getTasaVictoria(oficio), victoriasPorOficio[oficio.ordinal()],
+                    participacionesPorOficio[oficio.ordinal()]));
+        }
+        return sb.toString();
+    }
+
+    // Getters
+
+    public long getPartidas() {
+        return partidas;
+    }
+
+    public long getTerminadas() {
+        return terminadas;
+    }
+
+    public long getAtaques() {
+        return ataques;
+    }
+
+    public long getResurrecciones() {
+        return resurrecciones;
+    }
+
+    public long getRobos() {
+        return robos;
+    }
+
+    public long[] getVictoriasPorOficio() {
+        return Arrays.copyOf(victoriasPorOficio, NUM_OFICIOS);
+    }
+
+    public long[] getHistogramaTurnos() {
+        return Arrays.copyOf(histogramaTurnos, histogramaTurnos.length);
+    }
+}
@@ -0,0 +1,102 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.function.ObjIntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import model.ListaCircularDoble;
+import model.Pastor;
+import model.PastorMemoria;
+import model.RegistroPastores;
+
+/**
+ * Crea pastores aleatorios en bloque, en paralelo, para sembrar mesas muy grandes.
+ *
+ * Los pastores se generan por bloques de {@link #TAMANO_BLOQUE}; cada bloque tiene su
+ * propio {@link SplittableRandom}, obtenido con {@code split()} de la semilla en orden,
+ * así que el resultado es el mismo con cualquier número de hilos. No se imprime nada
+ * por pastor: la mesa se llena después en una sola pasada.
+ */
+public final class FabricaPastores {
+
+    /** Pastores que genera cada tarea paralela. */
+    private static final int TAMANO_BLOQUE = 1 << 14;
+
+    private FabricaPastores() {
+    }
+
+    /**
+     * Crea un pastor aleatorio: recursos, nombre completo y oficio.
+     *
+     * @param random generador de números aleatorios
+     * @return el pastor creado
+     */
+    public static Pastor crearPastor(RandomGenerator random) {
+        Pastor pastor = new PastorMemoria(random.nextInt(1000), random.nextInt(500));
+        pastor.generarNombreCompleto(random);
+        pastor.generarOficio(random);
+        return pastor;
+    }
+
+    /**
+     * Crea {@code n} pastores aleatorios en paralelo (en el pool común de
+     * {@link java.util.concurrent.ForkJoinPool}).
+     *
+     * @param n       número de pastores
+     * @param semilla semilla de la generación
+     * @return arreglo con los pastores, en un orden que solo depende de la semilla
+     */
+    public static Pastor[] crear(int n, long semilla) {
+        Pastor[] pastores = new Pastor[n];
+        porBloques(n, semilla, (pastor, i) -> pastores[i] = pastor);
+        return pastores;
+    }
+
+    /** Genera los pastores {@code 0..n-1} por bloques en paralelo y entrega cada uno a {@code destino}. */
+    private static void porBloques(int n, long semilla, ObjIntConsumer<Pastor> destino) {
+        int bloques = (n + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        SplittableRandom[] generadores = new SplittableRandom[bloques];
+        for (int b = 0; b < bloques; b++) {
+            generadores[b] = raiz.split();
+        }
+        IntStream.range(0, bloques).parallel().forEach(b -> {
+            SplittableRandom random = generadores[b];
+            int fin = Math.min(n, (b + 1) * TAMANO_BLOQUE);
+            for (int i = b * TAMANO_BLOQUE; i < fin; i++) {
+                destino.accept(crearPastor(random), i);
+            }
+        });
+    }
+
+    /**
+     * Genera en paralelo un padrón de {@code n} pastores aleatorios en un archivo, con los
+     * mismos pastores que {@link #crear(int, long)} para la misma semilla. El padrón se
+     * carga después con {@link ControllerPastor#cargarListaPastores(ListaCircularDoble, Path)}.
+     *
+     * @param archivo ruta del padrón (se sobrescribe si existe)
+     * @param n       número de pastores
+     * @param semilla semilla de la generación
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static void escribirRegistro(Path archivo, int n, long semilla) throws IOException {
+        RegistroPastores registro = RegistroPastores.crear(archivo, n);
+        porBloques(n, semilla, (pastor, i) -> registro.escribir(i, pastor));
+        registro.guardar();
+    }
+
+    /**
+     * Crea {@code n} pastores aleatorios en paralelo y los sienta al final de la mesa.
+     *
+     * @param pastorList mesa donde se insertan los pastores
+     * @param n          número de pastores
+     * @param semilla    semilla de la generación
+     */
+    public static void llenar(ListaCircularDoble<Pastor> pastorList, int n, long semilla) {
+        for (Pastor pastor : crear(n, semilla)) {
+            pastorList.insertarAlFinal(pastor);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package controller;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import model.OficiosPastores;
+import model.Pastor;
+import model.PastorMemoria;
+
+/**
+ * Codificación binaria de un {@link Pastor} compartida por {@link DiarioPartidas} y
+ * {@link PuntoControl}: dinero, creyentes, código del nombre y ordinal del oficio
+ * ({@link #TAMANO_FIJO} bytes), seguidos del nombre en UTF-8 solo si es un nombre libre.
+ */
+final class FormatoPastor {
+
+    /** Bytes fijos de un pastor. */
+    static final int TAMANO_FIJO = 13;
+
+    /** Código de nombre de un pastor con nombre libre, que sigue al registro en UTF-8. */
+    static final int NOMBRE_LIBRE = -2;
+
+    /** Origen o destino de los bytes, que garantiza espacio para {@code bytes} más. */
+    interface Tramo {
+        ByteBuffer asegurar(int bytes);
+    }
+
+    private FormatoPastor() {
+    }
+
+    static void escribir(Pastor pastor, Tramo destino) {
+        byte[] nombreLibre = pastor.getCodigoNombre() < 0 && pastor.getNombre() != null
+                ? pastor.getNombre().getBytes(StandardCharsets.UTF_8) : null;
+        ByteBuffer datos = destino.asegurar(TAMANO_FIJO + (nombreLibre == null ? 0 : 4 + nombreLibre.length));
+        datos.putInt(pastor.getDinero());
+        datos.putInt(pastor.getCreyentes());
+        datos.putInt(nombreLibre == null ? pastor.getCodigoNombre() : NOMBRE_LIBRE);
+        datos.put((byte) (pastor.getOficio() == null ? -1 : pastor.getOficio().ordinal()));
+        if (nombreLibre != null) {
+            datos.putInt(nombreLibre.length);
+            datos.put(nombreLibre);
+        }
+    }
+
+    static Pastor leer(Tramo origen) {
+        ByteBuffer datos = origen.asegurar(TAMANO_FIJO);
+        Pastor pastor = new PastorMemoria(datos.getInt(), datos.getInt());
+        int codigoNombre = datos.getInt();
+        byte oficio = datos.get();
+        if (oficio >= 0) {
+            pastor.setOficio(OficiosPastores.desdeOrdinal(oficio));
+        }
+        if (codigoNombre == NOMBRE_LIBRE) {
+            byte[] nombre = new byte[origen.asegurar(4).getInt()];
+            origen.asegurar(nombre.length).get(nombre);
+            pastor.setNombre(new String(nombre, StandardCharsets.UTF_8));
+        } else if (codigoNombre >= 0) {
+            pastor.setCodigoNombre(codigoNombre);
+        }
+        return pastor;
+    }
+}
@@ -0,0 +1,13 @@
+package controller;
+
+/**
+ * Tipos de jugada que puede realizar el pastor en turno.
+ */
+public enum Jugada {
+    /** Eliminar a un vecino y enviarlo a la pila. */
+    ATACAR,
+    /** Sacar al último pastor de la pila y devolverlo a la mesa. */
+    RESUCITAR,
+    /** El más pobre roba un tercio de los recursos al más rico. */
+    ROBAR
+}
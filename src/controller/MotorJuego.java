@@ -0,0 +1,420 @@
+package controller;
+
+import java.util.random.RandomGenerator;
+import model.CursorCircular;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.Pastor;
+import model.PilaPastores;
+
+/**
+ * Motor del juego "Mesa de Pastores" sin dependencias de la interfaz gráfica.
+ *
+ * Mantiene el estado de una partida (mesa, pila, turno y dirección) y aplica
+ * las reglas de {@link ControllerJuego}. La interfaz Swing ({@link Controller})
+ * es un cliente más de este motor; las simulaciones lo usan directamente para
+ * jugar partidas completas sin AWT mediante {@link #jugarPartida(RandomGenerator, int, int)}.
+ */
+public class MotorJuego {
+
+    /** Dirección de conteo hacia la derecha (siguiente). */
+    public static final String DERECHA = "derecha";
+
+    /** Dirección de conteo hacia la izquierda (anterior). */
+    public static final String IZQUIERDA = "izquierda";
+
+    /** Pastores sentados en la mesa. */
+    private final ListaCircularDoble<Pastor> pastorList;
+
+    /** Pila de pastores desposeídos. */
+    private final PilaPastores pila;
+
+    /** Reglas del juego aplicadas sobre {@link #pastorList} y {@link #pila}. */
+    private final ControllerJuego controllerJuego;
+
+    /** Cursor persistente sobre el nodo del pastor en turno. */
+    private final CursorCircular<Pastor> turno;
+
+    /** Dirección actual del turno ("izquierda" o "derecha"). */
+    private String direccion;
+
+    /** Diario donde se anotan las jugadas, o {@code null}. */
+    private DiarioPartidas diario;
+
+    private int turnos;
+    private int ataques;
+    private int resurrecciones;
+    private int robos;
+
+    /**
+     * Crea un motor con una mesa y una pila vacías.
+     * La mesa se indexa por identidad para que localizar a un pastor sea O(1).
+     */
+    public MotorJuego() {
+        this(false);
+    }
+
+    /**
+     * Crea un motor con una mesa y una pila vacías.
+     * Con {@code conPosiciones} la mesa mantiene además un árbol de posiciones, de modo
+     * que contar {@code pasos} vecinos y buscar el de menos feligreses entre ellos cuesta
+     * O(log n) para cualquier número de pasos; conviene en variantes con pasos grandes
+     * sobre mesas grandes.
+     *
+     * @param conPosiciones {@code true} para mantener el árbol de posiciones
+     */
+    public MotorJuego(boolean conPosiciones) {
+        this(new ListaCircularDoble<>(ListaCircularDoble.TipoIndice.IDENTIDAD, conPosiciones), new PilaPastores());
+    }
+
+    /**
+     * Crea un motor que opera sobre la mesa y la pila indicadas.
+     *
+     * @param pastorList lista circular de pastores activos
+     * @param pila       pila de pastores eliminados
+     */
+    public MotorJuego(ListaCircularDoble<Pastor> pastorList, PilaPastores pila) {
+        this.pastorList = pastorList;
+        this.pila = pila;
+        this.controllerJuego = new ControllerJuego(pastorList, pila);
+        this.direccion = DERECHA;
+        this.turno = new CursorCircular<>(pastorList, null);
+    }
+
+    /**
+     * Prepara la partida: indexa la mesa por riqueza (y por creyentes si la mesa mantiene
+     * posiciones) y el primer turno es para el pastor más rico.
+     *
+     * @return el pastor que inicia, o {@code null} si la mesa está vacía
+     */
+    public Pastor iniciar() {
+        turnos = 0;
+        ataques = 0;
+        resurrecciones = 0;
+        robos = 0;
+        controllerJuego.indexarRiqueza();
+        if (pastorList.tienePosiciones()) {
+            controllerJuego.indexarCreyentes();
+        }
+        Pastor masRico = controllerJuego.obtenerMasRico(pastorList);
+        turno.setNodo(masRico == null ? null : pastorList.buscarNodo(masRico));
+        if (diario != null) {
+            diario.iniciarPartida(pastorList, pila, getTurnoActual(), direccion);
+        }
+        return getTurnoActual();
+    }
+
+    /**
+     * Restaura el estado de una partida en curso sobre la mesa y la pila de este motor
+     * (ver {@link PuntoControl}): índices, turno, dirección y contadores.
+     *
+     * @param ordenRiqueza   pastores sentados en su orden de llegada al índice de riqueza
+     * @param turnoActual    pastor en turno, o {@code null}
+     * @param direccion      dirección del turno
+     * @param turnos         jugadas realizadas
+     * @param ataques        ataques realizados
+     * @param resurrecciones resurrecciones realizadas
+     * @param robos          robos realizados
+     */
+    void restaurar(Pastor[] ordenRiqueza, Pastor turnoActual, String direccion,
+            int turnos, int ataques, int resurrecciones, int robos) {
+        controllerJuego.indexarRiqueza(ordenRiqueza);
+        if (pastorList.tienePosiciones()) {
+            controllerJuego.indexarCreyentes();
+        }
+        turno.setNodo(turnoActual == null ? null : pastorList.buscarNodo(turnoActual));
+        this.direccion = direccion;
+        this.turnos = turnos;
+        this.ataques = ataques;
+        this.resurrecciones = resurrecciones;
+        this.robos = robos;
+    }
+
+    // ========================
+    //         JUGADAS
+    // ========================
+
+    /**
+     * El pastor en turno ataca. Si la pila está vacía se elimina al vecino con menos
+     * feligreses entre los {@code pasos} contados; en otro caso se elimina al vecino
+     * a {@code pasos} posiciones. Después se pasa el turno.
+     *
+     * @param pasos número de posiciones a recorrer
+     * @return el pastor eliminado, o {@code null} si no se eliminó a nadie
+     */
+    public Pastor atacar(int pasos) {
+        Pastor eliminado;
+        if (pila.estaVacia()) {
+            eliminado = controllerJuego.eliminarPastorMenosFeligreses(turno.getNodo(), direccion, pasos);
+        } else {
+            eliminado = controllerJuego.eliminarVecino(turno.getNodo(), direccion, pasos);
+        }
+        ataques++;
+        if (diario != null) {
+            diario.ataque(pasos, eliminado);
+            if (terminado()) {
+                diario.finPartida(controllerJuego.getPastorGanador());
+            }
+        }
+        pasarTurno();
+        return eliminado;
+    }
+
+    /**
+     * El pastor en turno resucita al último pastor de la pila. Después se pasa el turno.
+     *
+     * @return el pastor resucitado, o {@code null} si la pila estaba vacía
+     */
+    public Pastor resucitar() {
+        if (pila.estaVacia()) {
+            return null;
+        }
+        Pastor resucitado = controllerJuego.resucitarDesdePila(getTurnoActual());
+        resurrecciones++;
+        if (diario != null) {
+            diario.resurreccion(resucitado);
+        }
+        pasarTurno();
+        return resucitado;
+    }
+
+    /**
+     * Indica si el pastor en turno puede robar (solo el más pobre puede hacerlo).
+     *
+     * @return {@code true} si el pastor en turno es el más pobre de la mesa
+     */
+    public boolean puedeRobar() {
+        Pastor turnoActual = getTurnoActual();
+        return turnoActual != null && turnoActual.equals(controllerJuego.obtenerMasPobre());
+    }
+
+    /**
+     * El pastor en turno, si es el más pobre, roba un tercio de los recursos al más rico.
+     * Después se pasa el turno.
+     *
+     * @return {@code true} si se realizó el robo
+     */
+    public boolean robar() {
+        if (!puedeRobar()) {
+            return false;
+        }
+        Pastor masRico = controllerJuego.obtenerMasRico(pastorList);
+        controllerJuego.robarUnTercio(getTurnoActual(), masRico);
+        robos++;
+        if (diario != null) {
+            diario.robo(masRico);
+        }
+        pasarTurno();
+        return true;
+    }
+
+    /**
+     * Reorganiza la mesa para que no haya oficios repetidos entre vecinos
+     * (ver {@link ControllerJuego#reorganizarMesa()}).
+     *
+     * @return {@code true} si la mesa queda sin conflictos
+     */
+    public boolean reorganizarMesa() {
+        boolean sinConflictos = controllerJuego.reorganizarMesa();
+        if (diario != null) {
+            diario.reorganizacion(sinConflictos);
+        }
+        return sinConflictos;
+    }
+
+    /**
+     * Ejecuta la jugada indicada.
+     *
+     * @param jugada jugada a realizar
+     * @param pasos  número de posiciones para {@link Jugada#ATACAR}
+     * @return {@code true} si la jugada se pudo realizar
+     */
+    public boolean jugar(Jugada jugada, int pasos) {
+        boolean realizada = switch (jugada) {
+            case ATACAR -> {
+                atacar(pasos);
+                yield true;
+            }
+            case RESUCITAR -> resucitar() != null;
+            case ROBAR -> robar();
+        };
+        // O(1): la mesa cuenta sus conflictos de oficio en cada cambio de enlaces
+        assert !controllerJuego.isMesaReparada() || !controllerJuego.hayConflictosOficio()
+                : "Conflicto de oficio tras " + jugada;
+        return realizada;
+    }
+
+    /**
+     * Pasa el turno al siguiente pastor según la dirección actual, moviendo el
+     * cursor del turno un nodo (O(1)). Si el pastor en turno ya no está en la mesa,
+     * el turno pasa a la cabeza.
+     */
+    public void cambioDeTurno() {
+        if (diario != null) {
+            diario.cambioDeTurno();
+        }
+        pasarTurno();
+    }
+
+    /** Pasa el turno tras una jugada; la jugada ya quedó anotada en el diario. */
+    private void pasarTurno() {
+        turnos++;
+        if (pastorList.estaVacia()) {
+            turno.setNodo(null);
+            return;
+        }
+        if (!turno.estaEnlazado()) {
+            turno.setNodo(pastorList.getCabeza());
+            return;
+        }
+        if (direccion.equals(DERECHA)) {
+            turno.siguiente();
+        } else {
+            turno.anterior();
+        }
+    }
+
+    /**
+     * Indica si la partida ha terminado (queda un solo pastor o ninguno).
+     *
+     * @return {@code true} si no quedan al menos dos pastores en la mesa
+     */
+    public boolean terminado() {
+        return pastorList.getTamanno() <= 1;
+    }
+
+    // ========================
+    //     PARTIDA COMPLETA
+    // ========================
+
+    /**
+     * Juega una partida completa eligiendo en cada turno una jugada válida al azar
+     * ({@link #jugadaAleatoria(RandomGenerator)}).
+     *
+     * @param random    generador de números aleatorios de la partida
+     * @param pasos     número de posiciones de cada ataque
+     * @param maxTurnos límite de jugadas; si se alcanza, la partida queda sin ganador
+     * @return el resultado de la partida
+     */
+    public ResultadoPartida jugarPartida(RandomGenerator random, int pasos, int maxTurnos) {
+        if (turno.getNodo() == null) {
+            iniciar();
+        }
+        while (!terminado() && turnos < maxTurnos) {
+            jugar(jugadaAleatoria(random), pasos);
+        }
+        return getResultado();
+    }
+
+    /**
+     * Elige al azar una de las jugadas válidas para el pastor en turno, todas con la misma
+     * probabilidad: atacar siempre es válida; resucitar requiere pila no vacía; robar
+     * requiere que el pastor en turno sea el más pobre.
+     *
+     * @param random generador de números aleatorios de la partida
+     * @return la jugada elegida
+     */
+    public Jugada jugadaAleatoria(RandomGenerator random) {
+        boolean resucitar = !pila.estaVacia();
+        int elegida = random.nextInt(1 + (resucitar ? 1 : 0) + (puedeRobar() ? 1 : 0));
+        if (elegida == 0) {
+            return Jugada.ATACAR;
+        }
+        return elegida == 1 && resucitar ? Jugada.RESUCITAR : Jugada.ROBAR;
+    }
+
+    /**
+     * @return el resultado de la partida en su estado actual
+     */
+    public ResultadoPartida getResultado() {
+        return new ResultadoPartida(controllerJuego.getPastorGanador(), turnos, ataques, resurrecciones, robos);
+    }
+
+    // ========================
+    //        GETTERS/SETTERS
+    // ========================
+
+    public ListaCircularDoble<Pastor> getPastorList() {
+        return pastorList;
+    }
+
+    public PilaPastores getPila() {
+        return pila;
+    }
+
+    public ControllerJuego getControllerJuego() {
+        return controllerJuego;
+    }
+
+    /**
+     * @return el cursor sobre el nodo del pastor en turno
+     */
+    public CursorCircular<Pastor> getTurno() {
+        return turno;
+    }
+
+    public Pastor getTurnoActual() {
+        return turno.getDato();
+    }
+
+    /**
+     * Coloca el cursor del turno sobre el nodo del pastor indicado.
+     *
+     * @param turnoActual pastor sentado en la mesa, o {@code null}
+     */
+    public void setTurnoActual(Pastor turnoActual) {
+        NodoDoble<Pastor> nodo = turnoActual == null ? null : pastorList.buscarNodo(turnoActual);
+        turno.setNodo(nodo);
+        if (diario != null) {
+            diario.turnoFijado(turnoActual);
+        }
+    }
+
+    public String getDireccion() {
+        return direccion;
+    }
+
+    /**
+     * @param direccion "izquierda" o "derecha"
+     */
+    public void setDireccion(String direccion) {
+        this.direccion = direccion.toLowerCase();
+        if (diario != null) {
+            diario.direccion(this.direccion);
+        }
+    }
+
+    public DiarioPartidas getDiario() {
+        return diario;
+    }
+
+    /**
+     * Anota en {@code diario} las partidas que se inicien a partir de ahora y sus jugadas.
+     *
+     * @param diario diario de partidas, o {@code null} para dejar de anotar
+     * @throws IllegalStateException si la pila compacta a los pastores, porque el diario
+     *                               los identifica por identidad
+     */
+    public void setDiario(DiarioPartidas diario) {
+        if (diario != null && pila.esCompacta()) {
+            throw new IllegalStateException("El diario no admite una pila que compacta a los pastores");
+        }
+        this.diario = diario;
+    }
+
+    public int getTurnos() {
+        return turnos;
+    }
+
+    public int getAtaques() {
+        return ataques;
+    }
+
+    public int getResurrecciones() {
+        return resurrecciones;
+    }
+
+    public int getRobos() {
+        return robos;
+    }
+}
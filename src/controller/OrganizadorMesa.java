@@ -0,0 +1,108 @@
+package controller;
+
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.OficiosPastores;
+import model.Pastor;
+
+/**
+ * Reparte los asientos de la mesa de modo que no haya dos pastores vecinos con el
+ * mismo oficio.
+ *
+ * Una mesa circular de {@code n >= 2} pastores admite una disposición sin conflictos
+ * si y solo si ningún oficio aparece más de {@code n / 2} veces. En ese caso basta con
+ * sentar primero al oficio más frecuente en los asientos pares (0, 2, 4...) y seguir
+ * con el resto de oficios, agrupados, en los pares que queden y luego en los impares
+ * (1, 3, 5...): dos asientos vecinos nunca reciben el mismo oficio. Los grupos se
+ * cuentan con un arreglo indexado por el ordinal del oficio, así que todo el proceso
+ * es O(n) y reutiliza los mismos nodos: los cursores sobre la mesa siguen siendo válidos.
+ */
+public final class OrganizadorMesa {
+
+    private OrganizadorMesa() {
+    }
+
+    /**
+     * Indica si la mesa admite una disposición sin oficios repetidos entre vecinos. O(n).
+     *
+     * @param mesa lista circular de pastores
+     * @return {@code true} si existe una disposición sin conflictos
+     */
+    public static boolean esPosible(ListaCircularDoble<Pastor> mesa) {
+        if (mesa.getTamanno() <= 1) {
+            return true;
+        }
+        int[] frecuencias = contarOficios(mesa);
+        return frecuencias[oficioMasFrecuente(frecuencias)] <= mesa.getTamanno() / 2;
+    }
+
+    /**
+     * Vuelve a sentar a todos los pastores de la mesa sin oficios repetidos entre vecinos.
+     * Si la disposición no es posible, la mesa no se modifica. O(n) movimientos de nodos.
+     *
+     * @param mesa lista circular de pastores
+     * @return {@code true} si la mesa queda sin conflictos; {@code false} si ningún
+     *         reparto puede conseguirlo
+     */
+    public static boolean organizar(ListaCircularDoble<Pastor> mesa) {
+        int n = mesa.getTamanno();
+        if (n <= 1) {
+            return true;
+        }
+        int[] frecuencias = contarOficios(mesa);
+        int mayor = oficioMasFrecuente(frecuencias);
+        if (frecuencias[mayor] > n / 2) {
+            return false;
+        }
+
+        // Primer índice de la secuencia de asientos (pares y después impares) de cada oficio:
+        // el más frecuente primero y el resto por ordinal
+        int[] siguienteAsiento = new int[OficiosPastores.CANTIDAD];
+        int asiento = frecuencias[mayor];
+        for (int oficio = 0; oficio < OficiosPastores.CANTIDAD; oficio++) {
+            if (oficio != mayor) {
+                siguienteAsiento[oficio] = asiento;
+                asiento += frecuencias[oficio];
+            }
+        }
+
+        int pares = (n + 1) / 2;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodoDoble<Pastor>[] disposicion = new NodoDoble[n];
+        NodoDoble<Pastor> nodo = mesa.getCabeza();
+        for (int i = 0; i < n; i++) {
+            int indice = siguienteAsiento[nodo.getDato().getOficio().ordinal()]++;
+            disposicion[indice < pares ? 2 * indice : 2 * (indice - pares) + 1] = nodo;
+            nodo = nodo.getSiguiente();
+        }
+
+        // Un único aviso de reordenación para los observadores en vez de n movimientos
+        mesa.cambioMasivo(() -> {
+            for (NodoDoble<Pastor> sentado : disposicion) {
+                mesa.moverAlFinal(sentado);
+            }
+        });
+        return true;
+    }
+
+    /** Cuenta los pastores de cada oficio, por ordinal. */
+    private static int[] contarOficios(ListaCircularDoble<Pastor> mesa) {
+        int[] frecuencias = new int[OficiosPastores.CANTIDAD];
+        NodoDoble<Pastor> nodo = mesa.getCabeza();
+        for (int i = 0; i < mesa.getTamanno(); i++) {
+            frecuencias[nodo.getDato().getOficio().ordinal()]++;
+            nodo = nodo.getSiguiente();
+        }
+        return frecuencias;
+    }
+
+    private static int oficioMasFrecuente(int[] frecuencias) {
+        int mayor = 0;
+        for (int oficio = 1; oficio < frecuencias.length; oficio++) {
+            if (frecuencias[oficio] > frecuencias[mayor]) {
+                mayor = oficio;
+            }
+        }
+        return mayor;
+    }
+}
@@ -0,0 +1,120 @@
+package controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import model.InstantaneaMesa;
+
+/**
+ * Junta las instantáneas que publica el juego y las entrega a la vista como mucho una
+ * vez por cuadro.
+ *
+ * Una jugada desde los botones publica una sola instantánea, pero al reproducir jugadas
+ * seguidas ({@link Controller#jugarRapido(int, int)}) el hilo del juego publica una por jugada
+ * y llegan muchas por cuadro. En lugar de mandar cada una al hilo de eventos de Swing, {@link #publicar(InstantaneaMesa)} la junta con las pendientes
+ * ({@link InstantaneaMesa#seguidaDe(InstantaneaMesa)}) y solo programa un cuadro si no
+ * había ninguno: la vista recibe una instantánea por cuadro con todos los cambios, y el
+ * número de actualizaciones y repintados queda acotado por {@link #CUADROS_POR_SEGUNDO}
+ * y no por el número de jugadas.
+ */
+public final class PlanificadorVista {
+
+    /** Cuadros por segundo como máximo. */
+    public static final int CUADROS_POR_SEGUNDO = 60;
+    private static final long INTERVALO_NANOS = TimeUnit.SECONDS.toNanos(1) / CUADROS_POR_SEGUNDO;
+
+    /** Recibe cada cuadro en el hilo de eventos de Swing. */
+    private final Consumer<InstantaneaMesa> destino;
+    /** Espera hasta el próximo cuadro; solo se toca en el hilo de eventos de Swing. */
+    private final Timer temporizador;
+
+    private final Object cerrojo = new Object();
+    /** Instantáneas aún sin entregar, juntadas en una; protegida por {@link #cerrojo}. */
+    private InstantaneaMesa pendiente;
+    private long publicadas;
+
+    // Solo en el hilo de eventos de Swing
+    private long ultimoCuadro = System.nanoTime() - INTERVALO_NANOS;
+    private long cuadros;
+
+    /**
+     * @param destino recibe cada cuadro en el hilo de eventos de Swing (por ejemplo,
+     *                {@code juegoFrame::mostrar})
+     */
+    public PlanificadorVista(Consumer<InstantaneaMesa> destino) {
+        this.destino = destino;
+        this.temporizador = new Timer(0, e -> entregar());
+        this.temporizador.setRepeats(false);
+    }
+
+    /**
+     * Añade una instantánea a las pendientes y, si no había ninguna, programa el próximo
+     * cuadro. Se puede llamar desde cualquier hilo.
+     *
+     * @param instantanea instantánea publicada tras la anterior
+     */
+    public void publicar(InstantaneaMesa instantanea) {
+        boolean programar;
+        synchronized (cerrojo) {
+            programar = pendiente == null;
+            pendiente = programar ? instantanea : pendiente.seguidaDe(instantanea);
+            publicadas++;
+        }
+        if (programar) {
+            SwingUtilities.invokeLater(this::programar);
+        }
+    }
+
+    /**
+     * Entrega ya lo pendiente, sin esperar al próximo cuadro; por ejemplo, antes de abrir
+     * un mensaje que tapa la ventana. Debe llamarse en el hilo de eventos de Swing.
+     */
+    public void vaciar() {
+        temporizador.stop();
+        entregar();
+    }
+
+    /** Entrega lo pendiente si ya pasó un cuadro desde la última entrega, o lo espera. */
+    private void programar() {
+        long restante = ultimoCuadro + INTERVALO_NANOS - System.nanoTime();
+        if (restante <= 0) {
+            entregar();
+        } else if (!temporizador.isRunning()) {
+            // Redondeando hacia arriba, para no entregar antes de tiempo
+            long milisegundos = (restante + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1);
+            temporizador.setInitialDelay((int) milisegundos);
+            temporizador.restart();
+        }
+    }
+
+    private void entregar() {
+        InstantaneaMesa instantanea;
+        synchronized (cerrojo) {
+            instantanea = pendiente;
+            pendiente = null;
+        }
+        if (instantanea == null) {
+            return;
+        }
+        ultimoCuadro = System.nanoTime();
+        cuadros++;
+        destino.accept(instantanea);
+    }
+
+    /**
+     * @return instantáneas publicadas hasta ahora
+     */
+    public long getPublicadas() {
+        synchronized (cerrojo) {
+            return publicadas;
+        }
+    }
+
+    /**
+     * @return cuadros entregados a la vista hasta ahora
+     */
+    public long getCuadros() {
+        return cuadros;
+    }
+}
@@ -0,0 +1,225 @@
+package controller;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import model.IndiceRiqueza;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.Pastor;
+import model.PilaPastores;
+
+/**
+ * Puntos de control binarios de una partida en curso de {@link MotorJuego}, escritos y
+ * leídos con {@link FileChannel} y un {@link ByteBuffer} directo, sin serialización de Java.
+ *
+ * Un punto de control guarda los pastores sentados en orden desde la cabeza, la pila
+ * desde el fondo (con todos los datos de cada pastor, ver {@link FormatoPastor}), el
+ * pastor en turno, la dirección, los contadores de jugadas y el orden de llegada al
+ * índice de riqueza, que decide los empates de dinero. {@link #restaurar(Path)} vuelve a
+ * sentar a todos en una sola pasada lineal.
+ *
+ * {@link #guardar(MotorJuego, Path)} deja al {@link ReparadorMesa} de la partida original
+ * en el estado que tendrá en la restaurada, así que continuar cualquiera de las dos da
+ * exactamente las mismas jugadas.
+ */
+public final class PuntoControl {
+
+    /** Marca al inicio del archivo ("PCTL"). */
+    private static final int MAGICO = 0x5043544C;
+    private static final int VERSION = 1;
+
+    /** Bytes de la cabecera. */
+    private static final int TAMANO_CABECERA = 4 * 5 + 2 + 4 * 4;
+
+    /** Bytes del búfer de lectura y escritura. */
+    private static final int TAMANO_BUFER = 1 << 20;
+
+    private PuntoControl() {
+    }
+
+    /**
+     * Guarda el estado de la partida en un archivo (lo sobrescribe si existe).
+     *
+     * @param motor   partida a guardar
+     * @param archivo ruta del punto de control
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static void guardar(MotorJuego motor, Path archivo) throws IOException {
+        ListaCircularDoble<Pastor> mesa = motor.getPastorList();
+        PilaPastores pila = motor.getPila();
+        int sentados = mesa.getTamanno();
+        Pastor turno = motor.getTurnoActual();
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Escritura escritura = new Escritura(canal);
+            ByteBuffer cabecera = escritura.asegurar(TAMANO_CABECERA);
+            cabecera.putInt(MAGICO);
+            cabecera.putInt(VERSION);
+            cabecera.putInt(sentados);
+            cabecera.putInt(pila.getTamanno());
+            int posicionTurno = cabecera.position();
+            cabecera.putInt(-1);
+            cabecera.put(DiarioPartidas.codigoDireccion(motor.getDireccion()));
+            cabecera.put((byte) (mesa.tienePosiciones() ? 1 : 0));
+            cabecera.putInt(motor.getTurnos());
+            cabecera.putInt(motor.getAtaques());
+            cabecera.putInt(motor.getResurrecciones());
+            cabecera.putInt(motor.getRobos());
+
+            IndiceRiqueza indice = motor.getControllerJuego().getIndiceRiqueza();
+            // Orden de llegada al índice en los 32 bits altos y asiento en los bajos
+            long[] llegadas = new long[sentados];
+            int asientoTurno = -1;
+            NodoDoble<Pastor> nodo = mesa.getCabeza();
+            for (int i = 0; i < sentados; i++) {
+                Pastor pastor = nodo.getDato();
+                if (pastor == turno) {
+                    asientoTurno = i;
+                }
+                long orden = indice == null ? i : indice.ordenDeLlegada(pastor);
+                llegadas[i] = orden << 32 | i;
+                FormatoPastor.escribir(pastor, escritura);
+                nodo = nodo.getSiguiente();
+            }
+            for (Pastor pastor : pila) {
+                FormatoPastor.escribir(pastor, escritura);
+            }
+            Arrays.sort(llegadas);
+            for (long llegada : llegadas) {
+                escritura.asegurar(4).putInt((int) llegada);
+            }
+            escritura.vaciar();
+            // El asiento del turno se conoce tras recorrer la mesa
+            ByteBuffer turnoBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, asientoTurno);
+            canal.write(turnoBuffer, posicionTurno);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        motor.getControllerJuego().invalidarReparacion();
+    }
+
+    /**
+     * Restaura una partida desde un punto de control.
+     *
+     * @param archivo ruta del punto de control
+     * @return un motor nuevo con la partida en el estado guardado
+     * @throws IOException si el archivo no existe o no es un punto de control válido
+     */
+    public static MotorJuego restaurar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            Lectura lectura = new Lectura(canal);
+            ByteBuffer cabecera = lectura.asegurar(TAMANO_CABECERA);
+            if (cabecera.getInt() != MAGICO || cabecera.getInt() != VERSION) {
+                throw new IOException("El archivo no es un punto de control: " + archivo);
+            }
+            int sentados = cabecera.getInt();
+            int apilados = cabecera.getInt();
+            int asientoTurno = cabecera.getInt();
+            String direccion = cabecera.get() == 1 ? MotorJuego.IZQUIERDA : MotorJuego.DERECHA;
+            boolean conPosiciones = cabecera.get() == 1;
+            int turnos = cabecera.getInt();
+            int ataques = cabecera.getInt();
+            int resurrecciones = cabecera.getInt();
+            int robos = cabecera.getInt();
+
+            ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>(ListaCircularDoble.TipoIndice.IDENTIDAD,
+                    conPosiciones);
+            Pastor[] asientos = new Pastor[sentados];
+            for (int i = 0; i < sentados; i++) {
+                asientos[i] = FormatoPastor.leer(lectura);
+                mesa.insertarAlFinal(asientos[i]);
+            }
+            PilaPastores pila = new PilaPastores();
+            for (int i = 0; i < apilados; i++) {
+                pila.apilar(FormatoPastor.leer(lectura));
+            }
+            Pastor[] ordenRiqueza = new Pastor[sentados];
+            for (int i = 0; i < sentados; i++) {
+                ordenRiqueza[i] = asientos[lectura.asegurar(4).getInt()];
+            }
+
+            MotorJuego motor = new MotorJuego(mesa, pila);
+            motor.restaurar(ordenRiqueza, asientoTurno < 0 ? null : asientos[asientoTurno], direccion,
+                    turnos, ataques, resurrecciones, robos);
+            return motor;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Búfer de escritura que se vuelca en el canal cada vez que se llena. */
+    private static final class Escritura implements FormatoPastor.Tramo {
+        private final FileChannel canal;
+        private ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANO_BUFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        Escritura(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        public ByteBuffer asegurar(int bytes) {
+            if (bufer.remaining() < bytes) {
+                vaciar();
+                if (bufer.capacity() < bytes) {
+                    bufer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            return bufer;
+        }
+
+        void vaciar() {
+            bufer.flip();
+            try {
+                while (bufer.hasRemaining()) {
+                    canal.write(bufer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bufer.clear();
+        }
+    }
+
+    /** Búfer de lectura que se rellena desde el canal cuando le faltan bytes. */
+    private static final class Lectura implements FormatoPastor.Tramo {
+        private final FileChannel canal;
+        private ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANO_BUFER).order(ByteOrder.LITTLE_ENDIAN).flip();
+
+        Lectura(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        public ByteBuffer asegurar(int bytes) {
+            if (bufer.remaining() >= bytes) {
+                return bufer;
+            }
+            if (bufer.capacity() < bytes) {
+                ByteBuffer mayor = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                mayor.put(bufer);
+                bufer = mayor;
+            } else {
+                bufer.compact();
+            }
+            try {
+                while (bufer.position() < bytes) {
+                    if (canal.read(bufer) < 0) {
+                        throw new EOFException("Punto de control incompleto");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bufer.flip();
+            return bufer;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package controller;
+
+import java.util.ArrayList;
+import model.ListaCircularDoble;
+import model.NodoDoble;
+import model.OficiosPastores;
+import model.Pastor;
+
+/**
+ * Mantiene la mesa sin oficios repetidos entre vecinos reparando solo la zona que
+ * cambia en cada jugada.
+ *
+ * Al levantar a un pastor de la mesa solo aparece un par de vecinos nuevo, y al sentar
+ * a uno aparecen dos; si alguno repite oficio, uno de los dos pastores del par se mueve
+ * a un hueco seguro para su oficio (un par de vecinos donde ninguno tiene ese oficio).
+ * Los huecos se guardan por el par de oficios que los rodean, así que encontrar uno
+ * seguro no depende del tamaño de la mesa: la reparación cuesta O(1) amortizado. Solo
+ * si no hay hueco seguro se recurre a {@link OrganizadorMesa}, que vuelve a sentar a todos.
+ *
+ * El índice de huecos es perezoso: las entradas que dejan de ser válidas se descartan al
+ * consultarlas y el índice se reconstruye si acumula demasiadas. Para que esté completo,
+ * todos los cambios de la mesa deben pasar por {@link #repararTrasEliminar(NodoDoble)} y
+ * {@link #repararTrasInsertar(NodoDoble)}; tras cualquier otro cambio hay que llamar a
+ * {@link #invalidar()}.
+ */
+public class ReparadorMesa {
+
+    private static final int OFICIOS = OficiosPastores.CANTIDAD;
+
+    /** Cantidad de movimientos locales a partir de la cual se reorganiza toda la mesa. */
+    private static final int MAX_MOVIMIENTOS_LOCALES = 8;
+
+    private final ListaCircularDoble<Pastor> mesa;
+
+    /**
+     * Huecos por par de oficios: {@code huecos[a][b]} contiene nodos {@code L} con oficio
+     * {@code a} cuyo siguiente tiene oficio {@code b} (o los tuvieron; se comprueba al usarlos).
+     * Cada lista se crea al registrar su primer hueco.
+     */
+    private final ArrayList<NodoDoble<Pastor>>[][] huecos;
+
+    /** Número de entradas en {@link #huecos}, válidas o no. */
+    private int entradas;
+
+    /** {@code true} si se sabe que la mesa no tiene conflictos y el índice está completo. */
+    private boolean valida;
+
+    /**
+     * @param mesa mesa a mantener
+     */
+    public ReparadorMesa(ListaCircularDoble<Pastor> mesa) {
+        this.mesa = mesa;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<NodoDoble<Pastor>>[][] tabla = new ArrayList[OFICIOS][OFICIOS];
+        this.huecos = tabla;
+    }
+
+    /**
+     * Olvida el estado conocido de la mesa; la próxima reparación la revisa entera.
+     * Hay que llamarlo tras cambiar la mesa sin pasar por este reparador.
+     */
+    public void invalidar() {
+        valida = false;
+    }
+
+    /**
+     * Repara la mesa después de desenlazar a un pastor.
+     *
+     * @param anterior nodo que precedía al pastor eliminado (sigue en la mesa), o
+     *                 {@code null} si la mesa quedó vacía
+     * @return {@code true} si la mesa queda sin conflictos
+     */
+    public boolean repararTrasEliminar(NodoDoble<Pastor> anterior) {
+        if (!valida || anterior == null) {
+            return reorganizarTodo();
+        }
+        registrarHueco(anterior);
+        return repararZona(anterior, anterior);
+    }
+
+    /**
+     * Repara la mesa después de enlazar a un pastor.
+     *
+     * @param nuevo nodo recién enlazado
+     * @return {@code true} si la mesa queda sin conflictos
+     */
+    public boolean repararTrasInsertar(NodoDoble<Pastor> nuevo) {
+        if (!valida) {
+            return reorganizarTodo();
+        }
+        registrarHueco(nuevo.getAnterior());
+        registrarHueco(nuevo);
+        return repararZona(nuevo.getAnterior(), nuevo);
+    }
+
+    /**
+     * Deshace los conflictos de los pares que empiezan en {@code primero} y
+     * {@code segundo}, moviendo pastores a huecos seguros; si no lo consigue en
+     * pocos movimientos, reorganiza toda la mesa.
+     */
+    private boolean repararZona(NodoDoble<Pastor> primero, NodoDoble<Pastor> segundo) {
+        if (mesa.getTamanno() <= 1) {
+            return true;
+        }
+        // Pares pendientes de revisar, identificados por su nodo izquierdo
+        ArrayList<NodoDoble<Pastor>> pendientes = new ArrayList<>(4);
+        pendientes.add(primero);
+        if (segundo != primero) {
+            pendientes.add(segundo);
+        }
+        int movimientos = 0;
+        while (!pendientes.isEmpty()) {
+            NodoDoble<Pastor> izquierdo = pendientes.remove(pendientes.size() - 1);
+            if (!ListaCircularDoble.estaEnlazado(izquierdo) || !hayConflicto(izquierdo)) {
+                continue;
+            }
+            if (++movimientos > MAX_MOVIMIENTOS_LOCALES) {
+                return reorganizarTodo();
+            }
+            NodoDoble<Pastor> derecho = izquierdo.getSiguiente();
+            int oficio = codigo(izquierdo);
+            // Mover al que deje detrás un par sin conflicto, si alguno lo hace
+            NodoDoble<Pastor> movido = codigo(derecho.getSiguiente()) != oficio || codigo(izquierdo.getAnterior()) == oficio
+                    ? derecho : izquierdo;
+            NodoDoble<Pastor> hueco = buscarHuecoSeguro(oficio);
+            if (hueco == null) {
+                return reorganizarTodo();
+            }
+            NodoDoble<Pastor> antes = movido.getAnterior();
+            mesa.moverDespuesDe(movido, hueco);
+            registrarHueco(antes);
+            registrarHueco(hueco);
+            registrarHueco(movido);
+            pendientes.add(antes);
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve un nodo {@code L} tal que ni {@code L} ni su siguiente tienen {@code oficio},
+     * descartando las entradas que ya no son válidas.
+     */
+    private NodoDoble<Pastor> buscarHuecoSeguro(int oficio) {
+        for (int a = 0; a < OFICIOS; a++) {
+            if (a == oficio) {
+                continue;
+            }
+            for (int b = 0; b < OFICIOS; b++) {
+                if (b == oficio) {
+                    continue;
+                }
+                ArrayList<NodoDoble<Pastor>> lista = huecos[a][b];
+                while (lista != null && !lista.isEmpty()) {
+                    NodoDoble<Pastor> candidato = lista.remove(lista.size() - 1);
+                    entradas--;
+                    if (ListaCircularDoble.estaEnlazado(candidato)
+                            && codigo(candidato) == a && codigo(candidato.getSiguiente()) == b) {
+                        return candidato;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Añade el par que empieza en {@code izquierdo} al índice de huecos. */
+    private void registrarHueco(NodoDoble<Pastor> izquierdo) {
+        if (!ListaCircularDoble.estaEnlazado(izquierdo)) {
+            return;
+        }
+        if (entradas > 4 * mesa.getTamanno() + 64) {
+            reconstruirHuecos();
+            return;
+        }
+        agregarHueco(izquierdo);
+    }
+
+    private void agregarHueco(NodoDoble<Pastor> izquierdo) {
+        int a = codigo(izquierdo);
+        int b = codigo(izquierdo.getSiguiente());
+        if (huecos[a][b] == null) {
+            huecos[a][b] = new ArrayList<>();
+        }
+        huecos[a][b].add(izquierdo);
+        entradas++;
+    }
+
+    /** Vuelve a sentar a todos con {@link OrganizadorMesa} y reconstruye el índice. */
+    private boolean reorganizarTodo() {
+        valida = !hayConflictos() || OrganizadorMesa.organizar(mesa);
+        reconstruirHuecos();
+        return valida;
+    }
+
+    private void reconstruirHuecos() {
+        for (ArrayList<NodoDoble<Pastor>>[] fila : huecos) {
+            for (ArrayList<NodoDoble<Pastor>> lista : fila) {
+                if (lista != null) {
+                    lista.clear();
+                }
+            }
+        }
+        entradas = 0;
+        NodoDoble<Pastor> nodo = mesa.getCabeza();
+        for (int i = 0; i < mesa.getTamanno(); i++) {
+            agregarHueco(nodo);
+            nodo = nodo.getSiguiente();
+        }
+    }
+
+    private boolean hayConflictos() {
+        if (mesa.tieneClaveVecindad()) {
+            return mesa.getConflictosVecindad() > 0;
+        }
+        if (mesa.getTamanno() <= 1) {
+            return false;
+        }
+        NodoDoble<Pastor> nodo = mesa.getCabeza();
+        for (int i = 0; i < mesa.getTamanno(); i++) {
+            if (hayConflicto(nodo)) {
+                return true;
+            }
+            nodo = nodo.getSiguiente();
+        }
+        return false;
+    }
+
+    private static boolean hayConflicto(NodoDoble<Pastor> izquierdo) {
+        return izquierdo.getSiguiente() != izquierdo && codigo(izquierdo) == codigo(izquierdo.getSiguiente());
+    }
+
+    private static int codigo(NodoDoble<Pastor> nodo) {
+        return nodo.getDato().getOficio().ordinal();
+    }
+}
@@ -0,0 +1,257 @@
+package controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.ListaCircularDoble;
+import model.Pastor;
+import model.PilaPastores;
+
+/**
+ * Reproduce sin interfaz las partidas anotadas en un {@link DiarioPartidas}.
+ *
+ * Cada partida se reconstruye a partir de la mesa y la pila anotadas al iniciarla y se
+ * vuelve a jugar evento a evento con un {@link MotorJuego}, a la velocidad del motor. Cada
+ * jugada se compara con lo anotado (por ejemplo, que el ataque elimine al mismo pastor); si
+ * no coincide se lanza {@link IllegalStateException}, lo que permite detectar cambios de
+ * comportamiento de las reglas con partidas archivadas.
+ *
+ * Uso típico: {@code while (r.haySiguientePartida()) { MotorJuego m = r.reproducirPartida(); ... }},
+ * o bien {@link #abrirPartida()} y {@link #avanzar()} para ir jugada a jugada.
+ */
+public class ReproductorPartidas implements AutoCloseable {
+
+    private final FileChannel canal;
+    /** Fin de los datos válidos del diario. */
+    private final long longitud;
+    private MappedByteBuffer tramo;
+    /** Posición en el archivo del inicio de {@link #tramo}. */
+    private long inicioTramo;
+    /** Acceso al tramo para {@link FormatoPastor}. */
+    private final FormatoPastor.Tramo lectura = bytes -> {
+        asegurar(bytes);
+        return tramo;
+    };
+
+    /** Partida en curso y sus pastores por identificador. */
+    private MotorJuego motor;
+    private Pastor[] pastores;
+
+    /**
+     * Abre un diario para reproducirlo.
+     *
+     * @param archivo ruta del diario
+     * @throws IOException si el archivo no existe o no es un diario válido
+     */
+    public ReproductorPartidas(Path archivo) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        long tamanno = canal.size();
+        if (tamanno < DiarioPartidas.TAMANO_CABECERA) {
+            canal.close();
+            throw new IOException("El archivo no es un diario de partidas: " + archivo);
+        }
+        mapear(0, DiarioPartidas.TAMANO_CABECERA);
+        int magico = tramo.getInt();
+        int version = tramo.getInt();
+        long anotada = tramo.getLong();
+        if (magico != DiarioPartidas.MAGICO || version != DiarioPartidas.VERSION || anotada > tamanno) {
+            canal.close();
+            throw new IOException("El archivo no es un diario de partidas: " + archivo);
+        }
+        // Sin longitud anotada el diario no se cerró: se lee hasta el primer evento a cero
+        longitud = anotada > 0 ? anotada : tamanno;
+    }
+
+    /**
+     * Avanza hasta el comienzo de la siguiente partida, saltando lo que quede de la actual.
+     *
+     * @return {@code true} si hay otra partida en el diario
+     */
+    public boolean haySiguientePartida() {
+        while (true) {
+            byte tipo = mirarTipo();
+            if (tipo == DiarioPartidas.FIN_DATOS || tipo == DiarioPartidas.INICIO) {
+                return tipo == DiarioPartidas.INICIO;
+            }
+            if (motor == null) {
+                throw new IllegalStateException("Evento " + tipo + " fuera de una partida");
+            }
+            avanzar();
+        }
+    }
+
+    /**
+     * Reconstruye la mesa y la pila de la siguiente partida del diario, sin aplicar jugadas.
+     *
+     * @return el motor con la partida en su estado inicial
+     * @throws IllegalStateException si no hay más partidas
+     */
+    public MotorJuego abrirPartida() {
+        if (!haySiguientePartida()) {
+            throw new IllegalStateException("No quedan partidas en el diario");
+        }
+        asegurar(1 + 4 + 4);
+        tramo.get();
+        int sentados = tramo.getInt();
+        int apilados = tramo.getInt();
+        pastores = new Pastor[sentados + apilados];
+        ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>(ListaCircularDoble.TipoIndice.IDENTIDAD);
+        PilaPastores pila = new PilaPastores();
+        for (int i = 0; i < pastores.length; i++) {
+            pastores[i] = leerPastor();
+            if (i < sentados) {
+                mesa.insertarAlFinal(pastores[i]);
+            } else {
+                pila.apilar(pastores[i]);
+            }
+        }
+        asegurar(4 + 1);
+        int turno = tramo.getInt();
+        byte direccion = tramo.get();
+
+        motor = new MotorJuego(mesa, pila);
+        motor.iniciar();
+        motor.setTurnoActual(pastor(turno));
+        motor.setDireccion(direccion(direccion));
+        return motor;
+    }
+
+    /**
+     * Aplica la siguiente jugada de la partida abierta.
+     *
+     * @return {@code false} si la partida no tiene más jugadas
+     * @throws IllegalStateException si la jugada no produce lo anotado
+     */
+    public boolean avanzar() {
+        byte tipo = mirarTipo();
+        if (motor == null || tipo == DiarioPartidas.FIN_DATOS || tipo == DiarioPartidas.INICIO) {
+            return false;
+        }
+        asegurar(1 + tamannoDatos(tipo));
+        tramo.get();
+        switch (tipo) {
+            case DiarioPartidas.ATAQUE -> {
+                int pasos = tramo.getInt();
+                comprobar(tipo, tramo.getInt(), motor.atacar(pasos));
+            }
+            case DiarioPartidas.RESURRECCION -> comprobar(tipo, tramo.getInt(), motor.resucitar());
+            case DiarioPartidas.ROBO -> {
+                Pastor robado = pastor(tramo.getInt());
+                comprobar(tipo, robado, motor.getControllerJuego().obtenerMasRico(motor.getPastorList()));
+                if (!motor.robar()) {
+                    throw new IllegalStateException("El robo anotado no es válido en la reproducción");
+                }
+            }
+            case DiarioPartidas.CAMBIO_TURNO -> motor.cambioDeTurno();
+            case DiarioPartidas.DIRECCION -> motor.setDireccion(direccion(tramo.get()));
+            case DiarioPartidas.REORGANIZACION -> {
+                boolean anotado = tramo.get() != 0;
+                if (motor.reorganizarMesa() != anotado) {
+                    throw new IllegalStateException("La reorganización no coincide con el diario");
+                }
+            }
+            case DiarioPartidas.TURNO_FIJADO -> motor.setTurnoActual(pastor(tramo.getInt()));
+            case DiarioPartidas.FIN_PARTIDA -> comprobar(tipo, tramo.getInt(), motor.getControllerJuego().getPastorGanador());
+            default -> throw new IllegalStateException("Evento desconocido en el diario: " + tipo);
+        }
+        return true;
+    }
+
+    /**
+     * Reconstruye la siguiente partida y aplica todas sus jugadas.
+     *
+     * @return el motor con la partida en su estado final
+     */
+    public MotorJuego reproducirPartida() {
+        MotorJuego partida = abrirPartida();
+        while (avanzar()) {
+            // las jugadas se aplican en avanzar()
+        }
+        return partida;
+    }
+
+    /**
+     * @param id identificador anotado
+     * @return el pastor de la partida abierta con ese identificador, o {@code null} para -1
+     */
+    public Pastor pastor(int id) {
+        return id < 0 ? null : pastores[id];
+    }
+
+    @Override
+    public void close() throws IOException {
+        tramo = null;
+        canal.close();
+    }
+
+    // ========================
+    //       AUXILIARES
+    // ========================
+
+    private Pastor leerPastor() {
+        return FormatoPastor.leer(lectura);
+    }
+
+    private void comprobar(byte tipo, int anotado, Pastor obtenido) {
+        comprobar(tipo, pastor(anotado), obtenido);
+    }
+
+    private static void comprobar(byte tipo, Pastor anotado, Pastor obtenido) {
+        if (anotado != obtenido) {
+            throw new IllegalStateException("La reproducción no coincide con el diario (evento " + tipo + "): se anotó "
+                    + (anotado == null ? "nadie" : anotado.getNombre()) + " y se obtuvo "
+                    + (obtenido == null ? "nadie" : obtenido.getNombre()));
+        }
+    }
+
+    /** Bytes que siguen al tipo en cada evento de jugada. */
+    private static int tamannoDatos(byte tipo) {
+        return switch (tipo) {
+            case DiarioPartidas.ATAQUE -> 8;
+            case DiarioPartidas.RESURRECCION, DiarioPartidas.ROBO, DiarioPartidas.TURNO_FIJADO,
+                    DiarioPartidas.FIN_PARTIDA -> 4;
+            case DiarioPartidas.DIRECCION, DiarioPartidas.REORGANIZACION -> 1;
+            default -> 0;
+        };
+    }
+
+    private static String direccion(byte codigo) {
+        return codigo == 1 ? MotorJuego.IZQUIERDA : MotorJuego.DERECHA;
+    }
+
+    /** Tipo del siguiente evento sin consumirlo; {@link DiarioPartidas#FIN_DATOS} al final. */
+    private byte mirarTipo() {
+        if (posicion() >= longitud) {
+            return DiarioPartidas.FIN_DATOS;
+        }
+        asegurar(1);
+        return tramo.get(tramo.position());
+    }
+
+    private long posicion() {
+        return inicioTramo + tramo.position();
+    }
+
+    /** Garantiza que se pueden leer {@code bytes} del tramo mapeado. */
+    private void asegurar(int bytes) {
+        if (tramo.remaining() < bytes) {
+            try {
+                mapear(posicion(), bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se puede leer el diario", e);
+            }
+        }
+    }
+
+    private void mapear(long desde, int minimo) throws IOException {
+        long disponible = canal.size() - desde;
+        tramo = canal.map(FileChannel.MapMode.READ_ONLY, desde,
+                Math.min(disponible, Math.max(DiarioPartidas.TAMANO_TRAMO, minimo)));
+        tramo.order(ByteOrder.LITTLE_ENDIAN);
+        inicioTramo = desde;
+    }
+}
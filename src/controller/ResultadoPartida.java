@@ -0,0 +1,58 @@
+package controller;
+
+import model.Pastor;
+
+/**
+ * Resultado inmutable de una partida jugada por {@link MotorJuego}.
+ * Contiene el ganador y el número de jugadas de cada tipo.
+ */
+public final class ResultadoPartida {
+
+    private final Pastor ganador;
+    private final int turnos;
+    private final int ataques;
+    private final int resurrecciones;
+    private final int robos;
+
+    /**
+     * @param ganador        pastor ganador, o {@code null} si la partida no terminó
+     * @param turnos         número total de jugadas realizadas
+     * @param ataques        número de ataques
+     * @param resurrecciones número de resurrecciones
+     * @param robos          número de robos
+     */
+    public ResultadoPartida(Pastor ganador, int turnos, int ataques, int resurrecciones, int robos) {
+        this.ganador = ganador;
+        this.turnos = turnos;
+        this.ataques = ataques;
+        this.resurrecciones = resurrecciones;
+        this.robos = robos;
+    }
+
+    /**
+     * @return {@code true} si la partida terminó con un único pastor en la mesa
+     */
+    public boolean isTerminada() {
+        return ganador != null;
+    }
+
+    public Pastor getGanador() {
+        return ganador;
+    }
+
+    public int getTurnos() {
+        return turnos;
+    }
+
+    public int getAtaques() {
+        return ataques;
+    }
+
+    public int getResurrecciones() {
+        return resurrecciones;
+    }
+
+    public int getRobos() {
+        return robos;
+    }
+}
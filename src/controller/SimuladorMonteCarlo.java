@@ -0,0 +1,157 @@
+package controller;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import model.Bitacora;
+import model.ListaCircularDoble;
+import model.Pastor;
+
+/**
+ * Ejecuta muchas partidas independientes de "Mesa de Pastores" en paralelo
+ * sobre un {@link ForkJoinPool}, sin interfaz gráfica.
+ *
+ * Cada partida tiene su propio {@link MotorJuego} (mesa y pila propias) y cada
+ * tarea su propio {@link SplittableRandom}, obtenido con {@code split()} al dividir
+ * el trabajo; no hay estado mutable compartido entre partidas. Con la misma semilla
+ * los resultados son reproducibles independientemente del número de hilos.
+ */
+public class SimuladorMonteCarlo {
+
+    /** Partidas que juega una tarea sin volver a dividirse. */
+    private static final int UMBRAL = 256;
+
+    private final int minJugadores;
+    private final int maxJugadores;
+    private final int pasos;
+    private final int maxTurnos;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param minJugadores número mínimo de pastores por partida
+     * @param maxJugadores número máximo de pastores por partida
+     * @param pasos        número de posiciones de cada ataque
+     * @param maxTurnos    límite de turnos por partida
+     * @param hilos        nivel de paralelismo
+     */
+    public SimuladorMonteCarlo(int minJugadores, int maxJugadores, int pasos, int maxTurnos, int hilos) {
+        if (minJugadores < 2 || maxJugadores < minJugadores) {
+            throw new IllegalArgumentException("Rango de jugadores inválido: " + minJugadores + "-" + maxJugadores);
+        }
+        this.minJugadores = minJugadores;
+        this.maxJugadores = maxJugadores;
+        this.pasos = pasos;
+        this.maxTurnos = maxTurnos;
+        this.pool = new ForkJoinPool(hilos);
+    }
+
+    /**
+     * Juega {@code partidas} partidas y devuelve las estadísticas agregadas.
+     *
+     * @param partidas número de partidas
+     * @param semilla  semilla de la simulación
+     * @return estadísticas de todas las partidas
+     */
+    public EstadisticasSimulacion simular(long partidas, long semilla) {
+        return pool.invoke(new TareaPartidas(partidas, new SplittableRandom(semilla)));
+    }
+
+    /**
+     * Juega {@code partidas} partidas en lotes de {@code tamanoLote} y, tras cada lote,
+     * entrega al consumidor las estadísticas acumuladas hasta ese momento.
+     *
+     * @param partidas   número total de partidas
+     * @param tamanoLote partidas por lote
+     * @param semilla    semilla de la simulación
+     * @param progreso   recibe las estadísticas acumuladas tras cada lote
+     * @return estadísticas de todas las partidas
+     */
+    public EstadisticasSimulacion simular(long partidas, long tamanoLote, long semilla,
+            Consumer<EstadisticasSimulacion> progreso) {
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        EstadisticasSimulacion total = new EstadisticasSimulacion(maxTurnos);
+        for (long jugadas = 0; jugadas < partidas; jugadas += tamanoLote) {
+            long lote = Math.min(tamanoLote, partidas - jugadas);
+            total.combinar(pool.invoke(new TareaPartidas(lote, raiz.split())));
+            progreso.accept(total);
+        }
+        return total;
+    }
+
+    /**
+     * Juega una partida completa con el generador indicado y la registra.
+     */
+    private void jugarPartida(SplittableRandom random, EstadisticasSimulacion estadisticas) {
+        MotorJuego motor = new MotorJuego();
+        ListaCircularDoble<Pastor> mesa = motor.getPastorList();
+        ControllerPastor.crearListaPastores(mesa, random.nextInt(minJugadores, maxJugadores + 1), random);
+        estadisticas.registrarMesaInicial(mesa);
+        motor.setDireccion(random.nextBoolean() ? MotorJuego.DERECHA : MotorJuego.IZQUIERDA);
+        estadisticas.registrar(motor.jugarPartida(random, pasos, maxTurnos));
+    }
+
+    /**
+     * Libera los hilos del simulador.
+     */
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Tarea que juega un rango de partidas, dividiéndose en dos mientras supere {@link #UMBRAL}.
+     */
+    private final class TareaPartidas extends RecursiveTask<EstadisticasSimulacion> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long partidas;
+        private final SplittableRandom random;
+
+        TareaPartidas(long partidas, SplittableRandom random) {
+            this.partidas = partidas;
+            this.random = random;
+        }
+
+        @Override
+        protected EstadisticasSimulacion compute() {
+            if (partidas <= UMBRAL) {
+                EstadisticasSimulacion estadisticas = new EstadisticasSimulacion(maxTurnos);
+                for (long i = 0; i < partidas; i++) {
+                    jugarPartida(random, estadisticas);
+                }
+                return estadisticas;
+            }
+            long mitad = partidas / 2;
+            TareaPartidas izquierda = new TareaPartidas(mitad, random.split());
+            TareaPartidas derecha = new TareaPartidas(partidas - mitad, random);
+            izquierda.fork();
+            return derecha.compute().combinar(izquierda.join());
+        }
+    }
+
+    /**
+     * Punto de entrada de la simulación por lotes.
+     * Argumentos opcionales: partidas, hilos, semilla.
+     *
+     * @param args argumentos de línea de comandos
+     */
+    public static void main(String[] args) {
+        long partidas = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        // Sin bitácora salvo que se pida con -Dbitacora.nivel: escribir cada jugada domina el tiempo
+        if (System.getProperty("bitacora.nivel") == null) {
+            Bitacora.configurar(Bitacora.Nivel.APAGADO, false);
+        }
+        SimuladorMonteCarlo simulador = new SimuladorMonteCarlo(2, 10, 1, 10_000, hilos);
+        long inicio = System.nanoTime();
+        EstadisticasSimulacion resultado = simulador.simular(partidas, Math.max(1, partidas / 10), semilla,
+                parcial -> System.err.printf("%d partidas, %.0f partidas/s%n", parcial.getPartidas(),
+                        parcial.getPartidas() / ((System.nanoTime() - inicio) / 1e9)));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        simulador.cerrar();
+        System.err.print(resultado.informe(segundos));
+    }
+}
@@ -1,6 +1,7 @@
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Enum que contiene los posibles apellidos para candidatos
@@ -36,15 +37,49 @@ public enum Apellidos {
         return apellido;
     }
 
+    /** Copia única de {@link #values()}, para no clonar el arreglo en cada sorteo. */
+    private static final Apellidos[] VALORES = values();
+
+    /** Número de apellidos; sus ordinales van de 0 a {@code CANTIDAD - 1}. */
+    public static final int CANTIDAD = VALORES.length;
+
     /**
      * Obtiene un apellido aleatorio del enum
      * 
      * @return String con un apellido aleatorio
      */
     public static String obtenerApellidoAleatorio() {
-        Apellidos[] apellidos = values();
-        Random random = new Random();
-        return apellidos[random.nextInt(apellidos.length)].getApellido();
+        return obtenerApellidoAleatorio(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Obtiene un apellido aleatorio del enum usando el generador indicado
+     * 
+     * @param random generador de números aleatorios
+     * @return String con un apellido aleatorio
+     */
+    public static String obtenerApellidoAleatorio(RandomGenerator random) {
+        return VALORES[random.nextInt(VALORES.length)].getApellido();
+    }
+
+    /**
+     * Sortea el ordinal de un apellido usando el generador indicado
+     * 
+     * @param random generador de números aleatorios
+     * @return ordinal entre 0 y {@link #CANTIDAD} - 1
+     */
+    public static int obtenerOrdinalAleatorio(RandomGenerator random) {
+        return random.nextInt(VALORES.length);
+    }
+
+    /**
+     * Obtiene el apellido correspondiente a un ordinal
+     * 
+     * @param ordinal ordinal entre 0 y {@link #CANTIDAD} - 1
+     * @return el texto del apellido
+     */
+    public static String desdeOrdinal(int ordinal) {
+        return VALORES[ordinal].apellido;
     }
 
     @Override
@@ -0,0 +1,383 @@
+package model;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Árbol de estadísticas de orden sobre los nodos de una {@link ListaCircularDoble}.
+ * Es un treap implícito: la clave de cada nodo es su posición en la lista (contada
+ * desde la cabeza) y cada subárbol guarda su tamaño, de modo que obtener la posición
+ * de un nodo, el nodo de una posición, insertar y eliminar cuestan O(log n) esperado.
+ *
+ * La lista lo mantiene actualizado en cada enlace y desenlace cuando se construye
+ * con posiciones (ver {@link ListaCircularDoble#ListaCircularDoble(ListaCircular.TipoIndice, boolean)}).
+ *
+ * Opcionalmente cada subárbol guarda también el mínimo de una clave entera de sus
+ * datos (ver {@link #setClave(ToIntFunction)}), con lo que el mínimo de un rango de
+ * posiciones y la primera o última posición que lo alcanza se obtienen en O(log n).
+ * Si la clave de un dato cambia hay que avisar con {@link #actualizarValor(NodoDoble)}.
+ *
+ * @param <T> El tipo de elementos de la lista.
+ */
+class ArbolPosiciones<T> {
+
+    /** Nodo del treap asociado a un {@link NodoDoble} de la lista. */
+    private static final class Rama<T> {
+        final NodoDoble<T> nodo;
+        final int prioridad;
+        Rama<T> izquierda;
+        Rama<T> derecha;
+        Rama<T> padre;
+        int tamanno = 1;
+        /** Clave del dato, si el árbol tiene clave. */
+        int valor;
+        /** Mínimo de {@link #valor} en el subárbol, si el árbol tiene clave. */
+        int minimo;
+
+        Rama(NodoDoble<T> nodo, int prioridad) {
+            this.nodo = nodo;
+            this.prioridad = prioridad;
+        }
+    }
+
+    private Rama<T> raiz;
+    /** Rama de cada nodo de la lista. */
+    private final Map<NodoDoble<T>, Rama<T>> ramas = new IdentityHashMap<>();
+    /** Estado del generador xorshift de prioridades. */
+    private int semilla = 0x2545F491;
+    /** Clave cuyo mínimo se mantiene por subárbol, o {@code null}. */
+    private ToIntFunction<? super T> clave;
+
+    /**
+     * @return El número de nodos en el árbol.
+     */
+    int getTamanno() {
+        return tamanno(raiz);
+    }
+
+    /**
+     * @return La clave cuyo mínimo se mantiene, o {@code null}.
+     */
+    ToIntFunction<? super T> getClave() {
+        return clave;
+    }
+
+    /**
+     * Empieza a mantener el mínimo de {@code clave} por subárbol (o deja de hacerlo
+     * con {@code null}) y lo calcula para los nodos actuales. O(n).
+     *
+     * @param clave Función que da la clave de cada dato.
+     */
+    void setClave(ToIntFunction<? super T> clave) {
+        this.clave = clave;
+        recalcularSubarbol(raiz);
+    }
+
+    /**
+     * Vuelve a leer la clave del dato de {@code nodo} tras un cambio. O(log n).
+     *
+     * @param nodo Un nodo del árbol.
+     */
+    void actualizarValor(NodoDoble<T> nodo) {
+        Rama<T> rama = ramas.get(nodo);
+        if (rama == null || clave == null) {
+            return;
+        }
+        rama.valor = clave.applyAsInt(nodo.getDato());
+        for (Rama<T> r = rama; r != null; r = r.padre) {
+            recalcular(r);
+        }
+    }
+
+    /**
+     * Devuelve el mínimo de la clave entre las posiciones {@code desde} y {@code hasta},
+     * ambas incluidas. O(log n).
+     *
+     * @param desde Primera posición del rango.
+     * @param hasta Última posición del rango.
+     * @return El mínimo, o {@link Integer#MAX_VALUE} si el rango está vacío.
+     */
+    int minimo(int desde, int hasta) {
+        return minimo(raiz, desde, hasta);
+    }
+
+    /**
+     * Devuelve el nodo de menor posición entre {@code desde} y {@code hasta} cuya clave
+     * es como mucho {@code valor}. O(log n).
+     *
+     * @return El nodo, o {@code null} si no hay ninguno.
+     */
+    NodoDoble<T> primeroHasta(int desde, int hasta, int valor) {
+        Rama<T> rama = primeroHasta(raiz, desde, hasta, valor);
+        return rama == null ? null : rama.nodo;
+    }
+
+    /**
+     * Devuelve el nodo de mayor posición entre {@code desde} y {@code hasta} cuya clave
+     * es como mucho {@code valor}. O(log n).
+     *
+     * @return El nodo, o {@code null} si no hay ninguno.
+     */
+    NodoDoble<T> ultimoHasta(int desde, int hasta, int valor) {
+        Rama<T> rama = ultimoHasta(raiz, desde, hasta, valor);
+        return rama == null ? null : rama.nodo;
+    }
+
+    /**
+     * Devuelve la posición de {@code nodo} en la lista (0 es la cabeza). O(log n).
+     *
+     * @param nodo Un nodo enlazado de la lista.
+     * @return Su posición, o -1 si no está en el árbol.
+     */
+    int posicion(NodoDoble<T> nodo) {
+        Rama<T> rama = ramas.get(nodo);
+        if (rama == null) {
+            return -1;
+        }
+        int posicion = tamanno(rama.izquierda);
+        while (rama.padre != null) {
+            if (rama == rama.padre.derecha) {
+                posicion += tamanno(rama.padre.izquierda) + 1;
+            }
+            rama = rama.padre;
+        }
+        return posicion;
+    }
+
+    /**
+     * Devuelve el nodo de la posición {@code k} (0 es la cabeza). O(log n).
+     *
+     * @param k Una posición entre 0 y {@code getTamanno() - 1}.
+     * @return El nodo de esa posición.
+     */
+    NodoDoble<T> seleccionar(int k) {
+        Rama<T> actual = raiz;
+        while (actual != null) {
+            int izquierda = tamanno(actual.izquierda);
+            if (k < izquierda) {
+                actual = actual.izquierda;
+            } else if (k == izquierda) {
+                return actual.nodo;
+            } else {
+                k -= izquierda + 1;
+                actual = actual.derecha;
+            }
+        }
+        throw new IndexOutOfBoundsException("Posición fuera de rango: " + k);
+    }
+
+    /**
+     * Inserta {@code nuevo} justo después de {@code anterior} en el orden de la lista,
+     * o en la posición 0 si {@code anterior} es {@code null}. O(log n).
+     *
+     * @param anterior Nodo que precede al nuevo, o {@code null} si el nuevo es la cabeza.
+     * @param nuevo El nodo a insertar.
+     */
+    void insertarDespues(NodoDoble<T> anterior, NodoDoble<T> nuevo) {
+        Rama<T> rama = new Rama<>(nuevo, siguientePrioridad());
+        if (clave != null) {
+            rama.valor = clave.applyAsInt(nuevo.getDato());
+            rama.minimo = rama.valor;
+        }
+        ramas.put(nuevo, rama);
+        if (raiz == null) {
+            raiz = rama;
+            return;
+        }
+        // Hoja donde colgar la nueva rama: el primer nodo tras "anterior" en inorden
+        Rama<T> padre;
+        boolean comoIzquierda;
+        if (anterior == null) {
+            padre = extremoIzquierdo(raiz);
+            comoIzquierda = true;
+        } else {
+            Rama<T> ref = ramas.get(anterior);
+            if (ref.derecha == null) {
+                padre = ref;
+                comoIzquierda = false;
+            } else {
+                padre = extremoIzquierdo(ref.derecha);
+                comoIzquierda = true;
+            }
+        }
+        if (comoIzquierda) {
+            padre.izquierda = rama;
+        } else {
+            padre.derecha = rama;
+        }
+        rama.padre = padre;
+        for (Rama<T> r = padre; r != null; r = r.padre) {
+            recalcular(r);
+        }
+        // Subir la rama mientras tenga más prioridad que su padre
+        while (rama.padre != null && rama.prioridad > rama.padre.prioridad) {
+            rotarArriba(rama);
+        }
+    }
+
+    /**
+     * Elimina {@code nodo} del árbol. O(log n).
+     *
+     * @param nodo El nodo a eliminar.
+     */
+    void eliminar(NodoDoble<T> nodo) {
+        Rama<T> rama = ramas.remove(nodo);
+        if (rama == null) {
+            return;
+        }
+        // Bajar la rama hasta que tenga a lo sumo un hijo
+        while (rama.izquierda != null && rama.derecha != null) {
+            Rama<T> hijo = rama.izquierda.prioridad > rama.derecha.prioridad ? rama.izquierda : rama.derecha;
+            rotarArriba(hijo);
+        }
+        Rama<T> hijo = rama.izquierda != null ? rama.izquierda : rama.derecha;
+        reemplazarEnPadre(rama, hijo);
+        for (Rama<T> r = rama.padre; r != null; r = r.padre) {
+            recalcular(r);
+        }
+        rama.padre = null;
+        rama.izquierda = null;
+        rama.derecha = null;
+    }
+
+    /**
+     * Elimina todos los nodos.
+     */
+    void vaciar() {
+        raiz = null;
+        ramas.clear();
+    }
+
+    // --- Auxiliares ---
+
+    private static <T> int tamanno(Rama<T> rama) {
+        return rama == null ? 0 : rama.tamanno;
+    }
+
+    private static <T> Rama<T> extremoIzquierdo(Rama<T> rama) {
+        while (rama.izquierda != null) {
+            rama = rama.izquierda;
+        }
+        return rama;
+    }
+
+    /** Pone {@code nueva} en el lugar que ocupaba {@code vieja} bajo su padre (o como raíz). */
+    private void reemplazarEnPadre(Rama<T> vieja, Rama<T> nueva) {
+        Rama<T> padre = vieja.padre;
+        if (padre == null) {
+            raiz = nueva;
+        } else if (padre.izquierda == vieja) {
+            padre.izquierda = nueva;
+        } else {
+            padre.derecha = nueva;
+        }
+        if (nueva != null) {
+            nueva.padre = padre;
+        }
+    }
+
+    /** Rota {@code rama} sobre su padre, conservando el orden inorden y los tamaños. */
+    private void rotarArriba(Rama<T> rama) {
+        Rama<T> padre = rama.padre;
+        reemplazarEnPadre(padre, rama);
+        if (padre.izquierda == rama) {
+            padre.izquierda = rama.derecha;
+            if (rama.derecha != null) {
+                rama.derecha.padre = padre;
+            }
+            rama.derecha = padre;
+        } else {
+            padre.derecha = rama.izquierda;
+            if (rama.izquierda != null) {
+                rama.izquierda.padre = padre;
+            }
+            rama.izquierda = padre;
+        }
+        padre.padre = rama;
+        recalcular(padre);
+        recalcular(rama);
+    }
+
+    /** Recalcula el tamaño y el mínimo de {@code rama} a partir de sus hijos. */
+    private void recalcular(Rama<T> rama) {
+        rama.tamanno = tamanno(rama.izquierda) + tamanno(rama.derecha) + 1;
+        if (clave != null) {
+            int minimo = rama.valor;
+            if (rama.izquierda != null) {
+                minimo = Math.min(minimo, rama.izquierda.minimo);
+            }
+            if (rama.derecha != null) {
+                minimo = Math.min(minimo, rama.derecha.minimo);
+            }
+            rama.minimo = minimo;
+        }
+    }
+
+    /** Relee la clave de todos los nodos del subárbol y recalcula sus mínimos. */
+    private void recalcularSubarbol(Rama<T> rama) {
+        if (rama == null) {
+            return;
+        }
+        recalcularSubarbol(rama.izquierda);
+        recalcularSubarbol(rama.derecha);
+        if (clave != null) {
+            rama.valor = clave.applyAsInt(rama.nodo.getDato());
+        }
+        recalcular(rama);
+    }
+
+    // Las consultas de rango reciben posiciones relativas al subárbol.
+
+    private static <T> int minimo(Rama<T> rama, int desde, int hasta) {
+        if (rama == null || hasta < 0 || desde >= rama.tamanno || desde > hasta) {
+            return Integer.MAX_VALUE;
+        }
+        if (desde <= 0 && hasta >= rama.tamanno - 1) {
+            return rama.minimo;
+        }
+        int izquierda = tamanno(rama.izquierda);
+        int minimo = minimo(rama.izquierda, desde, hasta);
+        if (desde <= izquierda && izquierda <= hasta) {
+            minimo = Math.min(minimo, rama.valor);
+        }
+        return Math.min(minimo, minimo(rama.derecha, desde - izquierda - 1, hasta - izquierda - 1));
+    }
+
+    private static <T> Rama<T> primeroHasta(Rama<T> rama, int desde, int hasta, int valor) {
+        if (rama == null || hasta < 0 || desde >= rama.tamanno || rama.minimo > valor) {
+            return null;
+        }
+        int izquierda = tamanno(rama.izquierda);
+        Rama<T> encontrada = primeroHasta(rama.izquierda, desde, hasta, valor);
+        if (encontrada != null) {
+            return encontrada;
+        }
+        if (desde <= izquierda && izquierda <= hasta && rama.valor <= valor) {
+            return rama;
+        }
+        return primeroHasta(rama.derecha, desde - izquierda - 1, hasta - izquierda - 1, valor);
+    }
+
+    private static <T> Rama<T> ultimoHasta(Rama<T> rama, int desde, int hasta, int valor) {
+        if (rama == null || hasta < 0 || desde >= rama.tamanno || rama.minimo > valor) {
+            return null;
+        }
+        int izquierda = tamanno(rama.izquierda);
+        Rama<T> encontrada = ultimoHasta(rama.derecha, desde - izquierda - 1, hasta - izquierda - 1, valor);
+        if (encontrada != null) {
+            return encontrada;
+        }
+        if (desde <= izquierda && izquierda <= hasta && rama.valor <= valor) {
+            return rama;
+        }
+        return ultimoHasta(rama.izquierda, desde, hasta, valor);
+    }
+
+    private int siguientePrioridad() {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 17;
+        semilla ^= semilla << 5;
+        return semilla;
+    }
+}
@@ -0,0 +1,372 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bitácora de eventos del juego, con niveles, que sustituye a los {@code System.out.println}
+ * del modelo y los controladores.
+ *
+ * Cada {@link Evento} tiene su {@link Nivel} y su formato; quien registra solo pasa los
+ * datos (pastores y enteros), sin construir texto. Si el nivel del evento está por debajo
+ * del configurado, {@code registrar} vuelve tras una comparación, sin reservar memoria ni
+ * materializar nombres. Los recorridos que solo existen para registrar (como listar la
+ * pila) deben protegerse con {@link #activo(Evento)}.
+ *
+ * Hay dos salidas: la síncrona escribe cada línea en {@code System.out} al registrarla; la
+ * asíncrona guarda los eventos en un anillo de tamaño fijo y un hilo aparte les da formato
+ * y los escribe con búfer. Si el anillo se llena, quien registra espera a que haya sitio:
+ * no se pierden eventos.
+ *
+ * La configuración inicial se lee de las propiedades del sistema {@code bitacora.nivel}
+ * (uno de {@link Nivel}, por defecto {@code INFO}) y {@code bitacora.asincrona}
+ * ({@code true} o {@code false}, por defecto {@code false}).
+ */
+public final class Bitacora {
+
+    /** Niveles de detalle, de más a menos verboso. */
+    public enum Nivel {
+        /** Detalle por comparación o por elemento recorrido. */
+        TRAZA,
+        /** Detalle por turno. */
+        DEPURACION,
+        /** Jugadas y resultado de la partida. */
+        INFO,
+        /** Situaciones anómalas que no detienen la partida. */
+        AVISO,
+        /** No registra nada. */
+        APAGADO
+    }
+
+    /** Formato de un evento a partir de sus datos. */
+    private interface Formato {
+        String aplicar(String sujeto, String objeto, String detalle, int a, int b);
+    }
+
+    /** Eventos del juego, con su nivel y su formato. */
+    public enum Evento {
+        /** Sujeto creado, con oficio (detalle), dinero (a) y creyentes (b). */
+        PASTOR_CREADO(Nivel.DEPURACION, (s, o, d, a, b) ->
+                "Creado pastor: " + s + " con oficio: " + d + ", dinero: " + a + ", creyentes: " + b),
+        /** Mesa creada con {@code a} pastores. */
+        MESA_CREADA(Nivel.INFO, (s, o, d, a, b) -> "Lista circular creada con " + a + " pastores."),
+        /** El pastor en turno ataca. */
+        ATAQUE(Nivel.DEPURACION, (s, o, d, a, b) -> "Atacando: " + s),
+        /** Sujeto con {@code a} creyentes pasa a ser el candidato frente a objeto con {@code b}. */
+        COMPARACION(Nivel.TRAZA, (s, o, d, a, b) ->
+                "Comparando: " + s + " (" + a + " creyentes) < " + o + " (" + b + " creyentes)"),
+        /** Vecino eliminado, con creyentes (a) y dinero (b). */
+        VECINO_ELIMINADO(Nivel.INFO, (s, o, d, a, b) ->
+                "Eliminando vecino: " + s + " con creyentes: " + a + ", dinero: " + b),
+        /** Pastor con menos feligreses eliminado, con creyentes (a) y dinero (b). */
+        PASTOR_ELIMINADO(Nivel.INFO, (s, o, d, a, b) ->
+                "Eliminando pastor: " + s + " con creyentes: " + a + ", dinero: " + b),
+        /** Un pastor de la pila. */
+        PILA(Nivel.TRAZA, (s, o, d, a, b) -> "Pila contiene: " + s),
+        /** Pastor sacado de la pila. */
+        SALIDA_PILA(Nivel.DEPURACION, (s, o, d, a, b) -> "Sacando de la pila a: " + s),
+        /** Pastor resucitado, con creyentes (a) y dinero (b). */
+        PASTOR_RESUCITADO(Nivel.INFO, (s, o, d, a, b) ->
+                "Resucitando pastor: " + s + " con creyentes: " + a + ", dinero: " + b),
+        /** El turno pasa de sujeto a objeto en la dirección indicada (detalle). */
+        CAMBIO_TURNO(Nivel.DEPURACION, (s, o, d, a, b) -> "Cambiando turno en dirección " + d + ": " + s + " -> " + o),
+        /** Reorganización de la mesa (detalle). */
+        REORGANIZACION(Nivel.DEPURACION, (s, o, d, a, b) -> d),
+        /** La mesa no admite una disposición sin oficios repetidos entre vecinos. */
+        MESA_SIN_SOLUCION(Nivel.AVISO, (s, o, d, a, b) ->
+                "No es posible sentar a los pastores sin repetir oficio entre vecinos"),
+        /** Fin de la partida con sujeto como ganador. */
+        FIN_JUEGO(Nivel.INFO, (s, o, d, a, b) -> "Juego terminado. Ganador: " + s),
+        /** Contenido de una lista (detalle). */
+        LISTA(Nivel.INFO, (s, o, d, a, b) -> d);
+
+        private final Nivel nivel;
+        private final Formato formato;
+
+        Evento(Nivel nivel, Formato formato) {
+            this.nivel = nivel;
+            this.formato = formato;
+        }
+
+        public Nivel getNivel() {
+            return nivel;
+        }
+
+        String formatear(Pastor sujeto, Pastor objeto, String detalle, int a, int b) {
+            return formato.aplicar(sujeto == null ? null : sujeto.getNombre(),
+                    objeto == null ? null : objeto.getNombre(), detalle, a, b);
+        }
+    }
+
+    /** Eventos que caben en el anillo de la salida asíncrona (potencia de dos). */
+    private static final int CAPACIDAD_ANILLO = 1 << 14;
+
+    /** Ordinal del nivel mínimo que se registra. */
+    private static volatile int minimo;
+
+    /** Salida asíncrona, o {@code null} si se escribe directamente. */
+    private static volatile Anillo anillo;
+
+    static {
+        String nivel = System.getProperty("bitacora.nivel", Nivel.INFO.name());
+        configurar(Nivel.valueOf(nivel.toUpperCase()), Boolean.getBoolean("bitacora.asincrona"));
+    }
+
+    private Bitacora() {
+    }
+
+    /**
+     * Cambia el nivel mínimo y la salida. Antes de cambiar de salida se escriben los
+     * eventos pendientes.
+     *
+     * @param nivel     nivel mínimo que se registra ({@link Nivel#APAGADO} para ninguno)
+     * @param asincrona {@code true} para escribir desde un hilo aparte
+     */
+    public static synchronized void configurar(Nivel nivel, boolean asincrona) {
+        minimo = nivel.ordinal();
+        Anillo actual = anillo;
+        if (asincrona == (actual != null)) {
+            return;
+        }
+        // Nunca hay dos anillos: el anterior termina (con su hilo y su gancho de cierre)
+        // antes de crear otro
+        if (actual != null) {
+            anillo = null;
+            actual.cerrar();
+        }
+        if (asincrona) {
+            anillo = new Anillo(CAPACIDAD_ANILLO);
+        }
+    }
+
+    /**
+     * @return el nivel mínimo que se registra
+     */
+    public static Nivel getNivel() {
+        return Nivel.values()[minimo];
+    }
+
+    /**
+     * @param evento un evento
+     * @return {@code true} si ese evento se registraría
+     */
+    public static boolean activo(Evento evento) {
+        return evento.nivel.ordinal() >= minimo;
+    }
+
+    public static void registrar(Evento evento) {
+        registrar(evento, null, null, null, 0, 0);
+    }
+
+    public static void registrar(Evento evento, String detalle) {
+        registrar(evento, null, null, detalle, 0, 0);
+    }
+
+    public static void registrar(Evento evento, int a) {
+        registrar(evento, null, null, null, a, 0);
+    }
+
+    public static void registrar(Evento evento, Pastor sujeto) {
+        registrar(evento, sujeto, null, null, 0, 0);
+    }
+
+    public static void registrar(Evento evento, Pastor sujeto, int a, int b) {
+        registrar(evento, sujeto, null, null, a, b);
+    }
+
+    /**
+     * Registra un evento si su nivel está activo. Los nombres de los pastores se leen
+     * al dar formato al evento (en la salida asíncrona, desde su hilo).
+     *
+     * @param evento  el evento
+     * @param sujeto  pastor principal, o {@code null}
+     * @param objeto  pastor secundario, o {@code null}
+     * @param detalle texto adicional, o {@code null}
+     * @param a       primer valor numérico
+     * @param b       segundo valor numérico
+     */
+    public static void registrar(Evento evento, Pastor sujeto, Pastor objeto, String detalle, int a, int b) {
+        if (evento.nivel.ordinal() < minimo) {
+            return;
+        }
+        Anillo destino = anillo;
+        if (destino == null) {
+            escribir(evento, sujeto, objeto, detalle, a, b);
+        } else {
+            destino.publicar(evento, sujeto, objeto, detalle, a, b);
+        }
+    }
+
+    /** Salida síncrona: da formato al evento y lo escribe en {@code System.out}. */
+    private static void escribir(Evento evento, Pastor sujeto, Pastor objeto, String detalle, int a, int b) {
+        System.out.println(evento.formatear(sujeto, objeto, detalle, a, b));
+    }
+
+    /**
+     * Espera a que la salida asíncrona haya escrito todos los eventos registrados hasta ahora.
+     */
+    public static void vaciar() {
+        Anillo destino = anillo;
+        if (destino != null) {
+            destino.vaciar();
+        }
+    }
+
+    /**
+     * Anillo de eventos con varios productores y un consumidor. Cada casilla guarda los
+     * datos de un evento en arreglos paralelos; {@code publicados[i]} vale la secuencia
+     * del evento más uno cuando la casilla está lista para el consumidor.
+     *
+     * Sin eventos, el consumidor se bloquea con {@link LockSupport#park()}: antes marca
+     * {@code dormido} y vuelve a mirar la casilla siguiente, y cada productor, tras publicar,
+     * lo despierta si lo ve marcado. Como las dos comprobaciones van después de escribir
+     * (la marca uno, la casilla el otro), al menos uno ve lo que escribió el otro y no se
+     * pierde ningún despertar.
+     *
+     * Si el anillo ya no tiene consumidor (porque {@code configurar} lo cerró mientras se
+     * publicaba, o porque su hilo murió), quien publica escribe el evento él mismo por la
+     * salida síncrona en lugar de esperar a un hilo que no va a llegar.
+     */
+    private static final class Anillo implements Runnable {
+
+        /** Pausa de {@link #vaciar()} mientras espera al consumidor. */
+        private static final long ESPERA_NANOS = 200_000;
+
+        private final int mascara;
+        private final Evento[] eventos;
+        private final Pastor[] sujetos;
+        private final Pastor[] objetos;
+        private final String[] detalles;
+        private final int[] valoresA;
+        private final int[] valoresB;
+        private final AtomicLongArray publicados;
+        private final AtomicLong reservados = new AtomicLong();
+        private volatile long consumidos;
+        private volatile boolean cerrado;
+        /** El consumidor está (o va a estar) bloqueado esperando eventos. */
+        private volatile boolean dormido;
+        private final PrintStream salida = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false,
+                Charset.defaultCharset());
+        private final Thread hilo;
+        private final Thread gancho = new Thread(this::vaciar, "bitacora-cierre");
+
+        Anillo(int capacidad) {
+            mascara = capacidad - 1;
+            eventos = new Evento[capacidad];
+            sujetos = new Pastor[capacidad];
+            objetos = new Pastor[capacidad];
+            detalles = new String[capacidad];
+            valoresA = new int[capacidad];
+            valoresB = new int[capacidad];
+            publicados = new AtomicLongArray(capacidad);
+            hilo = new Thread(this, "bitacora");
+            hilo.setDaemon(true);
+            hilo.start();
+            Runtime.getRuntime().addShutdownHook(gancho);
+        }
+
+        void publicar(Evento evento, Pastor sujeto, Pastor objeto, String detalle, int a, int b) {
+            if (cerrado) {
+                escribir(evento, sujeto, objeto, detalle, a, b);
+                return;
+            }
+            long secuencia = reservados.getAndIncrement();
+            while (secuencia - consumidos > mascara) {
+                if (!hilo.isAlive()) {
+                    escribir(evento, sujeto, objeto, detalle, a, b);
+                    return;
+                }
+                LockSupport.unpark(hilo);
+                Thread.onSpinWait();
+            }
+            int i = (int) (secuencia & mascara);
+            eventos[i] = evento;
+            sujetos[i] = sujeto;
+            objetos[i] = objeto;
+            detalles[i] = detalle;
+            valoresA[i] = a;
+            valoresB[i] = b;
+            publicados.set(i, secuencia + 1);
+            if (dormido) {
+                LockSupport.unpark(hilo);
+            }
+            if (cerrado) {
+                // El anillo se cerró mientras se publicaba: el consumidor puede haber
+                // terminado sin ver este evento
+                while (consumidos <= secuencia) {
+                    if (!hilo.isAlive()) {
+                        if (consumidos <= secuencia) {
+                            escribir(evento, sujeto, objeto, detalle, a, b);
+                        }
+                        return;
+                    }
+                    LockSupport.unpark(hilo);
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            long siguiente = 0;
+            while (true) {
+                int i = (int) (siguiente & mascara);
+                if (publicados.get(i) == siguiente + 1) {
+                    try {
+                        salida.println(eventos[i].formatear(sujetos[i], objetos[i], detalles[i], valoresA[i], valoresB[i]));
+                    } catch (RuntimeException e) {
+                        // Un evento que no se puede formatear no debe dejar al anillo sin consumidor
+                        salida.println("Evento " + eventos[i] + " sin formato: " + e);
+                    }
+                    sujetos[i] = null;
+                    objetos[i] = null;
+                    detalles[i] = null;
+                    consumidos = ++siguiente;
+                } else {
+                    salida.flush();
+                    if (cerrado && reservados.get() == siguiente) {
+                        return;
+                    }
+                    dormido = true;
+                    if (publicados.get(i) != siguiente + 1 && !cerrado) {
+                        LockSupport.park(this);
+                    }
+                    dormido = false;
+                }
+            }
+        }
+
+        void vaciar() {
+            long hasta = reservados.get();
+            while (consumidos < hasta && hilo.isAlive()) {
+                LockSupport.unpark(hilo);
+                LockSupport.parkNanos(ESPERA_NANOS);
+            }
+            salida.flush();
+        }
+
+        /** Escribe lo pendiente, termina el consumidor y quita el gancho de cierre. */
+        void cerrar() {
+            vaciar();
+            cerrado = true;
+            LockSupport.unpark(hilo);
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                Runtime.getRuntime().removeShutdownHook(gancho);
+            } catch (IllegalStateException e) {
+                // La máquina virtual ya se está cerrando y el gancho corre o ya corrió
+            }
+        }
+    }
+}
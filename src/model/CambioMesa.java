@@ -0,0 +1,112 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Cambio de un asiento de la mesa, tal como lo avisa {@link ObservadorLista}: la vista
+ * los aplica en orden sobre su copia de los asientos en lugar de recibir la mesa entera.
+ */
+public final class CambioMesa {
+
+    /** Clase de cambio. */
+    public enum Tipo { INSERTADO, ELIMINADO, MOVIDO }
+
+    private final Tipo tipo;
+    private final int posicion;
+    private final int destino;
+    private final Pastor pastor;
+
+    private CambioMesa(Tipo tipo, int posicion, int destino, Pastor pastor) {
+        this.tipo = tipo;
+        this.posicion = posicion;
+        this.destino = destino;
+        this.pastor = pastor;
+    }
+
+    /** {@code pastor} se sentó en la posición {@code posicion}. */
+    public static CambioMesa insertado(int posicion, Pastor pastor) {
+        return new CambioMesa(Tipo.INSERTADO, posicion, posicion, pastor);
+    }
+
+    /** {@code pastor} dejó la posición {@code posicion}. */
+    public static CambioMesa eliminado(int posicion, Pastor pastor) {
+        return new CambioMesa(Tipo.ELIMINADO, posicion, posicion, pastor);
+    }
+
+    /** {@code pastor} pasó de la posición {@code desde} a {@code hasta}. */
+    public static CambioMesa movido(int desde, int hasta, Pastor pastor) {
+        return new CambioMesa(Tipo.MOVIDO, desde, hasta, pastor);
+    }
+
+    /**
+     * Aplica en orden {@code cambios} a una copia de los asientos. La copia debe mantener
+     * posiciones (ver {@link ListaCircularDoble#ListaCircularDoble(ListaCircular.TipoIndice, boolean)}):
+     * así cada cambio cuesta O(log n) esperado, en lugar de correr todos los asientos
+     * siguientes como en un arreglo.
+     *
+     * @param asientos copia de los asientos, en orden desde la cabeza
+     * @param cambios  cambios a aplicar
+     * @throws IllegalStateException si un cambio no cuadra con la copia
+     */
+    public static void aplicar(ListaCircularDoble<Pastor> asientos, List<CambioMesa> cambios) {
+        for (CambioMesa cambio : cambios) {
+            switch (cambio.tipo) {
+                case INSERTADO -> insertar(asientos, cambio.posicion, cambio.pastor);
+                case ELIMINADO -> asientos.desenlazar(comprobar(asientos, cambio));
+                case MOVIDO -> {
+                    asientos.desenlazar(comprobar(asientos, cambio));
+                    insertar(asientos, cambio.destino, cambio.pastor);
+                }
+            }
+        }
+    }
+
+    private static void insertar(ListaCircularDoble<Pastor> asientos, int posicion, Pastor pastor) {
+        if (posicion == asientos.getTamanno()) {
+            asientos.insertarAlFinal(pastor);
+        } else if (posicion == 0) {
+            asientos.insertarAlInicio(pastor);
+        } else {
+            asientos.insertarAntesDeNodo(asientos.nodoEnPosicion(posicion), pastor);
+        }
+    }
+
+    /** Nodo del asiento que deja el pastor del cambio, comprobando que está ahí. */
+    private static NodoDoble<Pastor> comprobar(ListaCircularDoble<Pastor> asientos, CambioMesa cambio) {
+        NodoDoble<Pastor> nodo = asientos.nodoEnPosicion(cambio.posicion);
+        if (nodo.getDato() != cambio.pastor) {
+            throw new IllegalStateException("Se esperaba a " + cambio.pastor.getNombre()
+                    + " en el asiento " + cambio.posicion + " y está " + nodo.getDato().getNombre());
+        }
+        return nodo;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return la posición afectada (la de origen en un movimiento)
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    /**
+     * @return la posición final de un movimiento; en los demás cambios, la misma que
+     *         {@link #getPosicion()}
+     */
+    public int getDestino() {
+        return destino;
+    }
+
+    public Pastor getPastor() {
+        return pastor;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "(" + posicion + (tipo == Tipo.MOVIDO ? "→" + destino : "") + ", "
+                + pastor.getNombre() + ")";
+    }
+}
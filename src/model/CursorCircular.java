@@ -0,0 +1,114 @@
+package model;
+
+/**
+ * Cursor persistente sobre un nodo de una {@link ListaCircularDoble}.
+ * Permite recorrer la lista y operar sobre la posición actual sin volver a
+ * buscar el dato: avanzar un paso o eliminar el nodo actual es O(1).
+ *
+ * El cursor sigue siendo válido mientras su nodo esté enlazado; como
+ * {@link ListaCircularDoble#moverDespuesDe(NodoDoble, NodoDoble)} y los demás
+ * métodos {@code mover*} conservan el objeto nodo, mover el dato a otra
+ * posición no invalida el cursor.
+ *
+ * @param <T> El tipo de elementos de la lista.
+ * @see ListaCircularDoble
+ */
+public class CursorCircular<T> {
+
+    /** Lista sobre la que se mueve el cursor. */
+    private final ListaCircularDoble<T> lista;
+    /** Nodo actual del cursor, o {@code null} si la lista estaba vacía. */
+    private NodoDoble<T> nodo;
+
+    /**
+     * Construye un cursor sobre {@code nodo}.
+     *
+     * @param lista La lista a la que pertenece el nodo.
+     * @param nodo El nodo inicial (puede ser {@code null}).
+     */
+    public CursorCircular(ListaCircularDoble<T> lista, NodoDoble<T> nodo) {
+        this.lista = lista;
+        this.nodo = nodo;
+    }
+
+    /**
+     * Construye un cursor sobre la cabeza de la lista.
+     *
+     * @param lista La lista a recorrer.
+     */
+    public CursorCircular(ListaCircularDoble<T> lista) {
+        this(lista, lista.getCabeza());
+    }
+
+    /**
+     * @return El nodo actual del cursor.
+     */
+    public NodoDoble<T> getNodo() {
+        return nodo;
+    }
+
+    /**
+     * Coloca el cursor sobre otro nodo de la misma lista.
+     * @param nodo El nuevo nodo actual.
+     */
+    public void setNodo(NodoDoble<T> nodo) {
+        this.nodo = nodo;
+    }
+
+    /**
+     * @return El dato del nodo actual, o {@code null} si no hay nodo.
+     */
+    public T getDato() {
+        return nodo == null ? null : nodo.getDato();
+    }
+
+    /**
+     * @return {@code true} si el nodo actual sigue enlazado en la lista.
+     */
+    public boolean estaEnlazado() {
+        return ListaCircularDoble.estaEnlazado(nodo);
+    }
+
+    /**
+     * Avanza el cursor {@code k} posiciones (negativo hacia atrás).
+     * Ver {@link ListaCircularDoble#avanzar(NodoDoble, int)}.
+     *
+     * @param k Número de posiciones.
+     * @return El dato del nuevo nodo actual.
+     */
+    public T avanzar(int k) {
+        nodo = lista.avanzar(nodo, k);
+        return nodo.getDato();
+    }
+
+    /**
+     * Avanza el cursor al nodo siguiente. O(1).
+     * @return El dato del nuevo nodo actual.
+     */
+    public T siguiente() {
+        nodo = nodo.getSiguiente();
+        return nodo.getDato();
+    }
+
+    /**
+     * Retrocede el cursor al nodo anterior. O(1).
+     * @return El dato del nuevo nodo actual.
+     */
+    public T anterior() {
+        nodo = nodo.getAnterior();
+        return nodo.getDato();
+    }
+
+    /**
+     * Elimina el nodo actual de la lista y deja el cursor sobre el nodo siguiente
+     * (o en {@code null} si la lista queda vacía). O(1).
+     *
+     * @return El dato eliminado.
+     */
+    public T eliminar() {
+        NodoDoble<T> siguiente = lista.getTamanno() > 1 ? nodo.getSiguiente() : null;
+        T dato = lista.desenlazar(nodo);
+        nodo = siguiente;
+        return dato;
+    }
+}
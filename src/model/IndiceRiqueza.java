@@ -0,0 +1,457 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice ordenado por dinero de los pastores sentados en una mesa.
+ *
+ * Es un treap cuya clave es (dinero, orden de llegada al índice) y cada subárbol guarda
+ * su tamaño, así que el más rico, el más pobre y el rango de un pastor se obtienen en
+ * O(log n) esperado y los {@code k} más ricos en O(k + log n).
+ *
+ * El índice se mantiene solo: {@link Pastor#setDinero(int)} avisa al índice en el que
+ * está el pastor. Quien sienta o levanta pastores de la mesa debe llamar a
+ * {@link #agregar(Pastor)} y {@link #quitar(Pastor)}. Un pastor pertenece a lo sumo a
+ * un índice. Los creyentes no forman parte de la clave, de modo que
+ * {@link Pastor#setCreyentes(int)} no reordena nada.
+ *
+ * Entre pastores con el mismo dinero se prefiere al que entró antes al índice, igual
+ * que un recorrido de la mesa desde la cabeza prefiere al primero que encuentra.
+ */
+public class IndiceRiqueza {
+
+    /** Nodo del treap asociado a un pastor. */
+    private static final class Rama {
+        final Pastor pastor;
+        final long secuencia;
+        final int prioridad;
+        /** Dinero con el que está colocada la rama (la clave). */
+        int dinero;
+        Rama izquierda;
+        Rama derecha;
+        Rama padre;
+        int tamanno = 1;
+
+        Rama(Pastor pastor, long secuencia, int prioridad) {
+            this.pastor = pastor;
+            this.secuencia = secuencia;
+            this.prioridad = prioridad;
+            this.dinero = pastor.getDinero();
+        }
+    }
+
+    private Rama raiz;
+    /** Rama de cada pastor del índice. */
+    private final Map<Pastor, Rama> ramas;
+    /** Orden de llegada del siguiente pastor. */
+    private long siguienteSecuencia;
+    /** Estado del generador xorshift de prioridades. */
+    private int semilla = 0x2545F491;
+
+    public IndiceRiqueza() {
+        ramas = new IdentityHashMap<>();
+    }
+
+    /**
+     * @param capacidad Número de pastores que se espera indexar, para no redimensionar
+     *                  la tabla de ramas al agregarlos.
+     */
+    public IndiceRiqueza(int capacidad) {
+        ramas = new IdentityHashMap<>(capacidad);
+    }
+
+    /**
+     * @return El número de pastores en el índice.
+     */
+    public int getTamanno() {
+        return tamanno(raiz);
+    }
+
+    /**
+     * @param pastor El pastor a buscar.
+     * @return {@code true} si el pastor está en este índice.
+     */
+    public boolean contiene(Pastor pastor) {
+        return ramas.containsKey(pastor);
+    }
+
+    /**
+     * Devuelve el orden de llegada de un pastor al índice, que decide los empates de
+     * dinero: entre dos pastores con el mismo dinero, el de orden menor es el más rico.
+     *
+     * @param pastor El pastor a buscar.
+     * @return Su orden de llegada, o -1 si no está en el índice.
+     */
+    public long ordenDeLlegada(Pastor pastor) {
+        Rama rama = ramas.get(pastor);
+        return rama == null ? -1 : rama.secuencia;
+    }
+
+    /**
+     * Agrega un pastor al índice. O(log n).
+     *
+     * @param pastor El pastor que se sienta en la mesa.
+     * @throws IllegalStateException si el pastor ya está en este u otro índice.
+     */
+    public void agregar(Pastor pastor) {
+        if (pastor.getIndiceRiqueza() != null) {
+            throw new IllegalStateException("El pastor ya pertenece a un índice de riqueza: " + pastor.getNombre());
+        }
+        Rama rama = new Rama(pastor, siguienteSecuencia++, siguientePrioridad());
+        ramas.put(pastor, rama);
+        pastor.setIndiceRiqueza(this);
+        enlazar(rama);
+    }
+
+    /**
+     * Agrega varios pastores en el orden indicado, como si se llamara a
+     * {@link #agregar(Pastor)} con cada uno. Si el índice está vacío el árbol se construye
+     * de una vez: se ordenan las claves y se monta el treap con una pila en O(n), en lugar
+     * de n inserciones de O(log n) con accesos dispersos a memoria.
+     *
+     * @param pastores Pastores en orden de llegada.
+     * @throws IllegalStateException si algún pastor ya está en este u otro índice.
+     */
+    public void agregarTodos(Pastor[] pastores) {
+        if (raiz != null) {
+            for (Pastor pastor : pastores) {
+                agregar(pastor);
+            }
+            return;
+        }
+        int n = pastores.length;
+        Rama[] porLlegada = new Rama[n];
+        // Dinero en los 32 bits altos y orden de llegada en los bajos: ordenar las claves
+        // ordena las ramas igual que comparar()
+        long[] claves = new long[n];
+        for (int i = 0; i < n; i++) {
+            Pastor pastor = pastores[i];
+            if (pastor.getIndiceRiqueza() != null) {
+                throw new IllegalStateException("El pastor ya pertenece a un índice de riqueza: " + pastor.getNombre());
+            }
+            Rama rama = new Rama(pastor, siguienteSecuencia++, siguientePrioridad());
+            ramas.put(pastor, rama);
+            pastor.setIndiceRiqueza(this);
+            porLlegada[i] = rama;
+            claves[i] = (long) rama.dinero << 32 | i;
+        }
+        Arrays.sort(claves);
+
+        // Árbol cartesiano por prioridad: la pila guarda el borde derecho del árbol
+        Rama[] borde = new Rama[n];
+        int tope = 0;
+        for (long clave : claves) {
+            Rama rama = porLlegada[(int) clave];
+            Rama ultima = null;
+            while (tope > 0 && borde[tope - 1].prioridad < rama.prioridad) {
+                ultima = borde[--tope];
+                cerrarSubarbol(ultima);
+            }
+            rama.izquierda = ultima;
+            if (ultima != null) {
+                ultima.padre = rama;
+            }
+            if (tope > 0) {
+                borde[tope - 1].derecha = rama;
+                rama.padre = borde[tope - 1];
+            }
+            borde[tope++] = rama;
+        }
+        while (tope > 0) {
+            cerrarSubarbol(borde[--tope]);
+        }
+        raiz = n == 0 ? null : borde[0];
+    }
+
+    /** Calcula el tamaño de una rama cuyos hijos ya tienen el suyo. */
+    private static void cerrarSubarbol(Rama rama) {
+        rama.tamanno = tamanno(rama.izquierda) + tamanno(rama.derecha) + 1;
+    }
+
+    /**
+     * Quita un pastor del índice. O(log n).
+     *
+     * @param pastor El pastor que se levanta de la mesa.
+     * @return {@code true} si el pastor estaba en el índice.
+     */
+    public boolean quitar(Pastor pastor) {
+        Rama rama = ramas.remove(pastor);
+        if (rama == null) {
+            return false;
+        }
+        desenlazar(rama);
+        pastor.setIndiceRiqueza(null);
+        return true;
+    }
+
+    /**
+     * Recoloca a un pastor cuyo dinero cambió. Lo llama {@link Pastor#setDinero(int)}.
+     *
+     * @param pastor El pastor modificado.
+     */
+    void actualizar(Pastor pastor) {
+        Rama rama = ramas.get(pastor);
+        if (rama == null || rama.dinero == pastor.getDinero()) {
+            return;
+        }
+        desenlazar(rama);
+        rama.dinero = pastor.getDinero();
+        enlazar(rama);
+    }
+
+    /**
+     * Quita todos los pastores del índice.
+     */
+    public void vaciar() {
+        for (Pastor pastor : ramas.keySet()) {
+            pastor.setIndiceRiqueza(null);
+        }
+        ramas.clear();
+        raiz = null;
+    }
+
+    /**
+     * Devuelve el pastor con más dinero. O(log n).
+     *
+     * @return El más rico, o {@code null} si el índice está vacío.
+     */
+    public Pastor obtenerMasRico() {
+        if (raiz == null) {
+            return null;
+        }
+        // El de mayor dinero y, entre iguales, el más antiguo: el primero con ese dinero
+        int maximo = extremoDerecho(raiz).dinero;
+        Rama actual = raiz;
+        Rama mejor = null;
+        while (actual != null) {
+            if (actual.dinero >= maximo) {
+                mejor = actual;
+                actual = actual.izquierda;
+            } else {
+                actual = actual.derecha;
+            }
+        }
+        return mejor.pastor;
+    }
+
+    /**
+     * Devuelve el pastor con menos dinero. O(log n).
+     *
+     * @return El más pobre, o {@code null} si el índice está vacío.
+     */
+    public Pastor obtenerMasPobre() {
+        if (raiz == null) {
+            return null;
+        }
+        return extremoIzquierdo(raiz).pastor;
+    }
+
+    /**
+     * Devuelve los {@code k} pastores más ricos, de más rico a más pobre. O(k + log n).
+     *
+     * @param k Número de pastores a devolver.
+     * @return Lista con a lo sumo {@code k} pastores.
+     */
+    public List<Pastor> obtenerMasRicos(int k) {
+        List<Pastor> resultado = new ArrayList<>(Math.min(k, getTamanno()));
+        if (raiz == null || k <= 0) {
+            return resultado;
+        }
+        // Grupos de igual dinero de mayor a menor; dentro de cada grupo, por orden de llegada
+        int restantes = k;
+        Rama actual = extremoDerecho(raiz);
+        while (actual != null && restantes > 0) {
+            Rama inicioGrupo = primeroConDinero(actual.dinero);
+            for (Rama r = inicioGrupo; r != null && r.dinero == actual.dinero && restantes > 0; r = sucesor(r)) {
+                resultado.add(r.pastor);
+                restantes--;
+            }
+            actual = predecesor(inicioGrupo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve cuántos pastores del índice tienen estrictamente más dinero que
+     * {@code pastor}: 0 para los más ricos. O(log n).
+     *
+     * @param pastor Un pastor del índice.
+     * @return Su rango, o -1 si no está en el índice.
+     */
+    public int rango(Pastor pastor) {
+        Rama rama = ramas.get(pastor);
+        if (rama == null) {
+            return -1;
+        }
+        int hastaDinero = 0; // pastores con dinero <= rama.dinero
+        Rama actual = raiz;
+        while (actual != null) {
+            if (actual.dinero <= rama.dinero) {
+                hastaDinero += tamanno(actual.izquierda) + 1;
+                actual = actual.derecha;
+            } else {
+                actual = actual.izquierda;
+            }
+        }
+        return getTamanno() - hastaDinero;
+    }
+
+    // --- Auxiliares ---
+
+    private static int tamanno(Rama rama) {
+        return rama == null ? 0 : rama.tamanno;
+    }
+
+    private static int comparar(Rama a, Rama b) {
+        int porDinero = Integer.compare(a.dinero, b.dinero);
+        return porDinero != 0 ? porDinero : Long.compare(a.secuencia, b.secuencia);
+    }
+
+    private static Rama extremoIzquierdo(Rama rama) {
+        while (rama.izquierda != null) {
+            rama = rama.izquierda;
+        }
+        return rama;
+    }
+
+    private static Rama extremoDerecho(Rama rama) {
+        while (rama.derecha != null) {
+            rama = rama.derecha;
+        }
+        return rama;
+    }
+
+    private static Rama sucesor(Rama rama) {
+        if (rama.derecha != null) {
+            return extremoIzquierdo(rama.derecha);
+        }
+        while (rama.padre != null && rama == rama.padre.derecha) {
+            rama = rama.padre;
+        }
+        return rama.padre;
+    }
+
+    private static Rama predecesor(Rama rama) {
+        if (rama.izquierda != null) {
+            return extremoDerecho(rama.izquierda);
+        }
+        while (rama.padre != null && rama == rama.padre.izquierda) {
+            rama = rama.padre;
+        }
+        return rama.padre;
+    }
+
+    /** Primera rama (la más antigua) con exactamente {@code dinero}; debe existir alguna. */
+    private Rama primeroConDinero(int dinero) {
+        Rama actual = raiz;
+        Rama mejor = null;
+        while (actual != null) {
+            if (actual.dinero >= dinero) {
+                if (actual.dinero == dinero) {
+                    mejor = actual;
+                }
+                actual = actual.izquierda;
+            } else {
+                actual = actual.derecha;
+            }
+        }
+        return mejor;
+    }
+
+    /** Cuelga {@code rama} en su lugar según la clave y la sube según su prioridad. */
+    private void enlazar(Rama rama) {
+        rama.izquierda = null;
+        rama.derecha = null;
+        rama.padre = null;
+        rama.tamanno = 1;
+        if (raiz == null) {
+            raiz = rama;
+            return;
+        }
+        Rama padre = raiz;
+        while (true) {
+            padre.tamanno++;
+            if (comparar(rama, padre) < 0) {
+                if (padre.izquierda == null) {
+                    padre.izquierda = rama;
+                    break;
+                }
+                padre = padre.izquierda;
+            } else {
+                if (padre.derecha == null) {
+                    padre.derecha = rama;
+                    break;
+                }
+                padre = padre.derecha;
+            }
+        }
+        rama.padre = padre;
+        while (rama.padre != null && rama.prioridad > rama.padre.prioridad) {
+            rotarArriba(rama);
+        }
+    }
+
+    /** Saca {@code rama} del árbol bajándola hasta que tenga a lo sumo un hijo. */
+    private void desenlazar(Rama rama) {
+        while (rama.izquierda != null && rama.derecha != null) {
+            Rama hijo = rama.izquierda.prioridad > rama.derecha.prioridad ? rama.izquierda : rama.derecha;
+            rotarArriba(hijo);
+        }
+        Rama hijo = rama.izquierda != null ? rama.izquierda : rama.derecha;
+        reemplazarEnPadre(rama, hijo);
+        for (Rama r = rama.padre; r != null; r = r.padre) {
+            r.tamanno--;
+        }
+        rama.padre = null;
+        rama.izquierda = null;
+        rama.derecha = null;
+    }
+
+    /** Pone {@code nueva} en el lugar que ocupaba {@code vieja} bajo su padre (o como raíz). */
+    private void reemplazarEnPadre(Rama vieja, Rama nueva) {
+        Rama padre = vieja.padre;
+        if (padre == null) {
+            raiz = nueva;
+        } else if (padre.izquierda == vieja) {
+            padre.izquierda = nueva;
+        } else {
+            padre.derecha = nueva;
+        }
+        if (nueva != null) {
+            nueva.padre = padre;
+        }
+    }
+
+    /** Rota {@code rama} sobre su padre, conservando el orden y los tamaños. */
+    private void rotarArriba(Rama rama) {
+        Rama padre = rama.padre;
+        reemplazarEnPadre(padre, rama);
+        if (padre.izquierda == rama) {
+            padre.izquierda = rama.derecha;
+            if (rama.derecha != null) {
+                rama.derecha.padre = padre;
+            }
+            rama.derecha = padre;
+        } else {
+            padre.derecha = rama.izquierda;
+            if (rama.izquierda != null) {
+                rama.izquierda.padre = padre;
+            }
+            rama.izquierda = padre;
+        }
+        padre.padre = rama;
+        padre.tamanno = tamanno(padre.izquierda) + tamanno(padre.derecha) + 1;
+        rama.tamanno = tamanno(rama.izquierda) + tamanno(rama.derecha) + 1;
+    }
+
+    private int siguientePrioridad() {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 17;
+        semilla ^= semilla << 5;
+        return semilla;
+    }
+}
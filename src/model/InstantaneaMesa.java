@@ -0,0 +1,281 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copia inmutable del estado visible de una partida: los pastores sentados, la pila y el
+ * pastor en turno.
+ *
+ * El hilo del juego la crea al terminar cada jugada y la vista la dibuja en el hilo de
+ * eventos de Swing sin tocar la mesa, que puede estar cambiando mientras tanto. Los
+ * asientos llegan de una de dos formas:
+ * <ul>
+ *   <li>completa ({@link #InstantaneaMesa(List, PilaPastores, Pastor)}): todos los asientos
+ *       en orden, para la primera publicación o tras reordenar la mesa;</li>
+ *   <li>por cambios ({@link #conCambios(List, List, PilaPastores, Pastor)}): solo los
+ *       {@link CambioMesa} desde la instantánea anterior, que la vista aplica sobre su
+ *       copia. Así el coste de cada jugada depende de lo que cambió y no del tamaño de la
+ *       mesa.</li>
+ * </ul>
+ * De la pila solo se copian las {@link #VENTANA_PILA} entradas de la cima, que son las que
+ * la vista puede mostrar, además de su tamaño. Como los {@link Pastor} siguen siendo
+ * mutables, la instantánea copia los datos que la vista muestra de ellos: los del pastor en
+ * turno y, para dibujar la mesa en bandas de color, el dinero de hasta
+ * {@link #MUESTRA_DINERO} asientos repartidos por la mesa, con su mínimo y su máximo.
+ *
+ * Varias instantáneas seguidas se juntan en una con {@link #seguidaDe(InstantaneaMesa)},
+ * para dibujar solo el resultado. Por eso una completa puede traer también cambios, que
+ * van después de sus asientos.
+ */
+public final class InstantaneaMesa {
+
+    /** Entradas de la cima de la pila que se copian en cada instantánea. */
+    public static final int VENTANA_PILA = 256;
+
+    /** Asientos cuyo dinero se copia en cada instantánea. */
+    public static final int MUESTRA_DINERO = 4096;
+
+    /** Instantánea de una mesa sin pastores. */
+    public static final InstantaneaMesa VACIA = new InstantaneaMesa(List.of(), new PilaPastores(), null);
+
+    /** Asientos en orden en la forma completa, o {@code null} si llegan por cambios. */
+    private final List<Pastor> asientos;
+    private final List<CambioMesa> cambios;
+    private final int numeroAsientos;
+    /** Últimas entradas de la pila, desde la más antigua. */
+    private final List<Pastor> pila;
+    private final int tamannoPila;
+
+    /** Dinero de los asientos {@code j * numeroAsientos / muestraDinero.length}. */
+    private final int[] muestraDinero;
+    private final int dineroMinimo;
+    private final int dineroMaximo;
+
+    private final Pastor turno;
+    private final int dineroTurno;
+    private final int creyentesTurno;
+    private final OficiosPastores oficioTurno;
+
+    /**
+     * Crea una instantánea completa.
+     *
+     * @param asientos pastores sentados, en orden desde la cabeza
+     * @param pila     pila de pastores desposeídos
+     * @param turno    pastor en turno, o {@code null}
+     */
+    public InstantaneaMesa(List<Pastor> asientos, PilaPastores pila, Pastor turno) {
+        this(copiar(asientos), List.of(), null, pila, turno);
+    }
+
+    /**
+     * @param sentados asientos de los que leer el número y la muestra de dinero si no
+     *                 llegan completos en {@code asientos}
+     */
+    private InstantaneaMesa(List<Pastor> asientos, List<CambioMesa> cambios, List<Pastor> sentados,
+            PilaPastores pila, Pastor turno) {
+        if (asientos != null) {
+            sentados = asientos;
+        }
+        this.asientos = asientos;
+        this.cambios = cambios;
+        this.numeroAsientos = sentados.size();
+        this.pila = copiar(pila.ultimos(VENTANA_PILA));
+        this.tamannoPila = pila.getTamanno();
+
+        muestraDinero = muestrear(sentados);
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (int dinero : muestraDinero) {
+            minimo = Math.min(minimo, dinero);
+            maximo = Math.max(maximo, dinero);
+        }
+        dineroMinimo = muestraDinero.length == 0 ? 0 : minimo;
+        dineroMaximo = muestraDinero.length == 0 ? 0 : maximo;
+
+        this.turno = turno;
+        dineroTurno = turno == null ? 0 : turno.getDinero();
+        creyentesTurno = turno == null ? 0 : turno.getCreyentes();
+        oficioTurno = turno == null ? null : turno.getOficio();
+    }
+
+    /**
+     * Instantánea con los asientos y cambios dados y el resto de {@code ultima}, que ya
+     * incluye esos cambios.
+     */
+    private InstantaneaMesa(List<Pastor> asientos, List<CambioMesa> cambios, InstantaneaMesa ultima) {
+        this.asientos = asientos;
+        this.cambios = cambios;
+        this.numeroAsientos = ultima.numeroAsientos;
+        this.pila = ultima.pila;
+        this.tamannoPila = ultima.tamannoPila;
+
+        this.muestraDinero = ultima.muestraDinero;
+        this.dineroMinimo = ultima.dineroMinimo;
+        this.dineroMaximo = ultima.dineroMaximo;
+
+        this.turno = ultima.turno;
+        this.dineroTurno = ultima.dineroTurno;
+        this.creyentesTurno = ultima.creyentesTurno;
+        this.oficioTurno = ultima.oficioTurno;
+    }
+
+    /**
+     * Crea una instantánea con los cambios de los asientos desde la anterior.
+     *
+     * @param cambios  cambios en el orden en que ocurrieron
+     * @param asientos pastores sentados tras aplicarlos (por ejemplo, la vista de la mesa);
+     *                 no se copian: solo se lee su número, para comprobar la copia de la
+     *                 vista, y el dinero de la muestra, por posición (O(log n) cada uno si
+     *                 la mesa mantiene posiciones)
+     * @param pila     pila de pastores desposeídos
+     * @param turno    pastor en turno, o {@code null}
+     * @return la instantánea
+     */
+    public static InstantaneaMesa conCambios(List<CambioMesa> cambios, List<Pastor> asientos,
+            PilaPastores pila, Pastor turno) {
+        return new InstantaneaMesa(null, List.copyOf(cambios), asientos, pila, turno);
+    }
+
+    /**
+     * Junta esta instantánea con la siguiente en una que lleva a la vista del estado
+     * anterior a esta al de {@code siguiente}. Si la siguiente es completa la reemplaza;
+     * si trae cambios, se añaden a los de esta, sea completa o no. Cuesta lo que suman los
+     * cambios de las dos, sin depender del tamaño de la mesa.
+     *
+     * @param siguiente instantánea publicada después de esta
+     * @return la instantánea que resume las dos
+     */
+    public InstantaneaMesa seguidaDe(InstantaneaMesa siguiente) {
+        if (siguiente.esCompleta()) {
+            return siguiente;
+        }
+        List<CambioMesa> todos = new ArrayList<>(cambios.size() + siguiente.cambios.size());
+        todos.addAll(cambios);
+        todos.addAll(siguiente.cambios);
+        return new InstantaneaMesa(asientos, Collections.unmodifiableList(todos), siguiente);
+    }
+
+    private static List<Pastor> copiar(List<Pastor> pastores) {
+        return Collections.unmodifiableList(Arrays.asList(pastores.toArray(new Pastor[0])));
+    }
+
+    /**
+     * Lee el dinero de hasta {@link #MUESTRA_DINERO} asientos repartidos por igual: todos
+     * recorriéndolos si caben, o cada uno por su posición si no.
+     */
+    private static int[] muestrear(List<Pastor> asientos) {
+        int n = asientos.size();
+        int[] muestra = new int[Math.min(n, MUESTRA_DINERO)];
+        if (muestra.length == n) {
+            int j = 0;
+            for (Pastor pastor : asientos) {
+                muestra[j++] = pastor.getDinero();
+            }
+        } else {
+            for (int j = 0; j < muestra.length; j++) {
+                muestra[j] = asientos.get((int) ((long) j * n / muestra.length)).getDinero();
+            }
+        }
+        return muestra;
+    }
+
+    /**
+     * @return {@code true} si trae todos los asientos y {@code false} si trae los cambios
+     */
+    public boolean esCompleta() {
+        return asientos != null;
+    }
+
+    /**
+     * @return los pastores sentados, en orden desde la cabeza, antes de aplicar
+     *         {@link #getCambios()} (no modificable)
+     * @throws IllegalStateException si la instantánea trae solo los cambios
+     */
+    public List<Pastor> getAsientos() {
+        if (asientos == null) {
+            throw new IllegalStateException("La instantánea solo trae los cambios de los asientos");
+        }
+        return asientos;
+    }
+
+    /**
+     * @return los cambios desde la instantánea anterior o, si es completa, los que van
+     *         después de sus asientos (vacío si no hay)
+     */
+    public List<CambioMesa> getCambios() {
+        return cambios;
+    }
+
+    /**
+     * @return el número de pastores sentados
+     */
+    public int getNumeroAsientos() {
+        return numeroAsientos;
+    }
+
+    /**
+     * @return las últimas {@link #VENTANA_PILA} entradas de la pila (o todas, si hay
+     *         menos), desde la más antigua (no modificable)
+     */
+    public List<Pastor> getPila() {
+        return pila;
+    }
+
+    /**
+     * @return el número total de pastores en la pila
+     */
+    public int getTamannoPila() {
+        return tamannoPila;
+    }
+
+    /**
+     * @return el número de asientos cuyo dinero trae la instantánea
+     */
+    public int getTamannoMuestra() {
+        return muestraDinero.length;
+    }
+
+    /**
+     * @param j entrada de la muestra, entre 0 y {@link #getTamannoMuestra()} - 1
+     * @return el dinero que tenía el asiento {@code j * getNumeroAsientos() / getTamannoMuestra()}
+     */
+    public int getDineroMuestra(int j) {
+        return muestraDinero[j];
+    }
+
+    /**
+     * @return el menor dinero de la muestra (0 si la mesa está vacía)
+     */
+    public int getDineroMinimo() {
+        return dineroMinimo;
+    }
+
+    /**
+     * @return el mayor dinero de la muestra (0 si la mesa está vacía)
+     */
+    public int getDineroMaximo() {
+        return dineroMaximo;
+    }
+
+    /**
+     * @return el pastor en turno, o {@code null}
+     */
+    public Pastor getTurno() {
+        return turno;
+    }
+
+    public int getDineroTurno() {
+        return dineroTurno;
+    }
+
+    public int getCreyentesTurno() {
+        return creyentesTurno;
+    }
+
+    public OficiosPastores getOficioTurno() {
+        return oficioTurno;
+    }
+}
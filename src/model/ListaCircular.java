@@ -0,0 +1,184 @@
+package model;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones comunes de una lista circular doblemente enlazada, independientes
+ * de cómo se almacenen los enlaces.
+ *
+ * Implementaciones:
+ * <ul>
+ *   <li>{@link ListaCircularDoble}: un objeto {@link NodoDoble} por elemento.</li>
+ *   <li>{@link ListaCircularArreglo}: enlaces en arreglos {@code int[]} paralelos,
+ *       con menos memoria por elemento y recorridos más amigables con la caché.</li>
+ * </ul>
+ *
+ * @param <T> El tipo de elementos almacenados en la lista.
+ */
+public interface ListaCircular<T> {
+
+    /**
+     * Modo de indexación de los elementos de la lista.
+     */
+    enum TipoIndice {
+        /** Sin índice: las búsquedas recorren la lista, O(n). Permite elementos repetidos. */
+        NINGUNO,
+        /** Índice por {@code equals()}/{@code hashCode()}: búsquedas O(1), elementos únicos. */
+        IGUALDAD,
+        /** Índice por identidad ({@code ==}): búsquedas O(1), cada objeto a lo sumo una vez. */
+        IDENTIDAD
+    }
+
+    /**
+     * Implementaciones disponibles, para elegir una mediante {@link #crear(Implementacion, TipoIndice)}.
+     */
+    enum Implementacion {
+        /** {@link ListaCircularDoble}. */
+        NODOS,
+        /** {@link ListaCircularArreglo}. */
+        ARREGLO
+    }
+
+    /**
+     * Crea una lista vacía de la implementación indicada.
+     *
+     * @param <T> El tipo de elementos.
+     * @param implementacion La implementación a usar.
+     * @param tipoIndice El modo de indexación.
+     * @return La lista creada.
+     */
+    static <T> ListaCircular<T> crear(Implementacion implementacion, TipoIndice tipoIndice) {
+        return switch (implementacion) {
+            case NODOS -> new ListaCircularDoble<>(tipoIndice);
+            case ARREGLO -> new ListaCircularArreglo<>(tipoIndice);
+        };
+    }
+
+    /** @return El número de elementos en la lista. */
+    int getTamanno();
+
+    /** @return {@code true} si la lista no tiene elementos. */
+    boolean estaVacia();
+
+    /** @return El modo de indexación de la lista. */
+    TipoIndice getTipoIndice();
+
+    /**
+     * Inserta un elemento al principio de la lista. O(1).
+     * @param dato El dato a insertar.
+     */
+    void insertarAlInicio(T dato);
+
+    /**
+     * Inserta un elemento al final de la lista. O(1).
+     * @param dato El dato a insertar.
+     */
+    void insertarAlFinal(T dato);
+
+    /**
+     * Alias de {@link #insertarAlFinal(Object)}.
+     * @param dato El dato a agregar al final.
+     */
+    void agregar(T dato);
+
+    /**
+     * Inserta {@code datoNuevo} justo después de la primera ocurrencia de {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @param datoNuevo El dato a insertar.
+     * @return {@code true} si {@code datoExistente} se encontró.
+     */
+    boolean insertarDespuesDe(T datoExistente, T datoNuevo);
+
+    /**
+     * Inserta {@code datoNuevo} justo antes de la primera ocurrencia de {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @param datoNuevo El dato a insertar.
+     * @return {@code true} si {@code datoExistente} se encontró.
+     */
+    boolean insertarAntesDe(T datoExistente, T datoNuevo);
+
+    /**
+     * Elimina y devuelve la cabeza. O(1).
+     * @return El dato eliminado.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    T eliminarAlInicio();
+
+    /**
+     * Elimina y devuelve el último elemento. O(1).
+     * @return El dato eliminado.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    T eliminarAlFinal();
+
+    /**
+     * Elimina la primera ocurrencia de {@code dato}.
+     * @param dato El dato a eliminar.
+     * @return {@code true} si se encontró y eliminó.
+     */
+    boolean eliminar(T dato);
+
+    /**
+     * Elimina el elemento que sigue a {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @return El dato eliminado, o {@code null} si no se pudo eliminar.
+     */
+    T eliminarDespuesDe(T datoExistente);
+
+    /**
+     * Elimina el elemento que precede a {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @return El dato eliminado, o {@code null} si no se pudo eliminar.
+     */
+    T eliminarAntesDe(T datoExistente);
+
+    /** Elimina todos los elementos. */
+    void borrarLista();
+
+    /**
+     * Copia superficial de la lista, con la misma implementación y modo de indexación.
+     * @return La copia.
+     */
+    ListaCircular<T> clonarLista();
+
+    /**
+     * @param datoActual El dato de referencia.
+     * @return El dato siguiente a {@code datoActual}, o {@code null} si no se encuentra.
+     */
+    T obtenerSiguiente(T datoActual);
+
+    /**
+     * @param datoActual El dato de referencia.
+     * @return El dato anterior a {@code datoActual}, o {@code null} si no se encuentra.
+     */
+    T obtenerAnterior(T datoActual);
+
+    /** @return El dato de la cabeza, o {@code null} si la lista está vacía. */
+    T obtenerPrimero();
+
+    /** @return El último dato, o {@code null} si la lista está vacía. */
+    T obtenerUltimo();
+
+    /**
+     * @param comparador Criterio de "más rico".
+     * @return El mayor elemento según {@code comparador}, o {@code null} si la lista está vacía.
+     */
+    T obtenerMasRico(Comparator<T> comparador);
+
+    /**
+     * @param dato El dato a buscar.
+     * @return {@code true} si la lista contiene {@code dato}.
+     */
+    boolean contiene(T dato);
+
+    /**
+     * Aplica {@code accion} a cada elemento, desde la cabeza y en orden.
+     * @param accion La acción a aplicar.
+     */
+    void recorrer(Consumer<? super T> accion);
+
+    /** Imprime la lista en la consola estándar. */
+    void imprimir();
+}
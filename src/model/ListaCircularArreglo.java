@@ -0,0 +1,674 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Lista circular doblemente enlazada almacenada en arreglos paralelos.
+ * En lugar de un objeto {@link NodoDoble} por elemento, cada elemento ocupa una
+ * posición ({@code int}) de tres arreglos: {@code datos}, {@code siguiente} y
+ * {@code anterior}. Las posiciones liberadas se encadenan en una lista de libres
+ * (a través de {@code siguiente}) y se reutilizan en las siguientes inserciones.
+ * <p>
+ * Sin índice ({@link ListaCircular.TipoIndice#NINGUNO}), frente a {@link ListaCircularDoble}
+ * ahorra la cabecera y las referencias de cada nodo (unos 12 bytes por elemento en lugar
+ * de unos 24, sin contar el dato) y los enlaces quedan contiguos en memoria; tras
+ * {@link #compactar()} el recorrido desde la cabeza lee los arreglos de forma secuencial.
+ * Con índice ese ahorro desaparece: cada elemento suma una entrada del mapa y su
+ * posición como {@link Integer}, más de lo que cuesta el {@link NodoDoble} que sustituye.
+ * <p>
+ * Las posiciones cumplen el papel de los nodos: los métodos que reciben una
+ * posición ({@link #desenlazar(int)}, {@link #insertarDespuesDePosicion(int, Object)},
+ * {@link #avanzar(int, int)}, ...) no buscan nada y son O(1).
+ *
+ * @param <T> El tipo de elementos almacenados en la lista.
+ * @see ListaCircularDoble
+ */
+public class ListaCircularArreglo<T> implements ListaCircular<T> {
+
+    /** Valor de posición que indica "ninguna posición". */
+    public static final int SIN_POSICION = -1;
+
+    /** Marca en {@code anterior} de una posición que está en la lista de libres. */
+    private static final int LIBRE = -2;
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /** Datos de cada posición ({@code null} en las posiciones libres). */
+    private Object[] datos;
+    /** Posición del siguiente elemento; en las posiciones libres, la siguiente libre. */
+    private int[] siguiente;
+    /** Posición del elemento anterior; {@link #LIBRE} en las posiciones libres. */
+    private int[] anterior;
+
+    /** Posición del último elemento, o {@link #SIN_POSICION} si la lista está vacía. */
+    private int ultimo;
+    /** Número actual de elementos en la lista. */
+    private int tamanno;
+    /** Primera posición de la lista de libres, o {@link #SIN_POSICION}. */
+    private int libre;
+    /** Posiciones {@code [0, usadas)} ya entregadas alguna vez. */
+    private int usadas;
+
+    /** Modo de indexación elegido al construir la lista. */
+    private final TipoIndice tipoIndice;
+    /** Índice de elemento a posición, o {@code null} si la lista no está indexada. */
+    private final Map<T, Integer> indice;
+
+    /**
+     * Construye una lista vacía sin índice.
+     */
+    public ListaCircularArreglo() {
+        this(TipoIndice.NINGUNO);
+    }
+
+    /**
+     * Construye una lista vacía con el modo de indexación indicado.
+     *
+     * @param tipoIndice el modo de indexación de los elementos.
+     */
+    public ListaCircularArreglo(TipoIndice tipoIndice) {
+        this(tipoIndice, CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una lista vacía con capacidad para {@code capacidad} elementos
+     * antes de tener que crecer.
+     *
+     * @param tipoIndice el modo de indexación de los elementos.
+     * @param capacidad capacidad inicial.
+     */
+    public ListaCircularArreglo(TipoIndice tipoIndice, int capacidad) {
+        int inicial = Math.max(1, capacidad);
+        this.datos = new Object[inicial];
+        this.siguiente = new int[inicial];
+        this.anterior = new int[inicial];
+        this.ultimo = SIN_POSICION;
+        this.tamanno = 0;
+        this.libre = SIN_POSICION;
+        this.usadas = 0;
+        this.tipoIndice = tipoIndice;
+        this.indice = switch (tipoIndice) {
+            case NINGUNO -> null;
+            case IGUALDAD -> new HashMap<>();
+            case IDENTIDAD -> new IdentityHashMap<>();
+        };
+    }
+
+    // --- Información Básica ---
+
+    /**
+     * @return El número de elementos en la lista.
+     */
+    @Override
+    public int getTamanno() {
+        return tamanno;
+    }
+
+    /**
+     * @return {@code true} si la lista no tiene elementos.
+     */
+    @Override
+    public boolean estaVacia() {
+        return tamanno == 0;
+    }
+
+    /**
+     * @return El modo de indexación elegido al construir la lista.
+     */
+    @Override
+    public TipoIndice getTipoIndice() {
+        return tipoIndice;
+    }
+
+    /**
+     * @return El número de posiciones reservadas en los arreglos.
+     */
+    public int getCapacidad() {
+        return datos.length;
+    }
+
+    // --- Acceso por Posición ---
+
+    /**
+     * @return La posición de la cabeza, o {@link #SIN_POSICION} si la lista está vacía.
+     */
+    public int getPosicionCabeza() {
+        return estaVacia() ? SIN_POSICION : siguiente[ultimo];
+    }
+
+    /**
+     * @return La posición del último elemento, o {@link #SIN_POSICION} si la lista está vacía.
+     */
+    public int getPosicionUltimo() {
+        return ultimo;
+    }
+
+    /**
+     * @param posicion Una posición ocupada.
+     * @return El dato almacenado en esa posición.
+     */
+    @SuppressWarnings("unchecked")
+    public T getDato(int posicion) {
+        return (T) datos[posicion];
+    }
+
+    /**
+     * @param posicion Una posición ocupada.
+     * @return La posición del elemento siguiente.
+     */
+    public int siguiente(int posicion) {
+        return siguiente[posicion];
+    }
+
+    /**
+     * @param posicion Una posición ocupada.
+     * @return La posición del elemento anterior.
+     */
+    public int anterior(int posicion) {
+        return anterior[posicion];
+    }
+
+    /**
+     * Indica si {@code posicion} contiene un elemento de la lista.
+     * @param posicion La posición a comprobar.
+     * @return {@code true} si la posición está ocupada.
+     */
+    public boolean estaOcupada(int posicion) {
+        return posicion >= 0 && posicion < usadas && anterior[posicion] != LIBRE;
+    }
+
+    /**
+     * Busca la primera posición que contiene {@code datoBusqueda}.
+     * O(n), u O(1) si la lista está indexada.
+     *
+     * @param datoBusqueda El dato a buscar.
+     * @return La posición encontrada, o {@link #SIN_POSICION}.
+     */
+    public int buscarPosicion(T datoBusqueda) {
+        if (indice != null) {
+            Integer posicion = indice.get(datoBusqueda);
+            return posicion == null ? SIN_POSICION : posicion;
+        }
+        int actual = getPosicionCabeza();
+        for (int i = 0; i < tamanno; i++) {
+            if (Objects.equals(datos[actual], datoBusqueda)) {
+                return actual;
+            }
+            actual = siguiente[actual];
+        }
+        return SIN_POSICION;
+    }
+
+    /**
+     * Devuelve la posición que está {@code k} lugares después de {@code posicion}
+     * ({@code k} negativo cuenta hacia atrás), por el camino más corto.
+     *
+     * @param posicion Una posición ocupada.
+     * @param k Número de lugares.
+     * @return La posición alcanzada.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    public int avanzar(int posicion, int k) {
+        if (estaVacia()) {
+            throw new NoSuchElementException("No se puede avanzar en una lista circular vacía.");
+        }
+        int pasos = Math.floorMod(k, tamanno);
+        int actual = posicion;
+        if (pasos <= tamanno - pasos) {
+            for (int i = 0; i < pasos; i++) {
+                actual = siguiente[actual];
+            }
+        } else {
+            for (int i = pasos; i < tamanno; i++) {
+                actual = anterior[actual];
+            }
+        }
+        return actual;
+    }
+
+    // --- Inserción ---
+
+    /**
+     * Inserta un elemento al principio de la lista (pasa a ser la cabeza).
+     * O(1) amortizado: puede hacer crecer los arreglos.
+     * @param dato El dato a insertar.
+     */
+    @Override
+    public void insertarAlInicio(T dato) {
+        int nueva = reservar(dato);
+        if (estaVacia()) {
+            enlazarUnico(nueva);
+        } else {
+            enlazarDespues(ultimo, nueva);
+        }
+    }
+
+    /**
+     * Inserta un elemento al final de la lista (pasa a ser el último).
+     * O(1) amortizado: puede hacer crecer los arreglos.
+     * @param dato El dato a insertar.
+     */
+    @Override
+    public void insertarAlFinal(T dato) {
+        int nueva = reservar(dato);
+        if (estaVacia()) {
+            enlazarUnico(nueva);
+        } else {
+            enlazarDespues(ultimo, nueva);
+            ultimo = nueva;
+        }
+    }
+
+    /**
+     * Alias de {@link #insertarAlFinal(Object)}.
+     * @param dato El dato a agregar al final.
+     */
+    @Override
+    public void agregar(T dato) {
+        insertarAlFinal(dato);
+    }
+
+    /**
+     * Inserta {@code datoNuevo} justo después de la primera ocurrencia de {@code datoExistente}.
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
+     * @param datoExistente El dato de referencia.
+     * @param datoNuevo El dato a insertar.
+     * @return {@code true} si {@code datoExistente} se encontró.
+     */
+    @Override
+    public boolean insertarDespuesDe(T datoExistente, T datoNuevo) {
+        int existente = buscarPosicion(datoExistente);
+        if (existente == SIN_POSICION) {
+            return false;
+        }
+        insertarDespuesDePosicion(existente, datoNuevo);
+        return true;
+    }
+
+    /**
+     * Inserta {@code datoNuevo} justo antes de la primera ocurrencia de {@code datoExistente}.
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
+     * @param datoExistente El dato de referencia.
+     * @param datoNuevo El dato a insertar.
+     * @return {@code true} si {@code datoExistente} se encontró.
+     */
+    @Override
+    public boolean insertarAntesDe(T datoExistente, T datoNuevo) {
+        int existente = buscarPosicion(datoExistente);
+        if (existente == SIN_POSICION) {
+            return false;
+        }
+        insertarAntesDePosicion(existente, datoNuevo);
+        return true;
+    }
+
+    /**
+     * Inserta {@code datoNuevo} justo después de {@code posicion}. O(1) amortizado.
+     *
+     * @param posicion Una posición ocupada.
+     * @param datoNuevo El dato a insertar.
+     * @return La posición del nuevo elemento.
+     */
+    public int insertarDespuesDePosicion(int posicion, T datoNuevo) {
+        int nueva = reservar(datoNuevo);
+        enlazarDespues(posicion, nueva);
+        if (posicion == ultimo) {
+            ultimo = nueva;
+        }
+        return nueva;
+    }
+
+    /**
+     * Inserta {@code datoNuevo} justo antes de {@code posicion}. O(1) amortizado.
+     *
+     * @param posicion Una posición ocupada.
+     * @param datoNuevo El dato a insertar.
+     * @return La posición del nuevo elemento.
+     */
+    public int insertarAntesDePosicion(int posicion, T datoNuevo) {
+        int nueva = reservar(datoNuevo);
+        enlazarDespues(anterior[posicion], nueva);
+        return nueva;
+    }
+
+    // --- Eliminación ---
+
+    /**
+     * Elimina y devuelve la cabeza; su posición queda libre. O(1).
+     * @return El dato eliminado.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    @Override
+    public T eliminarAlInicio() {
+        if (estaVacia()) {
+            throw new NoSuchElementException("No se puede eliminar de una lista circular vacía.");
+        }
+        return desenlazar(siguiente[ultimo]);
+    }
+
+    /**
+     * Elimina y devuelve el último elemento; su posición queda libre. O(1).
+     * @return El dato eliminado.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    @Override
+    public T eliminarAlFinal() {
+        if (estaVacia()) {
+            throw new NoSuchElementException("No se puede eliminar de una lista circular vacía.");
+        }
+        return desenlazar(ultimo);
+    }
+
+    /**
+     * Elimina la primera ocurrencia de {@code dato}.
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
+     * @param dato El dato a eliminar.
+     * @return {@code true} si se encontró y eliminó.
+     */
+    @Override
+    public boolean eliminar(T dato) {
+        int posicion = buscarPosicion(dato);
+        if (posicion == SIN_POSICION) {
+            return false;
+        }
+        desenlazar(posicion);
+        return true;
+    }
+
+    /**
+     * Elimina el elemento que sigue a {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @return El dato eliminado, o {@code null} si no se encuentra o la lista tiene un
+     *         solo elemento.
+     */
+    @Override
+    public T eliminarDespuesDe(T datoExistente) {
+        int existente = buscarPosicion(datoExistente);
+        if (existente == SIN_POSICION || tamanno <= 1) {
+            return null;
+        }
+        return desenlazar(siguiente[existente]);
+    }
+
+    /**
+     * Elimina el elemento que precede a {@code datoExistente}.
+     * @param datoExistente El dato de referencia.
+     * @return El dato eliminado, o {@code null} si no se encuentra o la lista tiene un
+     *         solo elemento.
+     */
+    @Override
+    public T eliminarAntesDe(T datoExistente) {
+        if (tamanno <= 1) {
+            return null;
+        }
+        int existente = buscarPosicion(datoExistente);
+        if (existente == SIN_POSICION) {
+            return null;
+        }
+        return desenlazar(anterior[existente]);
+    }
+
+    /**
+     * Quita el elemento de {@code posicion} y libera la posición para reutilizarla. O(1).
+     *
+     * @param posicion Una posición ocupada.
+     * @return El dato eliminado.
+     */
+    public T desenlazar(int posicion) {
+        T dato = getDato(posicion);
+        if (indice != null) {
+            indice.remove(dato);
+        }
+        if (tamanno == 1) {
+            ultimo = SIN_POSICION;
+        } else {
+            int ant = anterior[posicion];
+            int sig = siguiente[posicion];
+            siguiente[ant] = sig;
+            anterior[sig] = ant;
+            if (posicion == ultimo) {
+                ultimo = ant;
+            }
+        }
+        liberar(posicion);
+        tamanno--;
+        return dato;
+    }
+
+    // --- Otras Utilidades ---
+
+    /**
+     * Elimina todos los elementos. Conserva la capacidad de los arreglos y olvida todas
+     * las posiciones, que vuelven a entregarse desde 0.
+     */
+    @Override
+    public void borrarLista() {
+        Arrays.fill(datos, 0, usadas, null);
+        ultimo = SIN_POSICION;
+        tamanno = 0;
+        libre = SIN_POSICION;
+        usadas = 0;
+        if (indice != null) {
+            indice.clear();
+        }
+    }
+
+    /**
+     * Copia superficial de la lista, con el mismo modo de indexación. La copia queda
+     * compacta: sus elementos ocupan las posiciones {@code 0..n-1} en orden.
+     * @return La copia.
+     */
+    @Override
+    public ListaCircularArreglo<T> clonarLista() {
+        ListaCircularArreglo<T> clon = new ListaCircularArreglo<>(tipoIndice, Math.max(tamanno, 1));
+        recorrer(clon::insertarAlFinal);
+        return clon;
+    }
+
+    /**
+     * Reordena los arreglos para que los elementos ocupen las posiciones {@code 0..n-1}
+     * en el orden de la lista (desde la cabeza) y recorta la capacidad sobrante.
+     * Después, recorrer la lista lee la memoria de forma secuencial.
+     * Invalida todas las posiciones obtenidas antes de llamarlo. O(n).
+     */
+    public void compactar() {
+        int n = tamanno;
+        Object[] nuevosDatos = new Object[Math.max(n, 1)];
+        int actual = getPosicionCabeza();
+        for (int i = 0; i < n; i++) {
+            nuevosDatos[i] = datos[actual];
+            actual = siguiente[actual];
+        }
+        datos = nuevosDatos;
+        siguiente = new int[nuevosDatos.length];
+        anterior = new int[nuevosDatos.length];
+        for (int i = 0; i < n; i++) {
+            siguiente[i] = (i + 1) % n;
+            anterior[i] = (i + n - 1) % n;
+        }
+        ultimo = n == 0 ? SIN_POSICION : n - 1;
+        libre = SIN_POSICION;
+        usadas = n;
+        if (indice != null) {
+            indice.clear();
+            for (int i = 0; i < n; i++) {
+                indice.put(getDato(i), i);
+            }
+        }
+    }
+
+    /**
+     * @param datoActual El dato de referencia.
+     * @return El dato siguiente a {@code datoActual}, o {@code null} si no se encuentra.
+     */
+    @Override
+    public T obtenerSiguiente(T datoActual) {
+        int posicion = buscarPosicion(datoActual);
+        return posicion == SIN_POSICION ? null : getDato(siguiente[posicion]);
+    }
+
+    /**
+     * @param datoActual El dato de referencia.
+     * @return El dato anterior a {@code datoActual}, o {@code null} si no se encuentra.
+     */
+    @Override
+    public T obtenerAnterior(T datoActual) {
+        int posicion = buscarPosicion(datoActual);
+        return posicion == SIN_POSICION ? null : getDato(anterior[posicion]);
+    }
+
+    /**
+     * @return El dato de la cabeza, o {@code null} si la lista está vacía.
+     */
+    @Override
+    public T obtenerPrimero() {
+        return estaVacia() ? null : getDato(siguiente[ultimo]);
+    }
+
+    /**
+     * @return El último dato, o {@code null} si la lista está vacía.
+     */
+    @Override
+    public T obtenerUltimo() {
+        return estaVacia() ? null : getDato(ultimo);
+    }
+
+    /**
+     * Recorre la lista una vez desde la cabeza. O(n).
+     * @param comparador Criterio de "más rico".
+     * @return El mayor elemento según {@code comparador} (el primero si hay empate), o
+     *         {@code null} si la lista está vacía.
+     */
+    @Override
+    public T obtenerMasRico(Comparator<T> comparador) {
+        if (estaVacia()) {
+            return null;
+        }
+        int actual = siguiente[ultimo];
+        T mejor = getDato(actual);
+        for (int i = 0; i < tamanno; i++) {
+            T candidato = getDato(actual);
+            if (comparador.compare(candidato, mejor) > 0) {
+                mejor = candidato;
+            }
+            actual = siguiente[actual];
+        }
+        return mejor;
+    }
+
+    /**
+     * O(n), u O(1) si la lista está indexada.
+     * @param dato El dato a buscar.
+     * @return {@code true} si la lista contiene {@code dato}.
+     */
+    @Override
+    public boolean contiene(T dato) {
+        return buscarPosicion(dato) != SIN_POSICION;
+    }
+
+    /**
+     * Aplica {@code accion} a cada elemento, desde la cabeza y en orden.
+     * @param accion La acción a aplicar.
+     */
+    @Override
+    public void recorrer(Consumer<? super T> accion) {
+        int actual = getPosicionCabeza();
+        for (int i = 0; i < tamanno; i++) {
+            accion.accept(getDato(actual));
+            actual = siguiente[actual];
+        }
+    }
+
+    /**
+     * Registra el contenido de la lista en la {@link Bitacora} (evento
+     * {@link Bitacora.Evento#LISTA}), si ese evento está activo.
+     */
+    @Override
+    public void imprimir() {
+        if (!Bitacora.activo(Bitacora.Evento.LISTA)) {
+            return;
+        }
+        if (estaVacia()) {
+            Bitacora.registrar(Bitacora.Evento.LISTA, "Lista Circular Vacía");
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("HEAD -> ");
+        int actual = getPosicionCabeza();
+        for (int i = 0; i < tamanno; i++) {
+            sb.append(datos[actual]);
+            actual = siguiente[actual];
+            if (i < tamanno - 1) {
+                sb.append(" <-> ");
+            }
+        }
+        sb.append(" -> (HEAD)");
+        Bitacora.registrar(Bitacora.Evento.LISTA, sb.toString());
+    }
+
+    // --- Métodos Auxiliares Privados ---
+
+    /**
+     * Obtiene una posición libre (reutilizada o nueva), guarda el dato y lo indexa.
+     * La posición queda sin enlazar.
+     */
+    private int reservar(T dato) {
+        int posicion;
+        if (libre != SIN_POSICION) {
+            posicion = libre;
+            libre = siguiente[posicion];
+        } else {
+            if (usadas == datos.length) {
+                crecer();
+            }
+            posicion = usadas++;
+        }
+        if (indice != null && indice.putIfAbsent(dato, posicion) != null) {
+            liberar(posicion);
+            throw new IllegalArgumentException("El elemento ya está en la lista indexada: " + dato);
+        }
+        datos[posicion] = dato;
+        return posicion;
+    }
+
+    /** Devuelve {@code posicion} a la lista de libres. */
+    private void liberar(int posicion) {
+        datos[posicion] = null;
+        anterior[posicion] = LIBRE;
+        siguiente[posicion] = libre;
+        libre = posicion;
+    }
+
+    /** Duplica la capacidad de los tres arreglos. */
+    private void crecer() {
+        int nuevaCapacidad = Math.max(CAPACIDAD_INICIAL, datos.length * 2);
+        datos = Arrays.copyOf(datos, nuevaCapacidad);
+        siguiente = Arrays.copyOf(siguiente, nuevaCapacidad);
+        anterior = Arrays.copyOf(anterior, nuevaCapacidad);
+    }
+
+    /** Enlaza {@code posicion} como único elemento de una lista vacía. */
+    private void enlazarUnico(int posicion) {
+        siguiente[posicion] = posicion;
+        anterior[posicion] = posicion;
+        ultimo = posicion;
+        tamanno++;
+    }
+
+    /** Enlaza {@code nueva} justo después de {@code existente}; no actualiza {@code ultimo}. */
+    private void enlazarDespues(int existente, int nueva) {
+        int sig = siguiente[existente];
+        siguiente[nueva] = sig;
+        anterior[nueva] = existente;
+        siguiente[existente] = nueva;
+        anterior[sig] = nueva;
+        tamanno++;
+    }
+}
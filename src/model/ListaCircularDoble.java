@@ -1,9 +1,21 @@
 package model;
 
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Implementación de una lista enlazada doble y circular genérica.
@@ -13,13 +25,37 @@ import java.util.Objects;
  * lo que permite acceso O(1) a la cabeza ({@code ultimo.getSiguiente()}) y
  * operaciones O(1) de inserción al inicio y al final.
  * Utiliza la clase {@link NodoDoble}.
+ * <p>
+ * Opcionalmente la lista puede mantener un índice hash de elemento a nodo
+ * (ver {@link TipoIndice}); en ese modo {@link #buscarNodo(Object)} y todas las
+ * operaciones que parten de un dato existente pasan de O(n) a O(1), y los
+ * elementos deben ser únicos.
+ * <p>
+ * También puede mantener un árbol de posiciones ({@link ArbolPosiciones}); en ese
+ * modo {@link #avanzar(NodoDoble, int)}, {@link #posicionDe(NodoDoble)} y
+ * {@link #nodoEnPosicion(int)} son O(log n) para cualquier distancia, a cambio de
+ * que cada inserción y eliminación cueste O(log n). Con posiciones se puede además
+ * fijar una clave entera ({@link #setClaveMinimo(ToIntFunction)}) para buscar el
+ * mínimo de los {@code k} nodos vecinos de uno dado en O(log n)
+ * ({@link #minimoEnRango(NodoDoble, int)}).
+ * <p>
+ * Con una clave de vecindad ({@link #setClaveVecindad(Function)}) la lista
+ * lleva la cuenta de los pares de vecinos con la misma clave en cada cambio de enlaces,
+ * de modo que consultar cuántos hay y cuáles son es O(1).
+ * <p>
+ * Por último, la lista avisa de cada inserción, eliminación y movimiento, con su
+ * posición, a los {@link ObservadorLista} registrados, y ofrece una vista de solo lectura
+ * como {@link List} ({@link #vista()}) que siempre refleja su contenido actual. Calcular
+ * la posición de cada aviso es O(log n) con el árbol de posiciones y O(n) sin él; sin
+ * observadores no cuesta nada.
  *
  * @param <T> El tipo de elementos almacenados en la lista.
  * @see NodoDoble
+ * @see ListaCircularArreglo
  * @author devapps
  * @version 1.2
  */
-public class ListaCircularDoble<T> {
+public class ListaCircularDoble<T> implements ListaCircular<T> {
 
     /**
      * Referencia al último nodo de la lista circular.
@@ -32,13 +68,79 @@ public class ListaCircularDoble<T> {
     private NodoDoble<T> ultimo;
     /** Número actual de elementos en la lista. */
     private int tamanno;
+    /** Modo de indexación elegido al construir la lista. */
+    private final TipoIndice tipoIndice;
+    /**
+     * Índice de elemento a nodo, o {@code null} si la lista no está indexada.
+     * Se actualiza en cada inserción y eliminación.
+     */
+    private final Map<T, NodoDoble<T>> indice;
+    /**
+     * Árbol de estadísticas de orden sobre los nodos, o {@code null} si la lista
+     * no mantiene posiciones. Se actualiza en cada enlace y desenlace.
+     */
+    private final ArbolPosiciones<T> posiciones;
+    /**
+     * Clave que no debería repetirse entre vecinos, o {@code null} si la lista no
+     * cuenta conflictos de vecindad.
+     */
+    private Function<? super T, ?> claveVecindad;
+    /**
+     * Nodo izquierdo de cada par de vecinos con la misma clave de vecindad, o {@code null}
+     * si la lista no cuenta conflictos. Se actualiza en cada enlace y desenlace.
+     */
+    private Set<NodoDoble<T>> conflictos;
+    /** Observadores de los cambios, o {@code null} si no hay ninguno. */
+    private List<ObservadorLista<? super T>> observadores;
+    /** Cambios masivos en curso; mientras haya alguno no se avisa de cada cambio. */
+    private int cambiosMasivos;
+    /** Indica que se está moviendo un nodo, del que se avisa al terminar el movimiento. */
+    private boolean moviendo;
+    /** Vista de solo lectura, creada la primera vez que se pide. */
+    private List<T> vista;
+
+    /**
+     * Distancia a partir de la cual {@link #avanzar(NodoDoble, int)} consulta el árbol
+     * de posiciones en lugar de recorrer los enlaces.
+     */
+    private static final int UMBRAL_AVANCE_LINEAL = 64;
 
     /**
      * Construye una lista enlazada simple circular vacía.
      */
     public ListaCircularDoble() {
+        this(TipoIndice.NINGUNO);
+    }
+
+    /**
+     * Construye una lista circular vacía con el modo de indexación indicado.
+     * Con un índice, insertar un elemento que ya está en la lista lanza
+     * {@link IllegalArgumentException}, y los datos no deben cambiarse
+     * directamente con {@link NodoDoble#setDato(Object)}.
+     *
+     * @param tipoIndice el modo de indexación de los elementos.
+     */
+    public ListaCircularDoble(TipoIndice tipoIndice) {
+        this(tipoIndice, false);
+    }
+
+    /**
+     * Construye una lista circular vacía con el modo de indexación indicado y,
+     * opcionalmente, con un árbol de posiciones para avanzar {@code k} nodos en O(log n).
+     *
+     * @param tipoIndice el modo de indexación de los elementos.
+     * @param conPosiciones {@code true} para mantener el árbol de posiciones.
+     */
+    public ListaCircularDoble(TipoIndice tipoIndice, boolean conPosiciones) {
+        this.posiciones = conPosiciones ? new ArbolPosiciones<>() : null;
         this.ultimo = null;
         this.tamanno = 0;       
+        this.tipoIndice = tipoIndice;
+        this.indice = switch (tipoIndice) {
+            case NINGUNO -> null;
+            case IGUALDAD -> new HashMap<>();
+            case IDENTIDAD -> new IdentityHashMap<>();
+        };
     }
 
     // --- Información Básica y Acceso Interno ---
@@ -51,6 +153,22 @@ public class ListaCircularDoble<T> {
         return tamanno;
     }
 
+    /**
+     * Devuelve el modo de indexación de la lista.
+     * @return El {@link TipoIndice} elegido al construirla.
+     */
+    public TipoIndice getTipoIndice() {
+        return tipoIndice;
+    }
+
+    /**
+     * Indica si la lista mantiene un árbol de posiciones.
+     * @return {@code true} si {@link #avanzar(NodoDoble, int)} es O(log n).
+     */
+    public boolean tienePosiciones() {
+        return posiciones != null;
+    }
+
     /**
      * Comprueba si la lista está vacía.
      * @return {@code true} si la lista no tiene elementos, {@code false} en caso contrario.
@@ -77,7 +195,7 @@ public class ListaCircularDoble<T> {
      * @param dato El dato a insertar.
      */
     public void insertarAlInicio(T dato) {
-        NodoDoble<T> nuevoNodo = new NodoDoble<>(dato);
+        NodoDoble<T> nuevoNodo = crearNodo(dato);
         if (estaVacia()) {
             // Primer nodo: es el último y apunta a sí mismo en ambas direcciones
             this.ultimo = nuevoNodo;
@@ -95,6 +213,7 @@ public class ListaCircularDoble<T> {
             this.ultimo.setSiguiente(nuevoNodo);
         }
         this.tamanno++;
+        registrarEnlace(nuevoNodo);
     }
 
     /**
@@ -103,7 +222,7 @@ public class ListaCircularDoble<T> {
      * @param dato El dato a insertar.
      */
     public void insertarAlFinal(T dato) {
-        NodoDoble<T> nuevoNodo = new NodoDoble<>(dato);
+        NodoDoble<T> nuevoNodo = crearNodo(dato);
         if (estaVacia()) {
             // Primer nodo: es el último y apunta a sí mismo en ambas direcciones
             this.ultimo = nuevoNodo;
@@ -123,6 +242,7 @@ public class ListaCircularDoble<T> {
             this.ultimo = nuevoNodo;
         }
         this.tamanno++;
+        registrarEnlace(nuevoNodo);
     }
 
     /**
@@ -137,7 +257,7 @@ public class ListaCircularDoble<T> {
      * Inserta un nuevo elemento {@code datoNuevo} inmediatamente después de la primera
      * ocurrencia del nodo que contiene {@code datoExistente}.
      * Si {@code datoExistente} no se encuentra, la lista no se modifica.
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      *
      * @param datoExistente El dato del nodo referencia. Se compara usando {@code equals()}.
      * @param datoNuevo El dato a insertar.
@@ -148,21 +268,7 @@ public class ListaCircularDoble<T> {
         if (nodoExistente == null) {
             return false; // Nodo referencia no encontrado
         }
-
-        NodoDoble<T> nuevoNodo = new NodoDoble<>(datoNuevo);
-        NodoDoble<T> nodoSiguiente = nodoExistente.getSiguiente();
-        
-        // Enlazar el nuevo nodo después del existente
-        nuevoNodo.setSiguiente(nodoSiguiente);
-        nuevoNodo.setAnterior(nodoExistente);
-        nodoExistente.setSiguiente(nuevoNodo);
-        nodoSiguiente.setAnterior(nuevoNodo);
-
-        // Si insertamos después del que era el último nodo, el nuevo nodo es el nuevo último
-        if (nodoExistente == this.ultimo) {
-            this.ultimo = nuevoNodo;
-        }
-        this.tamanno++;
+        insertarDespuesDeNodo(nodoExistente, datoNuevo);
         return true;
     }
 
@@ -171,7 +277,7 @@ public class ListaCircularDoble<T> {
      * ocurrencia del nodo que contiene {@code datoExistente}.
      * Si {@code datoExistente} es la cabeza, equivale a {@link #insertarAlInicio(Object)}.
      * Si {@code datoExistente} no se encuentra, la lista no se modifica.
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      *
      * @param datoExistente El dato del nodo referencia. Se compara usando {@code equals()}.
      * @param datoNuevo El dato a insertar.
@@ -186,17 +292,7 @@ public class ListaCircularDoble<T> {
         if (nodoExistente == null) {
             return false; // No se encontró
         }
-
-        NodoDoble<T> nuevoNodo = new NodoDoble<>(datoNuevo);
-        NodoDoble<T> nodoAnterior = nodoExistente.getAnterior();
-        
-        // Enlazar el nuevo nodo antes del existente
-        nuevoNodo.setSiguiente(nodoExistente);
-        nuevoNodo.setAnterior(nodoAnterior);
-        nodoAnterior.setSiguiente(nuevoNodo);
-        nodoExistente.setAnterior(nuevoNodo);
-        
-        this.tamanno++;
+        insertarAntesDeNodo(nodoExistente, datoNuevo);
         return true;
     }
 
@@ -213,21 +309,7 @@ public class ListaCircularDoble<T> {
         if (estaVacia()) {
             throw new NoSuchElementException("No se puede eliminar de una lista circular vacía.");
         }
-
-        NodoDoble<T> cabeza = getCabeza(); // El nodo a eliminar
-        T datoEliminado = cabeza.getDato();
-
-        if (this.ultimo == cabeza) { // Si solo había un elemento
-            this.ultimo = null; // La lista queda vacía
-        } else {
-            NodoDoble<T> nuevaCabeza = cabeza.getSiguiente();
-            // El último nodo ahora apunta a la nueva cabeza
-            this.ultimo.setSiguiente(nuevaCabeza);
-            // La nueva cabeza apunta al último como anterior
-            nuevaCabeza.setAnterior(this.ultimo);
-        }
-        this.tamanno--;
-        return datoEliminado;
+        return desenlazar(getCabeza());
     }
 
     /**
@@ -241,28 +323,12 @@ public class ListaCircularDoble<T> {
         if (estaVacia()) {
             throw new NoSuchElementException("No se puede eliminar de una lista circular vacía.");
         }
-        if (this.tamanno == 1) { // Caso especial
-            return eliminarAlInicio();
-        }
-
-        T datoEliminado = this.ultimo.getDato();
-        NodoDoble<T> penultimo = this.ultimo.getAnterior();
-        NodoDoble<T> cabeza = this.ultimo.getSiguiente();
-        
-        // El penúltimo ahora apunta a la cabeza como siguiente
-        penultimo.setSiguiente(cabeza);
-        // La cabeza ahora apunta al penúltimo como anterior
-        cabeza.setAnterior(penultimo);
-        // El penúltimo se convierte en el nuevo 'ultimo'
-        this.ultimo = penultimo;
-        
-        this.tamanno--;
-        return datoEliminado;
+        return desenlazar(this.ultimo);
     }
 
     /**
      * Elimina la primera ocurrencia del elemento especificado {@code dato} de la lista.
-     * Utiliza {@code equals()} para la comparación. La búsqueda es O(n).
+     * Utiliza {@code equals()} para la comparación. La búsqueda es O(n), u O(1) si la lista está indexada.
      *
      * @param dato El dato del elemento a eliminar.
      * @return {@code true} si el elemento fue encontrado y eliminado, {@code false} en caso contrario.
@@ -277,25 +343,7 @@ public class ListaCircularDoble<T> {
         if (nodoAEliminar == null) {
             return false; // No se encontró
         }
-
-        // Caso especial: solo un elemento
-        if (this.tamanno == 1) {
-            this.ultimo = null;
-        } else {
-            NodoDoble<T> nodoAnterior = nodoAEliminar.getAnterior();
-            NodoDoble<T> nodoSiguiente = nodoAEliminar.getSiguiente();
-            
-            // Conectar el anterior con el siguiente
-            nodoAnterior.setSiguiente(nodoSiguiente);
-            nodoSiguiente.setAnterior(nodoAnterior);
-            
-            // Si el nodo eliminado era el último, actualizar la referencia
-            if (nodoAEliminar == this.ultimo) {
-                this.ultimo = nodoAnterior;
-            }
-        }
-        
-        this.tamanno--;
+        desenlazar(nodoAEliminar);
         return true;
     }
 
@@ -303,7 +351,7 @@ public class ListaCircularDoble<T> {
      * Elimina y devuelve el elemento que se encuentra inmediatamente después de la primera
      * ocurrencia del nodo que contiene {@code datoExistente}.
      * Si {@code datoExistente} no se encuentra, o si es el único nodo, no se elimina nada.
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      *
      * @param datoExistente El dato del nodo referencia. Se compara usando {@code equals()}.
      * @return El dato del nodo eliminado, o {@code null} si no se pudo realizar la eliminación.
@@ -315,29 +363,14 @@ public class ListaCircularDoble<T> {
         if (nodoExistente == null || this.tamanno <= 1) {
             return null;
         }
-
-        NodoDoble<T> nodoAEliminar = nodoExistente.getSiguiente();
-        T datoEliminado = nodoAEliminar.getDato();
-        
-        NodoDoble<T> nodoSiguienteDelEliminado = nodoAEliminar.getSiguiente();
-        
-        // Conectar nodoExistente con el siguiente del eliminado
-        nodoExistente.setSiguiente(nodoSiguienteDelEliminado);
-        nodoSiguienteDelEliminado.setAnterior(nodoExistente);
-
-        // Si el nodo eliminado era el 'ultimo', nodoExistente pasa a ser el nuevo 'ultimo'
-        if (nodoAEliminar == this.ultimo) {
-            this.ultimo = nodoExistente;
-        }
-        this.tamanno--;
-        return datoEliminado;
+        return desenlazar(nodoExistente.getSiguiente());
     }
 
     /**
      * Elimina y devuelve el elemento que se encuentra inmediatamente antes de la primera
      * ocurrencia del nodo que contiene {@code datoExistente}.
      * Requiere al menos dos nodos. 
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      *
      * @param datoExistente El dato del nodo referencia. Se compara usando {@code equals()}.
      * @return El dato del nodo eliminado, o {@code null} si no se pudo realizar la eliminación.
@@ -351,45 +384,551 @@ public class ListaCircularDoble<T> {
         if (nodoExistente == null) {
             return null; // No se encontró el nodo referencia
         }
+        return desenlazar(nodoExistente.getAnterior());
+    }
+
+    // --- Operaciones sobre Nodos (cursores) ---
+    // Reciben un nodo que el llamador ya tiene (por ejemplo, a través de un
+    // CursorCircular), así que no buscan nada: todas son O(1), salvo avanzar,
+    // que es O(min(k, n - k)).
+
+    /**
+     * Inserta {@code datoNuevo} inmediatamente después de {@code nodo}.
+     * Si {@code nodo} es el {@code ultimo}, el nuevo nodo pasa a serlo.
+     * Operación de tiempo constante O(1).
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @param datoNuevo El dato a insertar.
+     * @return El nodo creado.
+     */
+    public NodoDoble<T> insertarDespuesDeNodo(NodoDoble<T> nodo, T datoNuevo) {
+        NodoDoble<T> nuevoNodo = crearNodo(datoNuevo);
+        enlazarDespues(nodo, nuevoNodo);
+        return nuevoNodo;
+    }
 
-        NodoDoble<T> nodoAEliminar = nodoExistente.getAnterior();
-        T datoEliminado = nodoAEliminar.getDato();
-        
-        NodoDoble<T> nodoAnteriorDelEliminado = nodoAEliminar.getAnterior();
-        
-        // Conectar el anterior del eliminado con el nodo existente
-        nodoAnteriorDelEliminado.setSiguiente(nodoExistente);
-        nodoExistente.setAnterior(nodoAnteriorDelEliminado);
-        
-        // Si el nodo eliminado era el 'ultimo', actualizar la referencia
-        if (nodoAEliminar == this.ultimo) {
-            this.ultimo = nodoAnteriorDelEliminado;
-        }
-        
+    /**
+     * Inserta {@code datoNuevo} inmediatamente antes de {@code nodo}.
+     * Operación de tiempo constante O(1).
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @param datoNuevo El dato a insertar.
+     * @return El nodo creado.
+     */
+    public NodoDoble<T> insertarAntesDeNodo(NodoDoble<T> nodo, T datoNuevo) {
+        NodoDoble<T> nuevoNodo = crearNodo(datoNuevo);
+        enlazarAntes(nodo, nuevoNodo);
+        return nuevoNodo;
+    }
+
+    /**
+     * Desenlaza {@code nodo} de la lista y devuelve su dato.
+     * El nodo queda con sus enlaces en {@code null} (ver {@link #estaEnlazado(NodoDoble)})
+     * y puede volver a la lista con {@link #moverDespuesDe(NodoDoble, NodoDoble)},
+     * {@link #moverAntesDe(NodoDoble, NodoDoble)} o {@link #moverAlFinal(NodoDoble)}.
+     * Operación de tiempo constante O(1).
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @return El dato del nodo desenlazado.
+     */
+    public T desenlazar(NodoDoble<T> nodo) {
+        int posicion = avisar() ? posicionDe(nodo) : -1;
+        desindexar(nodo.getDato());
+        if (posiciones != null) {
+            posiciones.eliminar(nodo);
+        }
+        if (this.tamanno == 1) { // Caso especial: solo un elemento
+            this.ultimo = null;
+        } else {
+            NodoDoble<T> nodoAnterior = nodo.getAnterior();
+            NodoDoble<T> nodoSiguiente = nodo.getSiguiente();
+
+            // Conectar el anterior con el siguiente
+            nodoAnterior.setSiguiente(nodoSiguiente);
+            nodoSiguiente.setAnterior(nodoAnterior);
+
+            // Si el nodo eliminado era el último, actualizar la referencia
+            if (nodo == this.ultimo) {
+                this.ultimo = nodoAnterior;
+            }
+        }
+        if (conflictos != null) {
+            conflictos.remove(nodo);
+            if (this.ultimo != null) {
+                revisarPar(nodo.getAnterior());
+            }
+        }
+        nodo.setSiguiente(null);
+        nodo.setAnterior(null);
         this.tamanno--;
-        return datoEliminado;
+        if (posicion >= 0) {
+            for (ObservadorLista<? super T> observador : observadores) {
+                observador.eliminado(posicion, nodo.getDato());
+            }
+        }
+        return nodo.getDato();
+    }
+
+    /**
+     * Mueve {@code nodo} para que quede inmediatamente después de {@code destino},
+     * conservando el mismo objeto nodo. Si {@code nodo} ya estaba desenlazado,
+     * simplemente se vuelve a enlazar. Operación de tiempo constante O(1).
+     *
+     * @param nodo El nodo a mover.
+     * @param destino Un nodo enlazado de esta lista, distinto de {@code nodo}.
+     */
+    public void moverDespuesDe(NodoDoble<T> nodo, NodoDoble<T> destino) {
+        if (nodo == destino) {
+            return;
+        }
+        mover(nodo, () -> enlazarDespues(destino, nodo));
+    }
+
+    /**
+     * Mueve {@code nodo} para que quede inmediatamente antes de {@code destino},
+     * conservando el mismo objeto nodo. Si {@code nodo} ya estaba desenlazado,
+     * simplemente se vuelve a enlazar. Operación de tiempo constante O(1).
+     *
+     * @param nodo El nodo a mover.
+     * @param destino Un nodo enlazado de esta lista, distinto de {@code nodo}.
+     */
+    public void moverAntesDe(NodoDoble<T> nodo, NodoDoble<T> destino) {
+        if (nodo == destino) {
+            return;
+        }
+        mover(nodo, () -> enlazarAntes(destino, nodo));
+    }
+
+    /**
+     * Mueve {@code nodo} al final de la lista (pasa a ser el {@code ultimo}).
+     * Si {@code nodo} ya estaba desenlazado, simplemente se vuelve a enlazar.
+     * Operación de tiempo constante O(1).
+     *
+     * @param nodo El nodo a mover.
+     */
+    public void moverAlFinal(NodoDoble<T> nodo) {
+        if (nodo == this.ultimo && estaEnlazado(nodo)) {
+            return;
+        }
+        mover(nodo, () -> {
+            if (estaVacia()) {
+                nodo.setSiguiente(nodo);
+                nodo.setAnterior(nodo);
+                this.ultimo = nodo;
+                this.tamanno++;
+                registrarEnlace(nodo);
+            } else {
+                enlazarDespues(this.ultimo, nodo);
+            }
+        });
+    }
+
+    /**
+     * Devuelve el nodo que está {@code k} posiciones después de {@code nodo}
+     * ({@code k} negativo cuenta hacia atrás). {@code k} se reduce módulo el tamaño
+     * y se recorre en la dirección más corta, así que el coste es O(min(k, n - k)),
+     * u O(log n) si la lista mantiene posiciones.
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @param k Número de posiciones; positivo hacia el siguiente, negativo hacia el anterior.
+     * @return El nodo alcanzado.
+     * @throws NoSuchElementException si la lista está vacía.
+     */
+    public NodoDoble<T> avanzar(NodoDoble<T> nodo, int k) {
+        if (estaVacia()) {
+            throw new NoSuchElementException("No se puede avanzar en una lista circular vacía.");
+        }
+        int pasos = Math.floorMod(k, this.tamanno);
+        if (posiciones != null && Math.min(pasos, this.tamanno - pasos) > UMBRAL_AVANCE_LINEAL) {
+            return posiciones.seleccionar((posiciones.posicion(nodo) + pasos) % this.tamanno);
+        }
+        NodoDoble<T> actual = nodo;
+        if (pasos <= this.tamanno - pasos) {
+            for (int i = 0; i < pasos; i++) {
+                actual = actual.getSiguiente();
+            }
+        } else {
+            for (int i = pasos; i < this.tamanno; i++) {
+                actual = actual.getAnterior();
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Devuelve la posición de {@code nodo} contada desde la cabeza (0).
+     * O(log n) si la lista mantiene posiciones; O(n) en otro caso.
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @return La posición del nodo, o -1 si no está en la lista.
+     */
+    public int posicionDe(NodoDoble<T> nodo) {
+        if (posiciones != null) {
+            return posiciones.posicion(nodo);
+        }
+        if (nodo == this.ultimo && nodo != null) {
+            return this.tamanno - 1;
+        }
+        NodoDoble<T> actual = getCabeza();
+        for (int i = 0; i < this.tamanno; i++) {
+            if (actual == nodo) {
+                return i;
+            }
+            actual = actual.getSiguiente();
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve el nodo que ocupa la posición {@code k} contada desde la cabeza (0).
+     * O(log n) si la lista mantiene posiciones; O(min(k, n - k)) en otro caso.
+     *
+     * @param k Una posición entre 0 y {@code getTamanno() - 1}.
+     * @return El nodo de esa posición.
+     * @throws IndexOutOfBoundsException si {@code k} está fuera de rango.
+     */
+    public NodoDoble<T> nodoEnPosicion(int k) {
+        if (k < 0 || k >= this.tamanno) {
+            throw new IndexOutOfBoundsException("Posición fuera de rango: " + k);
+        }
+        if (posiciones != null) {
+            return posiciones.seleccionar(k);
+        }
+        return avanzar(getCabeza(), k);
+    }
+
+    /**
+     * Fija la clave entera de los datos que usa {@link #minimoEnRango(NodoDoble, int)}.
+     * La lista la guarda por subárbol en el árbol de posiciones; si la clave de un dato
+     * enlazado cambia, hay que avisar con {@link #actualizarClave(NodoDoble)}. O(n).
+     *
+     * @param clave Función que da la clave de cada dato, o {@code null} para quitarla.
+     * @throws IllegalStateException si la lista no mantiene posiciones.
+     */
+    public void setClaveMinimo(ToIntFunction<? super T> clave) {
+        if (posiciones == null) {
+            throw new IllegalStateException("La clave de mínimos requiere una lista con posiciones");
+        }
+        posiciones.setClave(clave);
+    }
+
+    /**
+     * @return {@code true} si la lista tiene una clave de mínimos fijada.
+     */
+    public boolean tieneClaveMinimo() {
+        return posiciones != null && posiciones.getClave() != null;
+    }
+
+    /**
+     * Vuelve a leer la clave del dato de {@code nodo} después de que haya cambiado. O(log n).
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     */
+    public void actualizarClave(NodoDoble<T> nodo) {
+        if (posiciones != null) {
+            posiciones.actualizarValor(nodo);
+        }
+    }
+
+    /**
+     * Devuelve, entre los {@code |k|} nodos que siguen a {@code nodo} (o que lo preceden
+     * si {@code k} es negativo), el de menor clave. En caso de empate gana el primero que
+     * se encuentra al recorrerlos desde {@code nodo}. Si {@code |k|} alcanza el tamaño se
+     * consideran todos los nodos, {@code nodo} incluido (el último de la vuelta).
+     * O(log n); los rangos cortos se recorren directamente.
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     * @param k Número de vecinos; positivo hacia el siguiente, negativo hacia el anterior.
+     * @return El nodo de menor clave, o {@code null} si {@code k} es 0 o la lista está vacía.
+     * @throws IllegalStateException si la lista no tiene clave de mínimos.
+     */
+    public NodoDoble<T> minimoEnRango(NodoDoble<T> nodo, int k) {
+        if (!tieneClaveMinimo()) {
+            throw new IllegalStateException("La lista no tiene clave de mínimos");
+        }
+        int cantidad = (int) Math.min(Math.abs((long) k), this.tamanno);
+        if (cantidad == 0) {
+            return null;
+        }
+        boolean adelante = k > 0;
+        if (cantidad <= UMBRAL_AVANCE_LINEAL) {
+            ToIntFunction<? super T> clave = posiciones.getClave();
+            NodoDoble<T> actual = adelante ? nodo.getSiguiente() : nodo.getAnterior();
+            NodoDoble<T> mejor = actual;
+            int minimo = clave.applyAsInt(actual.getDato());
+            for (int i = 1; i < cantidad; i++) {
+                actual = adelante ? actual.getSiguiente() : actual.getAnterior();
+                int valor = clave.applyAsInt(actual.getDato());
+                if (valor < minimo) {
+                    minimo = valor;
+                    mejor = actual;
+                }
+            }
+            return mejor;
+        }
+        // El recorrido circular se parte en a lo sumo dos rangos de posiciones
+        int posicion = posiciones.posicion(nodo);
+        if (adelante) {
+            int inicio = (posicion + 1) % this.tamanno;
+            int fin = inicio + cantidad - 1;
+            if (fin < this.tamanno) {
+                return posiciones.primeroHasta(inicio, fin, posiciones.minimo(inicio, fin));
+            }
+            int minimoPrimero = posiciones.minimo(inicio, this.tamanno - 1);
+            int minimoSegundo = posiciones.minimo(0, fin - this.tamanno);
+            return minimoPrimero <= minimoSegundo
+                    ? posiciones.primeroHasta(inicio, this.tamanno - 1, minimoPrimero)
+                    : posiciones.primeroHasta(0, fin - this.tamanno, minimoSegundo);
+        }
+        int inicio = Math.floorMod(posicion - 1, this.tamanno);
+        int fin = inicio - cantidad + 1;
+        if (fin >= 0) {
+            return posiciones.ultimoHasta(fin, inicio, posiciones.minimo(fin, inicio));
+        }
+        int minimoPrimero = posiciones.minimo(0, inicio);
+        int minimoSegundo = posiciones.minimo(fin + this.tamanno, this.tamanno - 1);
+        return minimoPrimero <= minimoSegundo
+                ? posiciones.ultimoHasta(0, inicio, minimoPrimero)
+                : posiciones.ultimoHasta(fin + this.tamanno, this.tamanno - 1, minimoSegundo);
+    }
+
+    /**
+     * Empieza a contar los pares de vecinos cuya {@code clave} coincide (según
+     * {@link Objects#equals(Object, Object)}), o deja de hacerlo con {@code null}.
+     * La cuenta se actualiza en cada enlace y desenlace; si la clave de un dato enlazado
+     * cambia, hay que avisar con {@link #actualizarVecindad(NodoDoble)}. O(n).
+     *
+     * @param clave Función que da la clave de vecindad de cada dato.
+     */
+    public void setClaveVecindad(Function<? super T, ?> clave) {
+        this.claveVecindad = clave;
+        if (clave == null) {
+            this.conflictos = null;
+            return;
+        }
+        this.conflictos = Collections.newSetFromMap(new IdentityHashMap<>());
+        NodoDoble<T> actual = getCabeza();
+        for (int i = 0; i < this.tamanno; i++) {
+            revisarPar(actual);
+            actual = actual.getSiguiente();
+        }
+    }
+
+    /**
+     * @return {@code true} si la lista cuenta conflictos de vecindad.
+     */
+    public boolean tieneClaveVecindad() {
+        return conflictos != null;
+    }
+
+    /**
+     * Devuelve el número de pares de vecinos con la misma clave de vecindad. O(1).
+     *
+     * @return El número de conflictos.
+     * @throws IllegalStateException si la lista no tiene clave de vecindad.
+     */
+    public int getConflictosVecindad() {
+        if (conflictos == null) {
+            throw new IllegalStateException("La lista no tiene clave de vecindad");
+        }
+        return conflictos.size();
+    }
+
+    /**
+     * Devuelve los nodos cuyo siguiente tiene su misma clave de vecindad (el nodo
+     * izquierdo de cada conflicto). Es una vista de solo lectura que refleja los
+     * cambios de la lista.
+     *
+     * @return Los nodos en conflicto con su siguiente.
+     * @throws IllegalStateException si la lista no tiene clave de vecindad.
+     */
+    public Set<NodoDoble<T>> getNodosEnConflicto() {
+        if (conflictos == null) {
+            throw new IllegalStateException("La lista no tiene clave de vecindad");
+        }
+        return Collections.unmodifiableSet(conflictos);
+    }
+
+    /**
+     * Vuelve a comparar {@code nodo} con sus dos vecinos después de que su clave de
+     * vecindad haya cambiado. O(1).
+     *
+     * @param nodo Un nodo enlazado de esta lista.
+     */
+    public void actualizarVecindad(NodoDoble<T> nodo) {
+        if (conflictos != null) {
+            revisarPar(nodo.getAnterior());
+            revisarPar(nodo);
+        }
+    }
+
+    /**
+     * Indica si {@code nodo} está enlazado en una lista. Los nodos desenlazados con
+     * {@link #desenlazar(NodoDoble)} tienen sus enlaces en {@code null}.
+     *
+     * @param nodo El nodo a comprobar.
+     * @return {@code true} si el nodo está enlazado.
+     */
+    public static boolean estaEnlazado(NodoDoble<?> nodo) {
+        return nodo != null && nodo.getSiguiente() != null;
+    }
+
+    // --- Observadores y vista ---
+
+    /**
+     * Registra un observador que recibirá cada cambio de la lista a partir de ahora.
+     *
+     * @param observador El observador.
+     */
+    public void agregarObservador(ObservadorLista<? super T> observador) {
+        if (observadores == null) {
+            observadores = new ArrayList<>(2);
+        }
+        observadores.add(Objects.requireNonNull(observador));
+    }
+
+    /**
+     * Deja de avisar a un observador.
+     *
+     * @param observador El observador.
+     * @return {@code true} si estaba registrado.
+     */
+    public boolean quitarObservador(ObservadorLista<?> observador) {
+        if (observadores == null || !observadores.remove(observador)) {
+            return false;
+        }
+        if (observadores.isEmpty()) {
+            observadores = null;
+        }
+        return true;
+    }
+
+    /**
+     * Aplica muchos cambios seguidos sin avisar de cada uno: al terminar, los observadores
+     * reciben un único {@link ObservadorLista#reordenada()}. Conviene para reordenar la
+     * lista entera, donde avisar de cada movimiento costaría más que volver a leerla.
+     *
+     * @param cambios Las operaciones a aplicar sobre la lista.
+     */
+    public void cambioMasivo(Runnable cambios) {
+        cambiosMasivos++;
+        try {
+            cambios.run();
+        } finally {
+            cambiosMasivos--;
+        }
+        avisarReordenada();
+    }
+
+    /**
+     * Devuelve una vista de solo lectura de la lista, desde la cabeza, que refleja
+     * siempre su contenido actual sin copiarlo. {@code get(k)} cuesta lo mismo que
+     * {@link #nodoEnPosicion(int)}; recorrerla con su iterador es O(1) por elemento.
+     * Como la lista, no admite cambios concurrentes.
+     *
+     * @return La vista.
+     */
+    public List<T> vista() {
+        if (vista == null) {
+            vista = new VistaLista();
+        }
+        return vista;
+    }
+
+    /** Vista de solo lectura de la lista como {@link List}. */
+    private final class VistaLista extends AbstractList<T> {
+        @Override
+        public T get(int indice) {
+            return nodoEnPosicion(indice).getDato();
+        }
+
+        @Override
+        public int size() {
+            return tamanno;
+        }
+
+        @Override
+        public boolean contains(Object dato) {
+            // El índice por identidad no sirve: List.contains compara con equals
+            if (tipoIndice != TipoIndice.IGUALDAD) {
+                return super.contains(dato);
+            }
+            @SuppressWarnings("unchecked")
+            T buscado = (T) dato;
+            return ListaCircularDoble.this.contiene(buscado);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private NodoDoble<T> siguiente = getCabeza();
+                private int restantes = tamanno;
+
+                @Override
+                public boolean hasNext() {
+                    return restantes > 0;
+                }
+
+                @Override
+                public T next() {
+                    if (restantes == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    T dato = siguiente.getDato();
+                    siguiente = siguiente.getSiguiente();
+                    restantes--;
+                    return dato;
+                }
+            };
+        }
     }
 
     // --- Otras Utilidades ---
 
     /**
      * Elimina todos los elementos de la lista, dejándola vacía.
-     * Anula la referencia {@code ultimo} y establece el tamaño a 0.
+     * Desenlaza cada nodo (ver {@link #estaEnlazado(NodoDoble)}), para que nadie que
+     * conserve uno lo tome por un nodo de la lista, anula la referencia {@code ultimo} y
+     * establece el tamaño a 0. Operación O(n).
      */
     public void borrarLista() {
+        NodoDoble<T> actual = this.ultimo;
+        for (int i = 0; i < this.tamanno; i++) {
+            NodoDoble<T> siguiente = actual.getSiguiente();
+            actual.setSiguiente(null);
+            actual.setAnterior(null);
+            actual = siguiente;
+        }
         this.ultimo = null;
         this.tamanno = 0;
+        if (indice != null) {
+            indice.clear();
+        }
+        if (posiciones != null) {
+            posiciones.vaciar();
+        }
+        if (conflictos != null) {
+            conflictos.clear();
+        }
+        avisarReordenada();
     }
 
     /**
      * Crea y devuelve una copia superficial (shallow copy) de esta lista circular.
      * Se crean nuevos nodos {@link NodoDoble}, pero contienen referencias a los mismos
-     * objetos de datos que la lista original.
+     * objetos de datos que la lista original. La copia usa el mismo modo de indexación
+     * y mantiene posiciones (y la clave de mínimos) y la clave de vecindad si esta lo hace.
      *
      * @return Una nueva instancia de {@code ListaCircularDoble} con los mismos datos.
      */
     public ListaCircularDoble<T> clonarLista() {
-        ListaCircularDoble<T> clon = new ListaCircularDoble<>();
+        ListaCircularDoble<T> clon = new ListaCircularDoble<>(this.tipoIndice, tienePosiciones());
+        if (tieneClaveMinimo()) {
+            clon.setClaveMinimo(posiciones.getClave());
+        }
+        if (claveVecindad != null) {
+            clon.setClaveVecindad(claveVecindad);
+        }
         if (estaVacia()) {
             return clon;
         }
@@ -405,7 +944,7 @@ public class ListaCircularDoble<T> {
     /*
      * Devuelve el elemento que sigue al nodo que contiene {@code datoActual}.
      * Si {@code datoActual} no se encuentra, devuelve {@code null}.
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      * @param datoActual El dato del nodo actual.
      * @return El dato del siguiente nodo, o {@code null} si no se encuentra.
      * @throws NoSuchElementException si la lista está vacía.
@@ -421,7 +960,7 @@ public class ListaCircularDoble<T> {
     /*
      * Devuelve el elemento que precede al nodo que contiene {@code datoActual}.
      * Si {@code datoActual} no se encuentra, devuelve {@code null}.
-     * La búsqueda es O(n).
+     * La búsqueda es O(n), u O(1) si la lista está indexada.
      * @param datoActual El dato del nodo actual.
      * @return El dato del nodo anterior, o {@code null} si no se encuentra.
      * @throws NoSuchElementException si la lista está vacía.
@@ -435,6 +974,34 @@ public class ListaCircularDoble<T> {
     }
 
 
+    /**
+     * Devuelve el dato de la cabeza.
+     * @return El primer elemento, o {@code null} si la lista está vacía.
+     */
+    public T obtenerPrimero() {
+        return estaVacia() ? null : getCabeza().getDato();
+    }
+
+    /**
+     * Devuelve el dato del último nodo.
+     * @return El último elemento, o {@code null} si la lista está vacía.
+     */
+    public T obtenerUltimo() {
+        return estaVacia() ? null : this.ultimo.getDato();
+    }
+
+    /**
+     * Aplica {@code accion} a cada elemento, desde la cabeza y en orden.
+     * @param accion La acción a aplicar.
+     */
+    public void recorrer(Consumer<? super T> accion) {
+        NodoDoble<T> actual = getCabeza();
+        for (int i = 0; i < this.tamanno; i++) {
+            accion.accept(actual.getDato());
+            actual = actual.getSiguiente();
+        }
+    }
+
     /*
      * Devuelve el pastor más rico según el dinero.
      * Si la lista está vacía, devuelve null.
@@ -465,12 +1032,15 @@ public class ListaCircularDoble<T> {
 
 
     /**
-     * Imprime una representación textual de la lista circular en la consola estándar.
+     * Imprime una representación textual de la lista circular en la {@link Bitacora}.
      * Muestra los elementos desde la cabeza, indicando la conexión final a la cabeza.
      */
     public void imprimir() {
+        if (!Bitacora.activo(Bitacora.Evento.LISTA)) {
+            return;
+        }
         if (estaVacia()) {
-            System.out.println("Lista Circular Vacía");
+            Bitacora.registrar(Bitacora.Evento.LISTA, "Lista Circular Vacía");
             return;
         }
         StringBuilder sb = new StringBuilder();
@@ -484,7 +1054,7 @@ public class ListaCircularDoble<T> {
             }
         }
         sb.append(" -> (HEAD)"); // Indica circularidad
-        System.out.println(sb.toString());
+        Bitacora.registrar(Bitacora.Evento.LISTA, sb.toString());
     }
 
     // --- Métodos Auxiliares Privados ---
@@ -492,12 +1062,16 @@ public class ListaCircularDoble<T> {
     /**
      * Busca el primer nodo en la lista que contiene el {@code datoBusqueda}.
      * Utiliza {@code Objects.equals()} para manejar {@code null}.
-     * Recorre la lista circular una vez.
+     * Recorre la lista circular una vez, salvo si la lista está indexada,
+     * en cuyo caso consulta el índice en O(1).
      *
      * @param datoBusqueda El dato a buscar.
      * @return El {@link NodoDoble} que contiene el dato, o {@code null} si no se encuentra.
      */
     public NodoDoble<T> buscarNodo(T datoBusqueda) {
+        if (indice != null) {
+            return indice.get(datoBusqueda);
+        }
         if (estaVacia()) {
             return null;
         }
@@ -539,6 +1113,168 @@ public class ListaCircularDoble<T> {
     }
 
 
+    /**
+     * Comprueba si la lista contiene el dato indicado.
+     * O(n), u O(1) si la lista está indexada.
+     *
+     * @param dato El dato a buscar.
+     * @return {@code true} si algún nodo contiene el dato.
+     */
+    public boolean contiene(T dato) {
+        return buscarNodo(dato) != null;
+    }
+
+    /**
+     * Crea un nodo para {@code dato} y, si la lista está indexada, lo registra en el índice.
+     *
+     * @param dato El dato del nuevo nodo.
+     * @return El nodo creado, aún sin enlazar.
+     * @throws IllegalArgumentException si la lista está indexada y ya contiene el dato.
+     */
+    private NodoDoble<T> crearNodo(T dato) {
+        NodoDoble<T> nuevoNodo = new NodoDoble<>(dato);
+        indexar(nuevoNodo);
+        return nuevoNodo;
+    }
+
+    /**
+     * Registra {@code nodo} en el índice, si la lista está indexada.
+     *
+     * @param nodo El nodo que se va a enlazar.
+     * @throws IllegalArgumentException si la lista está indexada y ya contiene el dato.
+     */
+    private void indexar(NodoDoble<T> nodo) {
+        if (indice != null && indice.putIfAbsent(nodo.getDato(), nodo) != null) {
+            throw new IllegalArgumentException("El elemento ya está en la lista indexada: " + nodo.getDato());
+        }
+    }
+
+    /**
+     * Enlaza {@code nuevoNodo} inmediatamente después de {@code nodoExistente}.
+     * Si {@code nodoExistente} es el {@code ultimo}, el nuevo nodo pasa a serlo.
+     */
+    private void enlazarDespues(NodoDoble<T> nodoExistente, NodoDoble<T> nuevoNodo) {
+        NodoDoble<T> nodoSiguiente = nodoExistente.getSiguiente();
+
+        // Enlazar el nuevo nodo después del existente
+        nuevoNodo.setSiguiente(nodoSiguiente);
+        nuevoNodo.setAnterior(nodoExistente);
+        nodoExistente.setSiguiente(nuevoNodo);
+        nodoSiguiente.setAnterior(nuevoNodo);
+
+        // Si insertamos después del que era el último nodo, el nuevo nodo es el nuevo último
+        if (nodoExistente == this.ultimo) {
+            this.ultimo = nuevoNodo;
+        }
+        this.tamanno++;
+        registrarEnlace(nuevoNodo);
+    }
+
+    /**
+     * Enlaza {@code nuevoNodo} inmediatamente antes de {@code nodoExistente}.
+     */
+    private void enlazarAntes(NodoDoble<T> nodoExistente, NodoDoble<T> nuevoNodo) {
+        NodoDoble<T> nodoAnterior = nodoExistente.getAnterior();
+
+        // Enlazar el nuevo nodo antes del existente
+        nuevoNodo.setSiguiente(nodoExistente);
+        nuevoNodo.setAnterior(nodoAnterior);
+        nodoAnterior.setSiguiente(nuevoNodo);
+        nodoExistente.setAnterior(nuevoNodo);
+
+        this.tamanno++;
+        registrarEnlace(nuevoNodo);
+    }
+
+    /**
+     * Registra un nodo recién enlazado (con {@code ultimo} ya actualizado) en el árbol de
+     * posiciones, donde va en la posición 0 si es la cabeza o justo después de su anterior,
+     * y revisa los dos pares de vecinos que ha formado.
+     */
+    private void registrarEnlace(NodoDoble<T> nuevoNodo) {
+        if (posiciones != null) {
+            posiciones.insertarDespues(nuevoNodo == getCabeza() ? null : nuevoNodo.getAnterior(), nuevoNodo);
+        }
+        if (conflictos != null) {
+            revisarPar(nuevoNodo.getAnterior());
+            revisarPar(nuevoNodo);
+        }
+        if (avisar()) {
+            int posicion = posicionDe(nuevoNodo);
+            for (ObservadorLista<? super T> observador : observadores) {
+                observador.insertado(posicion, nuevoNodo.getDato());
+            }
+        }
+    }
+
+    /**
+     * Anota o quita el par formado por {@code izquierdo} y su siguiente en el conjunto de
+     * conflictos, según tengan o no la misma clave de vecindad.
+     */
+    private void revisarPar(NodoDoble<T> izquierdo) {
+        NodoDoble<T> derecho = izquierdo.getSiguiente();
+        if (derecho != izquierdo
+                && Objects.equals(claveVecindad.apply(izquierdo.getDato()), claveVecindad.apply(derecho.getDato()))) {
+            conflictos.add(izquierdo);
+        } else {
+            conflictos.remove(izquierdo);
+        }
+    }
+
+    /**
+     * Desenlaza {@code nodo} si está enlazado, lo vuelve a indexar y lo enlaza con
+     * {@code enlazar}, avisando a los observadores de un solo movimiento (o de una
+     * inserción, si el nodo estaba desenlazado).
+     */
+    private void mover(NodoDoble<T> nodo, Runnable enlazar) {
+        boolean avisar = avisar();
+        int desde = avisar && estaEnlazado(nodo) ? posicionDe(nodo) : -1;
+        moviendo = true;
+        try {
+            if (estaEnlazado(nodo)) {
+                desenlazar(nodo);
+            }
+            indexar(nodo);
+            enlazar.run();
+        } finally {
+            moviendo = false;
+        }
+        if (avisar) {
+            int hasta = posicionDe(nodo);
+            for (ObservadorLista<? super T> observador : observadores) {
+                if (desde < 0) {
+                    observador.insertado(hasta, nodo.getDato());
+                } else {
+                    observador.movido(desde, hasta, nodo.getDato());
+                }
+            }
+        }
+    }
+
+    /** Indica si hay que avisar a los observadores del cambio en curso. */
+    private boolean avisar() {
+        return observadores != null && cambiosMasivos == 0 && !moviendo;
+    }
+
+    private void avisarReordenada() {
+        if (observadores != null && cambiosMasivos == 0) {
+            for (ObservadorLista<? super T> observador : observadores) {
+                observador.reordenada();
+            }
+        }
+    }
+
+    /**
+     * Quita {@code dato} del índice, si la lista está indexada.
+     *
+     * @param dato El dato del nodo que se va a desenlazar.
+     */
+    private void desindexar(T dato) {
+        if (indice != null) {
+            indice.remove(dato);
+        }
+    }
+
     /**
      * Busca el nodo que precede inmediatamente al primer nodo que contiene {@code datoBusqueda}.
      * En una lista doblemente enlazada circular, esto es más eficiente usando getAnterior().
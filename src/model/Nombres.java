@@ -1,6 +1,7 @@
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Enum que contiene los posibles nombres para candidatos
@@ -46,15 +47,49 @@ public enum Nombres {
         return nombre;
     }
 
+    /** Copia única de {@link #values()}, para no clonar el arreglo en cada sorteo. */
+    private static final Nombres[] VALORES = values();
+
+    /** Número de nombres; sus ordinales van de 0 a {@code CANTIDAD - 1}. */
+    public static final int CANTIDAD = VALORES.length;
+
     /**
      * Obtiene un nombre aleatorio del enum
      * 
      * @return String con un nombre aleatorio
      */
     public static String obtenerNombreAleatorio() {
-        Nombres[] nombres = values();
-        Random random = new Random();
-        return nombres[random.nextInt(nombres.length)].getNombre();
+        return obtenerNombreAleatorio(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Obtiene un nombre aleatorio del enum usando el generador indicado
+     * 
+     * @param random generador de números aleatorios
+     * @return String con un nombre aleatorio
+     */
+    public static String obtenerNombreAleatorio(RandomGenerator random) {
+        return VALORES[random.nextInt(VALORES.length)].getNombre();
+    }
+
+    /**
+     * Sortea el ordinal de un nombre usando el generador indicado
+     * 
+     * @param random generador de números aleatorios
+     * @return ordinal entre 0 y {@link #CANTIDAD} - 1
+     */
+    public static int obtenerOrdinalAleatorio(RandomGenerator random) {
+        return random.nextInt(VALORES.length);
+    }
+
+    /**
+     * Obtiene el nombre correspondiente a un ordinal
+     * 
+     * @param ordinal ordinal entre 0 y {@link #CANTIDAD} - 1
+     * @return el texto del nombre
+     */
+    public static String desdeOrdinal(int ordinal) {
+        return VALORES[ordinal].nombre;
     }
 
     @Override
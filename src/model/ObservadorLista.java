@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * Recibe los cambios de una {@link ListaCircularDoble} a medida que ocurren (ver
+ * {@link ListaCircularDoble#agregarObservador(ObservadorLista)}).
+ *
+ * Las posiciones se cuentan desde la cabeza (0) y se refieren a la lista justo antes del
+ * cambio para {@link #eliminado(int, Object)} y justo después para
+ * {@link #insertado(int, Object)}, así que aplicar los avisos en orden sobre una copia de
+ * la lista la mantiene igual a la original. Los avisos llegan en el hilo que modifica la
+ * lista.
+ *
+ * @param <T> El tipo de elementos de la lista.
+ */
+public interface ObservadorLista<T> {
+
+    /**
+     * Se enlazó {@code dato}, que ahora ocupa la posición {@code posicion}.
+     */
+    void insertado(int posicion, T dato);
+
+    /**
+     * Se desenlazó {@code dato}, que ocupaba la posición {@code posicion}.
+     */
+    void eliminado(int posicion, T dato);
+
+    /**
+     * {@code dato} pasó de la posición {@code desde} a la posición {@code hasta}; equivale
+     * a eliminarlo de {@code desde} e insertarlo en {@code hasta}.
+     */
+    void movido(int desde, int hasta, T dato);
+
+    /**
+     * La lista cambió de golpe (se vació o se reordenó entera) y hay que volver a leerla.
+     */
+    void reordenada();
+}
@@ -1,6 +1,7 @@
 package model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Enum que contiene los posibles oficios para pastores eclesiásticos
@@ -34,15 +35,39 @@ public enum OficiosPastores {
         return oficio;
     }
 
+    /** Copia única de {@link #values()}, para no clonar el arreglo en cada sorteo. */
+    private static final OficiosPastores[] VALORES = values();
+
+    /** Número de oficios; sus ordinales van de 0 a {@code CANTIDAD - 1}. */
+    public static final int CANTIDAD = VALORES.length;
+
     /**
      * Obtiene un oficio aleatorio del enum
      * 
-     * @return String con un oficio aleatorio
+     * @return un oficio aleatorio
+     */
+    public static OficiosPastores obtenerOficioAleatorio() {
+        return obtenerOficioAleatorio(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Obtiene un oficio aleatorio del enum usando el generador indicado
+     * 
+     * @param random generador de números aleatorios
+     * @return un oficio aleatorio
+     */
+    public static OficiosPastores obtenerOficioAleatorio(RandomGenerator random) {
+        return VALORES[random.nextInt(VALORES.length)];
+    }
+
+    /**
+     * Obtiene el oficio correspondiente a un ordinal
+     * 
+     * @param ordinal ordinal entre 0 y {@link #CANTIDAD} - 1
+     * @return el oficio
      */
-    public static String obtenerOficioAleatorio() {
-        OficiosPastores[] oficios = values();
-        Random random = new Random();
-        return oficios[random.nextInt(oficios.length)].getOficio();
+    public static OficiosPastores desdeOrdinal(int ordinal) {
+        return VALORES[ordinal];
     }
 
     @Override
@@ -1,63 +1,179 @@
 package model;
 
-public class Pastor {
-    private String nombre;
-    private int dinero;
-    private int creyentes;
-    private String oficio;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Pastor de la mesa: dinero, creyentes, nombre y oficio, y el {@link IndiceRiqueza} en el
+ * que está sentado.
+ *
+ * Esta clase no guarda ningún dato: solo define cómo se leen y se cambian y lo que se
+ * calcula a partir de ellos. Los guardan sus implementaciones: {@link PastorMemoria}, en
+ * campos del objeto, y {@link PastorRegistro}, en un registro de un
+ * {@link RegistroPastores} fuera del heap. Los pastores se comparan por identidad.
+ */
+public abstract class Pastor {
+    /** Bits de cada ordinal dentro del código del nombre. */
+    private static final int BITS_ORDINAL = 10;
+    private static final int MASCARA_ORDINAL = (1 << BITS_ORDINAL) - 1;
 
-    public Pastor(int dinero, int creyentes) {
-        this.dinero = dinero;
-        this.creyentes = creyentes;
+    /** Solo las implementaciones de este paquete guardan los datos. */
+    Pastor() {
     }
 
     /**
      * Genera un nombre completo aleatorio usando los enums de nombres y apellidos
-     * 
-     * @return String con el nombre completo (nombre + apellido + apellido)
      */
     public void generarNombreCompleto() {
-        this.nombre =  Nombres.obtenerNombreAleatorio() + " " +
-                Apellidos.obtenerApellidoAleatorio() + " " +
-                Apellidos.obtenerApellidoAleatorio();
+        generarNombreCompleto(ThreadLocalRandom.current());
     }
 
-    public void generarOficio() {
-        this.oficio = OficiosPastores.obtenerOficioAleatorio();
+    /**
+     * Genera un nombre completo aleatorio usando el generador indicado. Solo se guardan
+     * los ordinales; el texto se construye al llamar a {@link #getNombre()}.
+     *
+     * @param random generador de números aleatorios
+     */
+    public void generarNombreCompleto(RandomGenerator random) {
+        setNombreCodificado(Nombres.obtenerOrdinalAleatorio(random),
+                Apellidos.obtenerOrdinalAleatorio(random),
+                Apellidos.obtenerOrdinalAleatorio(random));
     }
 
-    public String getNombre() {
-        return nombre;
+    /**
+     * Fija el nombre a partir de sus ordinales en los diccionarios.
+     *
+     * @param nombre    ordinal en {@link Nombres}
+     * @param apellido1 ordinal del primer apellido en {@link Apellidos}
+     * @param apellido2 ordinal del segundo apellido en {@link Apellidos}
+     */
+    public void setNombreCodificado(int nombre, int apellido1, int apellido2) {
+        setCodigoNombre(codificarNombre(nombre, apellido1, apellido2));
     }
 
-    public void setNombre(String nombre) {
-        this.nombre = nombre;
+    /**
+     * Fija el nombre a partir de su código, tal como lo devuelve {@link #getCodigoNombre()}.
+     *
+     * @param codigoNombre los tres ordinales empaquetados
+     */
+    public abstract void setCodigoNombre(int codigoNombre);
+
+    /**
+     * Empaqueta los ordinales de un nombre tal como los guarda {@link #getCodigoNombre()}.
+     *
+     * @param nombre    ordinal en {@link Nombres}
+     * @param apellido1 ordinal del primer apellido en {@link Apellidos}
+     * @param apellido2 ordinal del segundo apellido en {@link Apellidos}
+     * @return el código del nombre
+     */
+    public static int codificarNombre(int nombre, int apellido1, int apellido2) {
+        return nombre | apellido1 << BITS_ORDINAL | apellido2 << 2 * BITS_ORDINAL;
     }
 
-    public int getDinero() {
-        return dinero;
+    /**
+     * Construye el texto de un nombre codificado.
+     *
+     * @param codigo código devuelto por {@link #codificarNombre(int, int, int)}
+     * @return el nombre completo
+     */
+    static String nombreDesdeCodigo(int codigo) {
+        return Nombres.desdeOrdinal(codigo & MASCARA_ORDINAL) + " "
+                + Apellidos.desdeOrdinal(codigo >>> BITS_ORDINAL & MASCARA_ORDINAL) + " "
+                + Apellidos.desdeOrdinal(codigo >>> 2 * BITS_ORDINAL & MASCARA_ORDINAL);
     }
 
-    public void setDinero(int dinero) {
-        this.dinero = dinero;
+    /**
+     * @return los tres ordinales del nombre empaquetados (ver {@link #getOrdinalNombre()}
+     *         y siguientes), o -1 si el nombre no sale de los diccionarios
+     */
+    public abstract int getCodigoNombre();
+
+    /**
+     * @return ordinal del nombre en {@link Nombres}, o -1 si no está codificado
+     */
+    public int getOrdinalNombre() {
+        int codigo = getCodigoNombre();
+        return codigo < 0 ? -1 : codigo & MASCARA_ORDINAL;
     }
 
-    public int getCreyentes() {
-        return creyentes;
+    /**
+     * @return ordinal del primer apellido en {@link Apellidos}, o -1 si no está codificado
+     */
+    public int getOrdinalApellido1() {
+        int codigo = getCodigoNombre();
+        return codigo < 0 ? -1 : codigo >>> BITS_ORDINAL & MASCARA_ORDINAL;
+    }
+
+    /**
+     * @return ordinal del segundo apellido en {@link Apellidos}, o -1 si no está codificado
+     */
+    public int getOrdinalApellido2() {
+        int codigo = getCodigoNombre();
+        return codigo < 0 ? -1 : codigo >>> 2 * BITS_ORDINAL & MASCARA_ORDINAL;
     }
 
-    public void setCreyentes(int creyentes) {
-        this.creyentes = creyentes;
+    public void generarOficio() {
+        setOficio(OficiosPastores.obtenerOficioAleatorio());
     }
 
-    public String getOficio() {
-        return oficio;
+    /**
+     * Genera un oficio aleatorio usando el generador indicado
+     *
+     * @param random generador de números aleatorios
+     */
+    public void generarOficio(RandomGenerator random) {
+        setOficio(OficiosPastores.obtenerOficioAleatorio(random));
     }
 
-    public void setOficio(String oficio) {
-        this.oficio = oficio;
+    /**
+     * Devuelve el nombre completo, construido a partir de {@link #getCodigoNombre()} si
+     * está codificado.
+     *
+     * @return el nombre completo, o {@code null} si no tiene
+     */
+    public abstract String getNombre();
+
+    /**
+     * Fija un nombre libre, que no sale de los diccionarios.
+     *
+     * @param nombre el nombre completo
+     */
+    public abstract void setNombre(String nombre);
+
+    public abstract int getDinero();
+
+    /**
+     * Cambia el dinero del pastor y, si está en un {@link IndiceRiqueza}, lo recoloca en él.
+     *
+     * @param dinero el nuevo dinero
+     */
+    public void setDinero(int dinero) {
+        guardarDinero(dinero);
+        IndiceRiqueza indice = getIndiceRiqueza();
+        if (indice != null) {
+            indice.actualizar(this);
+        }
     }
 
+    /** Guarda el dinero sin avisar al índice de riqueza. */
+    abstract void guardarDinero(int dinero);
+
+    public abstract int getCreyentes();
+
+    public abstract void setCreyentes(int creyentes);
+
+    /**
+     * @return el oficio del pastor; el texto para mostrar se obtiene con
+     *         {@link OficiosPastores#getOficio()}
+     */
+    public abstract OficiosPastores getOficio();
+
+    public abstract void setOficio(OficiosPastores oficio);
+
+    /**
+     * @return el índice de riqueza en el que está el pastor, o {@code null}
+     */
+    public abstract IndiceRiqueza getIndiceRiqueza();
 
+    abstract void setIndiceRiqueza(IndiceRiqueza indiceRiqueza);
 }
@@ -0,0 +1,98 @@
+package model;
+
+/**
+ * Pastor que guarda sus datos en campos del propio objeto. Es el pastor de una partida
+ * normal; los que vienen de un padrón en disco son {@link PastorRegistro}.
+ */
+public class PastorMemoria extends Pastor {
+
+    /**
+     * Nombre codificado como tres ordinales de los diccionarios: {@link Nombres} en los
+     * bits bajos y los dos {@link Apellidos} a continuación; -1 si el nombre no sale de
+     * los diccionarios (fijado con {@link #setNombre(String)}).
+     */
+    private int codigoNombre = -1;
+    /** Texto del nombre, construido a partir de {@link #codigoNombre} la primera vez que se pide. */
+    private String nombre;
+    private int dinero;
+    private int creyentes;
+    private OficiosPastores oficio;
+    /** Índice de riqueza de la mesa en la que está sentado, o {@code null}. */
+    private IndiceRiqueza indiceRiqueza;
+
+    public PastorMemoria(int dinero, int creyentes) {
+        this.dinero = dinero;
+        this.creyentes = creyentes;
+    }
+
+    @Override
+    public void setCodigoNombre(int codigoNombre) {
+        this.codigoNombre = codigoNombre;
+        this.nombre = null;
+    }
+
+    @Override
+    public int getCodigoNombre() {
+        return codigoNombre;
+    }
+
+    /**
+     * {@inheritDoc} El texto de un nombre codificado se construye la primera vez y se
+     * guarda para las siguientes.
+     */
+    @Override
+    public String getNombre() {
+        String texto = nombre;
+        if (texto == null && codigoNombre >= 0) {
+            texto = nombreDesdeCodigo(codigoNombre);
+            nombre = texto;
+        }
+        return texto;
+    }
+
+    @Override
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+        this.codigoNombre = -1;
+    }
+
+    @Override
+    public int getDinero() {
+        return dinero;
+    }
+
+    @Override
+    void guardarDinero(int dinero) {
+        this.dinero = dinero;
+    }
+
+    @Override
+    public int getCreyentes() {
+        return creyentes;
+    }
+
+    @Override
+    public void setCreyentes(int creyentes) {
+        this.creyentes = creyentes;
+    }
+
+    @Override
+    public OficiosPastores getOficio() {
+        return oficio;
+    }
+
+    @Override
+    public void setOficio(OficiosPastores oficio) {
+        this.oficio = oficio;
+    }
+
+    @Override
+    public IndiceRiqueza getIndiceRiqueza() {
+        return indiceRiqueza;
+    }
+
+    @Override
+    void setIndiceRiqueza(IndiceRiqueza indiceRiqueza) {
+        this.indiceRiqueza = indiceRiqueza;
+    }
+}
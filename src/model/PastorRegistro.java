@@ -0,0 +1,85 @@
+package model;
+
+/**
+ * Pastor cuyos datos viven en un registro de un {@link RegistroPastores}, fuera del heap.
+ *
+ * Se usa igual que cualquier {@link Pastor}: los getters leen el registro y los setters
+ * lo escriben. La vista solo guarda su padrón y el desplazamiento de su registro; lo poco
+ * que no cabe en el registro lo guarda el padrón aparte: si el pastor está en un
+ * {@link IndiceRiqueza} y el nombre libre fijado con {@link #setNombre(String)}. El texto
+ * de un nombre codificado se construye en cada llamada a {@link #getNombre()}.
+ */
+public final class PastorRegistro extends Pastor {
+
+    private final RegistroPastores registro;
+    /** Desplazamiento del registro dentro del padrón. */
+    private final int base;
+
+    PastorRegistro(RegistroPastores registro, int base) {
+        this.registro = registro;
+        this.base = base;
+    }
+
+    @Override
+    public int getDinero() {
+        return registro.datos.getInt(base + RegistroPastores.DESPLAZAMIENTO_DINERO);
+    }
+
+    @Override
+    void guardarDinero(int dinero) {
+        registro.datos.putInt(base + RegistroPastores.DESPLAZAMIENTO_DINERO, dinero);
+    }
+
+    @Override
+    public int getCreyentes() {
+        return registro.datos.getInt(base + RegistroPastores.DESPLAZAMIENTO_CREYENTES);
+    }
+
+    @Override
+    public void setCreyentes(int creyentes) {
+        registro.datos.putInt(base + RegistroPastores.DESPLAZAMIENTO_CREYENTES, creyentes);
+    }
+
+    @Override
+    public OficiosPastores getOficio() {
+        return OficiosPastores.desdeOrdinal(registro.datos.get(base + RegistroPastores.DESPLAZAMIENTO_OFICIO));
+    }
+
+    @Override
+    public void setOficio(OficiosPastores oficio) {
+        registro.datos.put(base + RegistroPastores.DESPLAZAMIENTO_OFICIO, (byte) oficio.ordinal());
+    }
+
+    @Override
+    public int getCodigoNombre() {
+        return registro.datos.getInt(base + RegistroPastores.DESPLAZAMIENTO_NOMBRE);
+    }
+
+    @Override
+    public void setCodigoNombre(int codigoNombre) {
+        registro.datos.putInt(base + RegistroPastores.DESPLAZAMIENTO_NOMBRE, codigoNombre);
+        registro.setNombreLibre(base, null);
+    }
+
+    @Override
+    public String getNombre() {
+        int codigo = getCodigoNombre();
+        return codigo >= 0 ? nombreDesdeCodigo(codigo) : registro.getNombreLibre(base);
+    }
+
+    @Override
+    public void setNombre(String nombre) {
+        registro.datos.putInt(base + RegistroPastores.DESPLAZAMIENTO_NOMBRE, -1);
+        registro.setNombreLibre(base, nombre);
+    }
+
+    @Override
+    public IndiceRiqueza getIndiceRiqueza() {
+        return registro.getIndiceRiqueza(base);
+    }
+
+    @Override
+    void setIndiceRiqueza(IndiceRiqueza indiceRiqueza) {
+        registro.setIndiceRiqueza(base, indiceRiqueza);
+    }
+}
@@ -0,0 +1,376 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Pila (LIFO) de los pastores desposeídos.
+ *
+ * Apilar, desapilar y ver la cima son O(1) (amortizado). Por defecto guarda los pastores
+ * tal cual, sin límite. Con un límite de pastores en memoria ({@link #PilaPastores(int)})
+ * solo los de la cima se guardan como objetos: por debajo, los pastores se compactan por
+ * bloques en registros de {@link #TAMANO_REGISTRO} bytes (dinero, creyentes, código del
+ * nombre y ordinal del oficio). Con un archivo ({@link #PilaPastores(int, int, Path)}) los
+ * bloques más antiguos que no caben en memoria se vuelcan además a él, de modo que la
+ * memoria queda acotada sea cual sea la profundidad de la pila. Un bloque vuelve a
+ * memoria cuando la pila baja hasta él; como se compacta al pasar de {@code enMemoria} y
+ * se recupera al vaciarse la cima, apilar y desapilar alrededor de un borde no mueve
+ * bloques en cada operación.
+ *
+ * Los pastores que vuelven de un bloque compactado son copias con los mismos datos, no
+ * los objetos que se apilaron; por eso compactar es opcional y no sirve si algo
+ * identifica a los pastores por identidad (como el diario de partidas). Los nombres
+ * libres (fijados con {@link Pastor#setNombre(String)}), que son raros, se guardan aparte
+ * en memoria.
+ */
+public final class PilaPastores implements Iterable<Pastor>, AutoCloseable {
+
+    /** Bytes de cada pastor compactado. */
+    public static final int TAMANO_REGISTRO = 13;
+
+    /** Código de nombre de un pastor compactado con nombre libre. */
+    private static final int NOMBRE_LIBRE = -2;
+    /** Pastores por bloque como máximo. */
+    private static final int BLOQUE_MAXIMO = 4096;
+
+    /** Pastores de la cima, como objetos, desde el más antiguo. */
+    private final ArrayDeque<Pastor> cima = new ArrayDeque<>();
+    /** Máximo de pastores en {@link #cima}. */
+    private final int enMemoria;
+    /** Pastores por bloque compactado. */
+    private final int porBloque;
+    /** Bloques compactados en memoria, desde el más antiguo, listos para leer. */
+    private final ArrayDeque<ByteBuffer> compactados = new ArrayDeque<>();
+    /** Bloques compactados que caben en memoria antes de volcar al archivo. */
+    private final int maximoCompactados;
+
+    /** Archivo de desborde, o {@code null}; se abre al volcar el primer bloque. */
+    private final Path archivo;
+    private FileChannel canal;
+    /** Bloques en el archivo, que son los más antiguos de la pila. */
+    private int bloquesEnDisco;
+
+    /** Nombres libres de los pastores compactados, por su posición desde el fondo. */
+    private final Map<Integer, String> nombresLibres = new HashMap<>();
+    private int tamanno;
+
+    /**
+     * Crea una pila que guarda todos los pastores tal cual.
+     */
+    public PilaPastores() {
+        this(Integer.MAX_VALUE, Integer.MAX_VALUE, null, false);
+    }
+
+    /**
+     * Crea una pila que guarda como objetos a lo sumo {@code enMemoria} pastores de la
+     * cima y compacta en memoria los demás.
+     *
+     * @param enMemoria pastores de la cima que se guardan como objetos (al menos 2)
+     */
+    public PilaPastores(int enMemoria) {
+        this(enMemoria, Integer.MAX_VALUE, null, false);
+    }
+
+    /**
+     * Crea una pila que guarda como objetos a lo sumo {@code enMemoria} pastores de la
+     * cima, compacta en memoria unos {@code compactadosEnMemoria} más y vuelca el resto a
+     * {@code archivo}. El archivo no debe existir: se crea al volcar el primer bloque y se
+     * borra al cerrar la pila, o antes en sistemas que lo permiten con el archivo abierto.
+     * Si ya existe no se toca, y el volcado falla con una {@link UncheckedIOException}
+     * causada por una {@link java.nio.file.FileAlreadyExistsException}.
+     *
+     * @param enMemoria           pastores de la cima que se guardan como objetos (al menos 2)
+     * @param compactadosEnMemoria pastores compactados que se guardan en memoria
+     * @param archivo             archivo de desborde, que aún no existe (por ejemplo, un
+     *                            nombre nuevo dentro de un directorio temporal)
+     */
+    public PilaPastores(int enMemoria, int compactadosEnMemoria, Path archivo) {
+        this(enMemoria, compactadosEnMemoria, Objects.requireNonNull(archivo), true);
+    }
+
+    private PilaPastores(int enMemoria, int compactadosEnMemoria, Path archivo, boolean conArchivo) {
+        if (enMemoria < 2) {
+            throw new IllegalArgumentException("La pila debe guardar en memoria al menos 2 pastores: " + enMemoria);
+        }
+        this.enMemoria = enMemoria;
+        this.porBloque = Math.min(BLOQUE_MAXIMO, enMemoria / 2);
+        this.maximoCompactados = conArchivo ? Math.max(1, compactadosEnMemoria / porBloque) : Integer.MAX_VALUE;
+        this.archivo = archivo;
+    }
+
+    // ========================
+    //        OPERACIONES
+    // ========================
+
+    /**
+     * Pone a {@code pastor} en la cima. O(1) amortizado.
+     */
+    public void apilar(Pastor pastor) {
+        cima.addLast(Objects.requireNonNull(pastor));
+        tamanno++;
+        if (cima.size() > enMemoria) {
+            compactar();
+        }
+    }
+
+    /**
+     * Saca al pastor de la cima. O(1) amortizado.
+     *
+     * @return el pastor de la cima
+     * @throws NoSuchElementException si la pila está vacía
+     */
+    public Pastor desapilar() {
+        if (tamanno == 0) {
+            throw new NoSuchElementException("La pila está vacía");
+        }
+        if (cima.isEmpty()) {
+            recuperar();
+        }
+        tamanno--;
+        return cima.removeLast();
+    }
+
+    /**
+     * @return el pastor de la cima sin sacarlo, o {@code null} si la pila está vacía
+     */
+    public Pastor verCima() {
+        if (cima.isEmpty() && tamanno > 0) {
+            recuperar();
+        }
+        return cima.peekLast();
+    }
+
+    /**
+     * Devuelve los últimos {@code cantidad} pastores apilados (o todos, si hay menos),
+     * desde el más antiguo. Cuesta O(cantidad), más leer un bloque si hay que bajar a los
+     * compactados.
+     *
+     * @param cantidad pastores a devolver
+     * @return lista nueva con los pastores, desde el más antiguo
+     */
+    public List<Pastor> ultimos(int cantidad) {
+        int faltan = Math.min(cantidad, tamanno);
+        List<Pastor> ultimos = new ArrayList<>(faltan);
+        Iterator<Pastor> deLaCima = cima.descendingIterator();
+        while (faltan > 0 && deLaCima.hasNext()) {
+            ultimos.add(deLaCima.next());
+            faltan--;
+        }
+        Iterator<ByteBuffer> bloquesEnMemoria = compactados.descendingIterator();
+        int bloque = bloquesEnDisco + compactados.size();
+        while (faltan > 0) {
+            bloque--;
+            ByteBuffer datos = bloquesEnMemoria.hasNext() ? bloquesEnMemoria.next().duplicate() : leerBloque(bloque);
+            List<Pastor> pastores = new ArrayList<>(porBloque);
+            for (int i = 0; i < porBloque; i++) {
+                pastores.add(leer(datos, bloque * porBloque + i));
+            }
+            for (int i = porBloque - 1; i >= 0 && faltan > 0; i--, faltan--) {
+                ultimos.add(pastores.get(i));
+            }
+        }
+        Collections.reverse(ultimos);
+        return ultimos;
+    }
+
+    /**
+     * Vacía la pila.
+     */
+    public void vaciar() {
+        cima.clear();
+        compactados.clear();
+        nombresLibres.clear();
+        bloquesEnDisco = 0;
+        tamanno = 0;
+    }
+
+    /**
+     * Recorre la pila desde el fondo; los pastores compactados se devuelven como copias.
+     * La pila no debe cambiar durante el recorrido.
+     */
+    @Override
+    public Iterator<Pastor> iterator() {
+        return new Iterator<>() {
+            private final Iterator<ByteBuffer> bloquesEnMemoria = compactados.iterator();
+            private final Iterator<Pastor> deLaCima = cima.iterator();
+            private int siguienteEnDisco;
+            /** Bloque que se está leyendo, o {@code null} al llegar a la cima. */
+            private ByteBuffer bloque;
+            private int posicion;
+
+            @Override
+            public boolean hasNext() {
+                return posicion < tamanno;
+            }
+
+            @Override
+            public Pastor next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (bloque == null || !bloque.hasRemaining()) {
+                    if (siguienteEnDisco < bloquesEnDisco) {
+                        bloque = leerBloque(siguienteEnDisco++);
+                    } else {
+                        bloque = bloquesEnMemoria.hasNext() ? bloquesEnMemoria.next().duplicate() : null;
+                    }
+                }
+                Pastor pastor = bloque != null ? leer(bloque, posicion) : deLaCima.next();
+                posicion++;
+                return pastor;
+            }
+        };
+    }
+
+    /**
+     * Cierra y borra el archivo de desborde, si se llegó a crear. La pila se vacía.
+     */
+    @Override
+    public void close() {
+        vaciar();
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                canal = null;
+            }
+        }
+    }
+
+    // ========================
+    //        CONSULTAS
+    // ========================
+
+    public int getTamanno() {
+        return tamanno;
+    }
+
+    public boolean estaVacia() {
+        return tamanno == 0;
+    }
+
+    /**
+     * @return {@code true} si la pila compacta los pastores que no caben en memoria
+     */
+    public boolean esCompacta() {
+        return enMemoria != Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return pastores compactados en memoria
+     */
+    public int getCompactados() {
+        return compactados.size() * porBloque;
+    }
+
+    /**
+     * @return pastores volcados al archivo de desborde
+     */
+    public int getEnDisco() {
+        return bloquesEnDisco * porBloque;
+    }
+
+    // ========================
+    //        BLOQUES
+    // ========================
+
+    /** Compacta el bloque más antiguo de la cima y, si no cabe en memoria, vuelca otro. */
+    private void compactar() {
+        int primero = tamanno - cima.size();
+        ByteBuffer bloque = ByteBuffer.allocate(porBloque * TAMANO_REGISTRO);
+        for (int i = 0; i < porBloque; i++) {
+            escribir(cima.removeFirst(), primero + i, bloque);
+        }
+        compactados.addLast(bloque.flip());
+        if (compactados.size() > maximoCompactados) {
+            volcar(compactados.removeFirst());
+        }
+    }
+
+    /** Devuelve a la cima, ya vacía, el bloque compactado más reciente. */
+    private void recuperar() {
+        ByteBuffer bloque = compactados.isEmpty() ? leerBloque(--bloquesEnDisco) : compactados.removeLast();
+        int primero = tamanno - porBloque;
+        for (int i = 0; i < porBloque; i++) {
+            cima.addLast(leer(bloque, primero + i));
+            nombresLibres.remove(primero + i);
+        }
+    }
+
+    private void volcar(ByteBuffer bloque) {
+        try {
+            if (canal == null) {
+                // CREATE_NEW: el desborde nunca sobrescribe ni borra un archivo que ya existía
+                canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            long posicion = (long) bloquesEnDisco * bloque.capacity();
+            while (bloque.hasRemaining()) {
+                posicion += canal.write(bloque, posicion);
+            }
+            bloquesEnDisco++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer leerBloque(int indice) {
+        ByteBuffer bloque = ByteBuffer.allocate(porBloque * TAMANO_REGISTRO);
+        long posicion = (long) indice * bloque.capacity();
+        try {
+            while (bloque.hasRemaining()) {
+                int leidos = canal.read(bloque, posicion + bloque.position());
+                if (leidos < 0) {
+                    throw new IOException("Bloque " + indice + " incompleto en " + archivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bloque.flip();
+    }
+
+    /** Escribe el registro del pastor que ocupa {@code posicion} desde el fondo. */
+    private void escribir(Pastor pastor, int posicion, ByteBuffer bloque) {
+        int codigoNombre = pastor.getCodigoNombre();
+        if (codigoNombre < 0 && pastor.getNombre() != null) {
+            codigoNombre = NOMBRE_LIBRE;
+            nombresLibres.put(posicion, pastor.getNombre());
+        }
+        bloque.putInt(pastor.getDinero());
+        bloque.putInt(pastor.getCreyentes());
+        bloque.putInt(codigoNombre);
+        bloque.put((byte) (pastor.getOficio() == null ? -1 : pastor.getOficio().ordinal()));
+    }
+
+    /** Lee el registro del pastor que ocupa {@code posicion} desde el fondo. */
+    private Pastor leer(ByteBuffer bloque, int posicion) {
+        Pastor pastor = new PastorMemoria(bloque.getInt(), bloque.getInt());
+        int codigoNombre = bloque.getInt();
+        byte oficio = bloque.get();
+        if (oficio >= 0) {
+            pastor.setOficio(OficiosPastores.desdeOrdinal(oficio));
+        }
+        if (codigoNombre == NOMBRE_LIBRE) {
+            pastor.setNombre(nombresLibres.get(posicion));
+        } else if (codigoNombre >= 0) {
+            pastor.setCodigoNombre(codigoNombre);
+        }
+        return pastor;
+    }
+}
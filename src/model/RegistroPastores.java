@@ -0,0 +1,214 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Padrón de pastores guardado en un archivo binario y leído mediante un mapeo en memoria.
+ *
+ * Cada pastor ocupa un registro de {@link #TAMANO_REGISTRO} bytes (dinero, creyentes,
+ * código del nombre y ordinal del oficio, en little-endian) tras una cabecera de
+ * {@link #TAMANO_CABECERA} bytes. Los datos no se copian al heap: {@link #vista(int)}
+ * devuelve un {@link PastorRegistro} que lee y escribe directamente su registro y solo
+ * guarda su desplazamiento. Lo que el registro no admite lo guarda el padrón aparte: qué
+ * pastores están en un {@link IndiceRiqueza}, un bit por registro (todos los del padrón
+ * comparten el mismo índice), y los nombres libres, que solo existen si se fijan.
+ *
+ * {@link #abrir(Path)} mapea el archivo en modo privado (copia en escritura): los cambios
+ * de la partida no llegan al archivo, así que un mismo padrón sirve para muchas partidas.
+ * {@link #crear(Path, int)} lo mapea en lectura y escritura para generarlo.
+ */
+public class RegistroPastores {
+
+    /** Marca al inicio del archivo ("PAST"). */
+    private static final int MAGICO = 0x50415354;
+    private static final int VERSION = 1;
+
+    /** Bytes de la cabecera: mágico, versión, cantidad de registros y tamaño de registro. */
+    public static final int TAMANO_CABECERA = 16;
+
+    /** Bytes de cada registro. */
+    public static final int TAMANO_REGISTRO = 16;
+
+    static final int DESPLAZAMIENTO_DINERO = 0;
+    static final int DESPLAZAMIENTO_CREYENTES = 4;
+    static final int DESPLAZAMIENTO_NOMBRE = 8;
+    static final int DESPLAZAMIENTO_OFICIO = 12;
+
+    /** Máximo de registros que caben en un solo mapeo. */
+    public static final int MAX_REGISTROS = (Integer.MAX_VALUE - TAMANO_CABECERA) / TAMANO_REGISTRO;
+
+    /** Cabecera y registros; las vistas lo leen y escriben directamente. */
+    final MappedByteBuffer datos;
+    private final int tamanno;
+
+    /** Índice de riqueza de los pastores del padrón que están en uno. */
+    private IndiceRiqueza indiceRiqueza;
+    /** Registros cuyo pastor está en {@link #indiceRiqueza}. */
+    private final BitSet enIndice = new BitSet();
+    /** Bits activos de {@link #enIndice}. */
+    private int cuantosEnIndice;
+    /** Nombres libres por desplazamiento de registro, o {@code null} si no hay ninguno. */
+    private Map<Integer, String> nombresLibres;
+
+    private RegistroPastores(MappedByteBuffer datos, int tamanno) {
+        this.datos = datos;
+        this.tamanno = tamanno;
+    }
+
+    /**
+     * Crea (o sobrescribe) un padrón de {@code tamanno} registros vacíos, listo para
+     * llenarlo con {@link #escribir(int, Pastor)}. Los cambios van al archivo.
+     *
+     * @param archivo ruta del padrón
+     * @param tamanno número de registros
+     * @return el padrón mapeado en lectura y escritura
+     * @throws IOException si no se puede crear o mapear el archivo
+     */
+    public static RegistroPastores crear(Path archivo, int tamanno) throws IOException {
+        if (tamanno < 0 || tamanno > MAX_REGISTROS) {
+            throw new IllegalArgumentException("Tamaño de padrón fuera de rango: " + tamanno);
+        }
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO_CABECERA + (long) tamanno * TAMANO_REGISTRO);
+        }
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        mapa.putInt(0, MAGICO);
+        mapa.putInt(4, VERSION);
+        mapa.putInt(8, tamanno);
+        mapa.putInt(12, TAMANO_REGISTRO);
+        return new RegistroPastores(mapa, tamanno);
+    }
+
+    /**
+     * Abre un padrón existente sin copiar sus registros. Las escrituras posteriores
+     * (por ejemplo, el dinero que cambia durante una partida) no se guardan en el archivo.
+     *
+     * @param archivo ruta del padrón
+     * @return el padrón mapeado en modo privado
+     * @throws IOException si el archivo no existe, no se puede mapear o no es un padrón válido
+     */
+    public static RegistroPastores abrir(Path archivo) throws IOException {
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < TAMANO_CABECERA || canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de padrón no válido: " + archivo);
+            }
+            mapa = canal.map(FileChannel.MapMode.PRIVATE, 0, canal.size());
+        }
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        int tamanno = mapa.getInt(8);
+        if (mapa.getInt(0) != MAGICO || mapa.getInt(4) != VERSION || mapa.getInt(12) != TAMANO_REGISTRO
+                || tamanno < 0 || mapa.capacity() < TAMANO_CABECERA + (long) tamanno * TAMANO_REGISTRO) {
+            throw new IOException("El archivo no es un padrón de pastores válido: " + archivo);
+        }
+        return new RegistroPastores(mapa, tamanno);
+    }
+
+    /**
+     * @return El número de registros del padrón.
+     */
+    public int getTamanno() {
+        return tamanno;
+    }
+
+    /**
+     * Copia los datos de un pastor en el registro {@code i}. Se puede llamar desde varios
+     * hilos a la vez siempre que escriban registros distintos.
+     *
+     * @param i      índice del registro
+     * @param pastor pastor con nombre de los diccionarios y oficio
+     */
+    public void escribir(int i, Pastor pastor) {
+        int base = desplazamiento(i);
+        datos.putInt(base + DESPLAZAMIENTO_DINERO, pastor.getDinero());
+        datos.putInt(base + DESPLAZAMIENTO_CREYENTES, pastor.getCreyentes());
+        datos.putInt(base + DESPLAZAMIENTO_NOMBRE, pastor.getCodigoNombre());
+        datos.put(base + DESPLAZAMIENTO_OFICIO, (byte) pastor.getOficio().ordinal());
+    }
+
+    /**
+     * Crea una vista del registro {@code i}. Cada llamada devuelve un objeto nuevo: quien
+     * la use como pastor de una mesa debe conservar la misma vista durante toda la partida,
+     * porque los pastores se comparan por identidad.
+     *
+     * @param i índice del registro
+     * @return un pastor que lee y escribe el registro
+     */
+    public PastorRegistro vista(int i) {
+        return new PastorRegistro(this, desplazamiento(i));
+    }
+
+    IndiceRiqueza getIndiceRiqueza(int base) {
+        return enIndice.get(numeroRegistro(base)) ? indiceRiqueza : null;
+    }
+
+    /**
+     * Apunta si el pastor del registro en {@code base} está en {@code indice}.
+     *
+     * @throws IllegalStateException si otro pastor del padrón está en un índice distinto
+     */
+    void setIndiceRiqueza(int base, IndiceRiqueza indice) {
+        int i = numeroRegistro(base);
+        boolean estaba = enIndice.get(i);
+        if (indice == null) {
+            if (estaba) {
+                enIndice.clear(i);
+                cuantosEnIndice--;
+            }
+            return;
+        }
+        if (indice != indiceRiqueza && cuantosEnIndice > (estaba ? 1 : 0)) {
+            throw new IllegalStateException("Los pastores de un padrón no pueden estar en dos índices de riqueza");
+        }
+        indiceRiqueza = indice;
+        if (!estaba) {
+            enIndice.set(i);
+            cuantosEnIndice++;
+        }
+    }
+
+    String getNombreLibre(int base) {
+        return nombresLibres == null ? null : nombresLibres.get(base);
+    }
+
+    /** Guarda el nombre libre del registro en {@code base}, o lo borra si es {@code null}. */
+    void setNombreLibre(int base, String nombre) {
+        if (nombre != null) {
+            if (nombresLibres == null) {
+                nombresLibres = new HashMap<>();
+            }
+            nombresLibres.put(base, nombre);
+        } else if (nombresLibres != null) {
+            nombresLibres.remove(base);
+        }
+    }
+
+    /**
+     * Fuerza la escritura al archivo de los cambios hechos sobre un padrón creado con
+     * {@link #crear(Path, int)}. No hace nada en un padrón abierto con {@link #abrir(Path)}.
+     */
+    public void guardar() {
+        datos.force();
+    }
+
+    private int desplazamiento(int i) {
+        if (i < 0 || i >= tamanno) {
+            throw new IndexOutOfBoundsException("Registro " + i + " fuera del padrón de " + tamanno);
+        }
+        return TAMANO_CABECERA + i * TAMANO_REGISTRO;
+    }
+
+    private static int numeroRegistro(int base) {
+        return (base - TAMANO_CABECERA) / TAMANO_REGISTRO;
+    }
+}
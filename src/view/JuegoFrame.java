@@ -7,16 +7,18 @@ import java.awt.Font;
 import java.awt.event.ActionListener;
 import java.util.*;
 import javax.swing.*;
-import model.Pastor;
+import model.InstantaneaMesa;
 
 
 public final class JuegoFrame extends JFrame {
 
     private final JLabel infoJugador; // etiqueta para mostrar datos
     private final JPanel panelMesa; // panel para la mesa y pila
+    private final MesaPanel mesaPanel; // se crea una vez y se actualiza en cada jugada
     private JButton btnAtacar;
     private JButton btnResucitar;
     private JButton btnRobar;
+    private JButton btnRapido;
     
 
     public JuegoFrame() {
@@ -30,6 +32,8 @@ public final class JuegoFrame extends JFrame {
         // === PANEL DE LA MESA Y LA PILA ===
         panelMesa = new JPanel(new BorderLayout());
         panelMesa.setBackground(new Color(0, 102, 51)); 
+        mesaPanel = new MesaPanel();
+        panelMesa.add(mesaPanel, BorderLayout.CENTER);
         add(panelMesa, BorderLayout.CENTER);
 
         // === PANEL INFERIOR (info jugador + botones) ===
@@ -60,8 +64,9 @@ public final class JuegoFrame extends JFrame {
         btnAtacar = new JButton("⚔️ Atacar");
         btnResucitar = new JButton("✝️ Resucitar");
         btnRobar = new JButton("🛡️ Robar");
+        btnRapido = new JButton("⏩ Jugar 100");
 
-        for (JButton btn : Arrays.asList(btnAtacar, btnResucitar, btnRobar)) {
+        for (JButton btn : Arrays.asList(btnAtacar, btnResucitar, btnRobar, btnRapido)) {
             btn.setBackground(new Color(200, 200, 200));
             btn.setFont(emojiFont);
             btn.setFocusPainted(false);
@@ -71,18 +76,28 @@ public final class JuegoFrame extends JFrame {
         panelBotones.add(btnAtacar);
         panelBotones.add(btnResucitar);
         panelBotones.add(btnRobar);
+        panelBotones.add(btnRapido);
 
         return panelBotones;
     }
 
-    // Método para refrescar mesa y pila
-    public void actualizarMesaYPila(ArrayList<Pastor> pastores, ArrayList<Pastor> pila) {
-        panelMesa.removeAll();
-        MesaPanel mesaPanel = new MesaPanel(pastores, pila);
-        mesaPanel.setBackground(new Color(0, 102, 51));
-        panelMesa.add(mesaPanel, BorderLayout.CENTER);
-        panelMesa.revalidate();
-        panelMesa.repaint();
+    // Método para mostrar el estado de la partida tras una jugada: el panel repinta solo lo que cambió
+    public void mostrar(InstantaneaMesa instantanea) {
+        mesaPanel.actualizar(instantanea);
+        if (instantanea.getTurno() != null) {
+            infoJugador.setText("Turno de: " + instantanea.getTurno().getNombre()
+                    + " | Riqueza: " + instantanea.getDineroTurno()
+                    + " | Feligreses: " + instantanea.getCreyentesTurno()
+                    + " | Oficio: " + instantanea.getOficioTurno());
+        }
+    }
+
+    // Activa o desactiva los botones mientras se juega una jugada
+    public void setControlesActivos(boolean activos) {
+        btnAtacar.setEnabled(activos);
+        btnResucitar.setEnabled(activos);
+        btnRobar.setEnabled(activos);
+        btnRapido.setEnabled(activos);
     }
 
     public String cantidadJugadores() {
@@ -106,14 +121,6 @@ public final class JuegoFrame extends JFrame {
         return seleccion == 0 ? "izquierda" : "derecha";
     }
 
-    // Método para actualizar la info del turn
-    public void mostrarTurno(Pastor pastor) {
-        infoJugador.setText("Turno de: " + pastor.getNombre()
-                + " | Riqueza: " + pastor.getDinero()
-                + " | Feligreses: " + pastor.getCreyentes()
-                + " | Oficio: " + pastor.getOficio());
-    }
-
 
 
     public void mostrarMensaje(String mensaje) {
@@ -129,5 +136,8 @@ public final class JuegoFrame extends JFrame {
     public void setBtnRobarListener(ActionListener listener) {
         btnRobar.addActionListener(listener);
     }
+    public void setBtnRapidoListener(ActionListener listener) {
+        btnRapido.addActionListener(listener);
+    }
 
 }
\ No newline at end of file
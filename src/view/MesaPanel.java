@@ -1,107 +1,680 @@
 package view;
 
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.swing.*;
+import model.CambioMesa;
+import model.InstantaneaMesa;
+import model.ListaCircularDoble;
 import model.Pastor;
 
 
+/**
+ * Panel persistente que dibuja la mesa circular y la pila.
+ *
+ * El panel se crea una vez y recibe cada estado nuevo con {@link #actualizar(InstantaneaMesa)}:
+ * guarda su propia copia de los asientos, le aplica los cambios que trae la instantánea
+ * (o la reemplaza si trae la mesa completa) y solo pide repintar las zonas que cambiaron.
+ * La copia es una {@link ListaCircularDoble} con posiciones, así que cada cambio cuesta
+ * O(log n) y no corre los asientos siguientes. Las fuentes, colores y trazos son
+ * constantes, el dibujo del asiento se pinta una vez en una imagen y el nombre de cada
+ * pastor visible se guarda como {@link GlyphVector}.
+ *
+ * El nivel de detalle depende del espacio que le toca a cada asiento en el círculo:
+ * <ul>
+ *   <li>{@link Nivel#DETALLE}: asiento completo con icono y nombre, como en una mesa pequeña.</li>
+ *   <li>{@link Nivel#PUNTOS}: un círculo por asiento, sin nombre.</li>
+ *   <li>{@link Nivel#BANDAS}: los asientos se agrupan en bandas del anillo coloreadas según
+ *       el dinero medio de su parte de la muestra que trae la instantánea (de frío a
+ *       caliente).</li>
+ * </ul>
+ * Del pastor solo se lee en este hilo el nombre; el dinero, que el hilo del juego cambia
+ * mientras tanto, sale siempre de la instantánea.
+ * Solo se recorren los asientos (o bandas) cuyo ángulo cae en la zona a repintar, así que
+ * el tiempo de dibujo depende de los píxeles y no del número de asientos. La rueda del
+ * ratón acerca y aleja la mesa alrededor del cursor, arrastrar la desplaza y un doble clic
+ * la devuelve a su sitio; sobre la pila, la rueda recorre las entradas de su cima que trae
+ * la instantánea ({@link InstantaneaMesa#VENTANA_PILA}), de las que solo se pintan las
+ * visibles.
+ */
 public class MesaPanel extends JPanel {
 
-    private ArrayList<Pastor> pastores;
-    private ArrayList<Pastor> pila;
+    /** Forma de dibujar los asientos según el espacio disponible. */
+    enum Nivel { DETALLE, PUNTOS, BANDAS }
 
-    public MesaPanel(ArrayList<Pastor> pastores, ArrayList<Pastor> pila) {
-        this.pastores = pastores;
-        this.pila = pila;
+    private static final Color COLOR_FONDO = new Color(0, 102, 51);
+    private static final Color COLOR_ASIENTO = new Color(230, 230, 250);
+    private static final Font FUENTE_NOMBRE = new Font("Serif", Font.BOLD, 14);
+    private static final Font FUENTE_ICONO = new Font("Serif", Font.PLAIN, 24);
+    private static final Font FUENTE_PILA = new Font("Serif", Font.BOLD, 16);
+    private static final Font FUENTE_AVISO = new Font("Serif", Font.PLAIN, 12);
+    private static final BasicStroke TRAZO_ASIENTO = new BasicStroke(2);
+    private static final String ICONO = "♟";
+
+    /** Colores de las bandas, del grupo más pobre al más rico. */
+    private static final Color[] PALETA = new Color[64];
+
+    static {
+        for (int i = 0; i < PALETA.length; i++) {
+            float t = i / (float) (PALETA.length - 1);
+            PALETA[i] = Color.getHSBColor(0.66f * (1 - t), 0.85f, 0.95f);
+        }
+    }
+
+    // Medidas de la mesa
+    private static final int TAMANO_ASIENTO = 80;
+    /** Espacio mínimo por asiento, en píxeles de arco, para dibujarlo como un círculo. */
+    private static final double ARCO_MINIMO_PUNTO = 3;
+    /** Ancho en píxeles de arco de cada banda. */
+    private static final double ARCO_BANDA = 4;
+    private static final int GROSOR_ANILLO = 24;
+    /** Medio ancho máximo que se reserva para el nombre de un asiento. */
+    private static final int MEDIO_ANCHO_NOMBRE = 120;
+    private static final double ZOOM_MINIMO = 0.25;
+    private static final double ZOOM_MAXIMO = 1e6;
+    /** Mesas hasta este tamaño guardan la dirección de cada asiento en una tabla. */
+    private static final int LIMITE_TABLA = 1 << 16;
+    /** Nombres convertidos en glifos que se guardan como máximo. */
+    private static final int LIMITE_GLIFOS = 4096;
+    /** Asientos cambiados a partir de los cuales se repinta la mesa entera. */
+    private static final int LIMITE_ZONAS = 64;
+    /** Entradas de la muestra de dinero que se miran para el color de cada banda. */
+    private static final int MUESTRA_BANDA = 8;
+
+    // Medidas de la pila
+    private static final int ANCHO_COLUMNA_PILA = 170;
+    private static final int MARGEN_SUPERIOR = 60;
+    private static final int MARGEN_INFERIOR = 50;
+    private static final int ANCHO_BLOQUE = 100;
+    private static final int ALTURA_MAXIMA_BLOQUE = 40;
+    private static final int ALTURA_MINIMA_BLOQUE = 20;
+
+    /** Última instantánea recibida. */
+    private InstantaneaMesa instantanea = InstantaneaMesa.VACIA;
+    /** Copia de los asientos, al día con los cambios de todas las instantáneas recibidas. */
+    private final ListaCircularDoble<Pastor> mesa = new ListaCircularDoble<>(ListaCircularDoble.TipoIndice.NINGUNO, true);
+    /** {@link #mesa} como lista, para leer los asientos por posición en O(log n). */
+    private final List<Pastor> asientos = mesa.vista();
+    /** Últimas entradas de la pila que trae la instantánea, desde la más antigua. */
+    private List<Pastor> pila = instantanea.getPila();
+    private int tamannoPila;
+
+    /** Coseno y seno del ángulo de cada asiento, o {@code null} en mesas muy grandes. */
+    private double[] cosenos;
+    private double[] senos;
+
+    // Vista: acercamiento y desplazamiento del centro de la mesa
+    private double zoom = 1;
+    private double desplazamientoX;
+    private double desplazamientoY;
+    /** Primera entrada visible de {@link #pila}. */
+    private int primeroPila;
+
+    // Geometría del último dibujo (se recalcula en cada uno, es O(1))
+    private double centroX;
+    private double centroY;
+    private double radio;
+    private double paso;
+    private Nivel nivel = Nivel.DETALLE;
+
+    /** Nombres de los pastores visibles ya convertidos en glifos. */
+    private final Map<Pastor, GlyphVector> glifos = new IdentityHashMap<>();
+    private FontRenderContext contextoGlifos;
+
+    /** Asiento (óvalo e icono) pintado una sola vez. */
+    private BufferedImage imagenAsiento;
+
+    // Vértices de la banda que se está dibujando
+    private final int[] bandaX = new int[4];
+    private final int[] bandaY = new int[4];
+
+    public MesaPanel() {
+        setBackground(COLOR_FONDO);
+        setOpaque(true);
+        MouseAdapter raton = new MouseAdapter() {
+            private Point anterior;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                anterior = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (anterior != null && !zonaPila().contains(anterior)) {
+                    desplazar(e.getX() - anterior.x, e.getY() - anterior.y);
+                }
+                anterior = e.getPoint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && !zonaPila().contains(e.getPoint())) {
+                    restablecerVista();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (zonaPila().contains(e.getPoint())) {
+                    desplazarPila(e.getWheelRotation() * 3);
+                } else {
+                    acercar(Math.pow(1.2, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+                }
+            }
+        };
+        addMouseListener(raton);
+        addMouseMotionListener(raton);
+        addMouseWheelListener(raton);
+    }
+
+    /**
+     * Recibe el estado nuevo de la mesa y la pila y repinta solo lo que cambió. Una
+     * instantánea por cambios se aplica sobre la copia de los asientos y se repintan los
+     * asientos entre la primera y la última posición tocadas; una completa reemplaza la
+     * copia, le aplica los cambios que traiga detrás y se repinta cada asiento cuyo
+     * pastor es otro. Si cambia el número de asientos, o la mesa se dibuja en bandas, se
+     * repinta la mesa entera. Debe llamarse en el hilo de eventos de Swing.
+     *
+     * @param nueva instantánea de la partida
+     * @throws IllegalStateException si los cambios no cuadran con la copia de los asientos
+     */
+    public void actualizar(InstantaneaMesa nueva) {
+        int anteriores = asientos.size();
+        List<Pastor> pilaAnterior = pila;
+        int tamannoPilaAnterior = tamannoPila;
+        instantanea = nueva;
+        pila = nueva.getPila();
+        tamannoPila = nueva.getTamannoPila();
+
+        if (nueva.esCompleta()) {
+            List<Pastor> copia = new ArrayList<>(asientos);
+            mesa.borrarLista();
+            for (Pastor pastor : nueva.getAsientos()) {
+                mesa.insertarAlFinal(pastor);
+            }
+            CambioMesa.aplicar(mesa, nueva.getCambios());
+            comprobarAsientos(nueva);
+            repintarMesa(anteriores, copia, 0);
+        } else {
+            List<CambioMesa> cambios = nueva.getCambios();
+            int desde = Integer.MAX_VALUE;
+            int hasta = -1;
+            for (CambioMesa cambio : cambios) {
+                desde = Math.min(desde, Math.min(cambio.getPosicion(), cambio.getDestino()));
+                hasta = Math.max(hasta, Math.max(cambio.getPosicion(), cambio.getDestino()));
+            }
+            // Entre la primera y la última posición tocadas los asientos se corren; fuera
+            // de ellas no cambian si el número de asientos es el mismo
+            List<Pastor> copia = hasta >= 0 && hasta - desde < LIMITE_ZONAS
+                    ? new ArrayList<>(asientos.subList(desde, Math.min(hasta + 1, anteriores)))
+                    : null;
+            CambioMesa.aplicar(mesa, cambios);
+            comprobarAsientos(nueva);
+            if (hasta >= 0) {
+                repintarMesa(anteriores, copia, desde);
+            } else if (nivel == Nivel.BANDAS) {
+                // Sin cambios de asientos, el dinero de la muestra puede haber cambiado
+                repaint(zonaMesa());
+            }
+        }
+
+        if (tamannoPila != tamannoPilaAnterior || !mismaPila(pilaAnterior)) {
+            primeroPila = Math.max(0, Math.min(primeroPila, pila.size() - visiblesPila()));
+            repaint(zonaPila());
+        }
+    }
+
+    private void comprobarAsientos(InstantaneaMesa nueva) {
+        if (asientos.size() != nueva.getNumeroAsientos()) {
+            throw new IllegalStateException("La mesa tiene " + nueva.getNumeroAsientos()
+                    + " asientos y la copia de la vista " + asientos.size());
+        }
+    }
+
+    /**
+     * Pide repintar la mesa tras cambiar los asientos.
+     *
+     * @param anteriores número de asientos antes del cambio
+     * @param copia      pastores que ocupaban los asientos desde {@code desde}, o
+     *                   {@code null} si cambiaron demasiados para repintarlos uno a uno
+     * @param desde      primer asiento de {@code copia}
+     */
+    private void repintarMesa(int anteriores, List<Pastor> copia, int desde) {
+        if (asientos.size() != anteriores) {
+            calcularDirecciones();
+            repaint(zonaMesa());
+            return;
+        }
+        calcularGeometria();
+        if (nivel == Nivel.BANDAS || copia == null) {
+            // El color de las bandas depende del dinero, que cambia sin cambiar asientos
+            repaint(zonaMesa());
+            return;
+        }
+        int cambios = 0;
+        for (int k = 0; k < copia.size(); k++) {
+            int i = desde + k;
+            Pastor anterior = copia.get(k);
+            if (anterior == asientos.get(i)) {
+                continue;
+            }
+            if (++cambios > LIMITE_ZONAS) {
+                repaint(zonaMesa());
+                return;
+            }
+            // La zona vieja y la nueva pueden diferir por el largo del nombre
+            repaint(zonaAsiento(i, anterior));
+            repaint(zonaAsiento(i, asientos.get(i)));
+        }
+    }
+
+    // ========================
+    //          VISTA
+    // ========================
+
+    /**
+     * Acerca (factor mayor que 1) o aleja la mesa dejando fijo el punto {@code (x, y)}.
+     */
+    public void acercar(double factor, int x, int y) {
+        double nuevo = Math.max(ZOOM_MINIMO, Math.min(ZOOM_MAXIMO, zoom * factor));
+        factor = nuevo / zoom;
+        calcularGeometria();
+        double baseX = centroX - desplazamientoX;
+        double baseY = centroY - desplazamientoY;
+        desplazamientoX = x + (centroX - x) * factor - baseX;
+        desplazamientoY = y + (centroY - y) * factor - baseY;
+        zoom = nuevo;
+        repaint(zonaMesa());
+    }
+
+    /** Desplaza la mesa {@code (dx, dy)} píxeles. */
+    public void desplazar(int dx, int dy) {
+        desplazamientoX += dx;
+        desplazamientoY += dy;
+        repaint(zonaMesa());
+    }
+
+    /** Vuelve a la mesa completa y centrada. */
+    public void restablecerVista() {
+        zoom = 1;
+        desplazamientoX = 0;
+        desplazamientoY = 0;
+        repaint(zonaMesa());
+    }
+
+    /** Recorre la pila {@code entradas} posiciones (hacia la cima si es positivo). */
+    public void desplazarPila(int entradas) {
+        int anterior = primeroPila;
+        primeroPila = Math.max(0, Math.min(primeroPila + entradas, pila.size() - visiblesPila()));
+        if (primeroPila != anterior) {
+            repaint(zonaPila());
+        }
     }
 
+    // ========================
+    //         DIBUJO
+    // ========================
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Rectangle recorte = g2d.getClipBounds();
+        if (recorte == null) {
+            recorte = new Rectangle(0, 0, getWidth(), getHeight());
+        }
 
-        int ancho = getWidth();
-        int alto = getHeight();
+        calcularGeometria();
+        Rectangle mesa = recorte.intersection(zonaMesa());
+        if (!mesa.isEmpty() && !asientos.isEmpty()) {
+            Shape recorteOriginal = g2d.getClip();
+            g2d.clip(mesa);
+            switch (nivel) {
+                case DETALLE -> dibujarAsientos(g2d, mesa);
+                case PUNTOS -> dibujarPuntos(g2d, mesa);
+                case BANDAS -> dibujarBandas(g2d, mesa);
+            }
+            g2d.setClip(recorteOriginal);
+        }
+        if (recorte.intersects(zonaPila())) {
+            dibujarPila(g2d);
+        }
+    }
 
-        // === Dibujar la mesa circular (jugadores) ===
-        int radio = 220;
-        int centroX = ancho / 2 - 150;
-        int centroY = alto / 2;
+    /** Dibuja con imagen y nombre los asientos que tocan la zona a repintar. */
+    private void dibujarAsientos(Graphics2D g2d, Rectangle recorte) {
+        FontRenderContext contexto = g2d.getFontRenderContext();
+        if (!contexto.equals(contextoGlifos) || glifos.size() > LIMITE_GLIFOS) {
+            glifos.clear();
+            contextoGlifos = contexto;
+        }
+        BufferedImage imagen = imagenAsiento(g2d);
+        int mitad = imagen.getWidth() / 2;
+        FontMetrics fm = getFontMetrics(FUENTE_NOMBRE);
+        long[] rango = rangoVisible(recorte, paso, TAMANO_ASIENTO / 2.0 + fm.getAscent() + 5, MEDIO_ANCHO_NOMBRE);
 
-        int n = pastores.size();
-        for (int i = 0; i < n; i++) {
-            Pastor p = pastores.get(i);
-            double angulo = 2 * Math.PI * i / n - Math.PI / 2;
-            int x = (int) (centroX + radio * Math.cos(angulo));
-            int y = (int) (centroY + radio * Math.sin(angulo));
+        g2d.setColor(Color.BLACK);
+        for (long k = rango[0]; k < rango[1]; k++) {
+            int i = (int) Math.floorMod(k, (long) asientos.size());
+            int x = (int) (centroX + radio * coseno(i));
+            int y = (int) (centroY + radio * seno(i));
+            g2d.drawImage(imagen, x - mitad, y - mitad, null);
 
-            int size = 80;
-            g2d.setColor(new Color(230, 230, 250));
-            g2d.fillOval(x - size / 2, y - size / 2, size, size);
+            Pastor pastor = asientos.get(i);
+            GlyphVector nombre = glifos.get(pastor);
+            if (nombre == null) {
+                nombre = FUENTE_NOMBRE.createGlyphVector(contexto, pastor.getNombre());
+                glifos.put(pastor, nombre);
+            }
+            float anchoNombre = (float) nombre.getLogicalBounds().getWidth();
+            g2d.drawGlyphVector(nombre, x - anchoNombre / 2, y - TAMANO_ASIENTO / 2 - 5);
+        }
+    }
 
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(x - size / 2, y - size / 2, size, size);
+    /** Dibuja cada asiento visible como un círculo, sin nombre. */
+    private void dibujarPuntos(Graphics2D g2d, Rectangle recorte) {
+        int diametro = (int) Math.max(2, Math.min(TAMANO_ASIENTO, radio * paso * 0.8));
+        long[] rango = rangoVisible(recorte, paso, diametro / 2.0 + 1, diametro / 2.0 + 1);
+        boolean conBorde = diametro >= 8;
+        for (long k = rango[0]; k < rango[1]; k++) {
+            int i = (int) Math.floorMod(k, (long) asientos.size());
+            int x = (int) (centroX + radio * coseno(i)) - diametro / 2;
+            int y = (int) (centroY + radio * seno(i)) - diametro / 2;
+            g2d.setColor(COLOR_ASIENTO);
+            g2d.fillOval(x, y, diametro, diametro);
+            if (conBorde) {
+                g2d.setColor(Color.BLACK);
+                g2d.drawOval(x, y, diametro, diametro);
+            }
+        }
+    }
+
+    /**
+     * Agrupa los asientos en bandas del anillo de unos {@link #ARCO_BANDA} píxeles y pinta
+     * cada banda visible con el color de su dinero medio, según la muestra de la instantánea.
+     */
+    private void dibujarBandas(Graphics2D g2d, Rectangle recorte) {
+        int n = asientos.size();
+        int bandas = (int) Math.max(1, Math.min(n, 2 * Math.PI * radio / ARCO_BANDA));
+        double pasoBanda = 2 * Math.PI / bandas;
+        double interior = radio - GROSOR_ANILLO / 2.0;
+        double exterior = radio + GROSOR_ANILLO / 2.0;
+        long[] rango = rangoVisible(recorte, pasoBanda, GROSOR_ANILLO, GROSOR_ANILLO);
+        int muestra = instantanea.getTamannoMuestra();
+        if (muestra == 0) {
+            return;
+        }
+        int minimo = instantanea.getDineroMinimo();
+        int diferencia = Math.max(1, instantanea.getDineroMaximo() - minimo);
 
-            // Nombre del pastor
-            g2d.setFont(new Font("Serif", Font.BOLD, 14));
-            FontMetrics fm = g2d.getFontMetrics();
-            String nombre = p.getNombre();
-            int textWidth = fm.stringWidth(nombre);
-            g2d.drawString(nombre, x - textWidth / 2, y - size / 2 - 5);
+        for (long k = rango[0]; k < rango[1]; k++) {
+            int b = (int) Math.floorMod(k, (long) bandas);
+            // La muestra está repartida por igual entre los asientos, como las bandas
+            int desde = (int) ((long) b * muestra / bandas);
+            int hasta = (int) ((long) (b + 1) * muestra / bandas);
+            double medio = dineroMedio(desde, hasta);
+            int color = (int) ((medio - minimo) * (PALETA.length - 1) / diferencia);
+            g2d.setColor(PALETA[Math.max(0, Math.min(PALETA.length - 1, color))]);
 
-            // Icono ♟
-            g2d.setFont(new Font("Serif", Font.PLAIN, 24));
-            String icono = "♟";
-            int iconWidth = g2d.getFontMetrics().stringWidth(icono);
-            int iconHeight = g2d.getFontMetrics().getAscent();
-            g2d.drawString(icono, x - iconWidth / 2, y + iconHeight / 4);
+            // Cada banda empieza medio asiento antes de su primer asiento, como los puntos
+            double inicio = b * pasoBanda - Math.PI / 2 - paso / 2;
+            double fin = inicio + pasoBanda;
+            verticeBanda(0, interior, inicio);
+            verticeBanda(1, exterior, inicio);
+            verticeBanda(2, exterior, fin);
+            verticeBanda(3, interior, fin);
+            g2d.fillPolygon(bandaX, bandaY, 4);
         }
+    }
 
-        // === Dibujar la pila ===
-        int baseX = ancho - 150;
-        int margenSuperior = 60;
-        int margenInferior = 50;
+    /**
+     * Dinero medio de hasta {@link #MUESTRA_BANDA} entradas repartidas en {@code [desde, hasta)}
+     * de la muestra de la instantánea; si la banda no tiene ninguna, el de la entrada
+     * {@code desde}.
+     */
+    private double dineroMedio(int desde, int hasta) {
+        if (hasta <= desde) {
+            return instantanea.getDineroMuestra(Math.min(desde, instantanea.getTamannoMuestra() - 1));
+        }
+        int salto = Math.max(1, (hasta - desde) / MUESTRA_BANDA);
+        long total = 0;
+        int vistos = 0;
+        for (int j = desde; j < hasta; j += salto) {
+            total += instantanea.getDineroMuestra(j);
+            vistos++;
+        }
+        return total / (double) vistos;
+    }
 
-        int espacioTotal = alto - (margenSuperior + margenInferior);
-        int alturaBloque = Math.min(40, espacioTotal / Math.max(1, pila.size()));
-        int anchoBloque = 100;
+    private void verticeBanda(int v, double distancia, double angulo) {
+        bandaX[v] = (int) Math.round(centroX + distancia * Math.cos(angulo));
+        bandaY[v] = (int) Math.round(centroY + distancia * Math.sin(angulo));
+    }
+
+    /**
+     * Dibuja las entradas visibles de la pila, desde {@link #primeroPila}. Se numeran
+     * desde el fondo de la pila entera, aunque solo se reciban las de la cima.
+     */
+    private void dibujarPila(Graphics2D g2d) {
+        int ancho = getWidth();
+        int baseX = ancho - 150;
+        int alturaBloque = alturaBloquePila();
+        int visibles = visiblesPila();
+        int hasta = Math.min(pila.size(), primeroPila + visibles);
 
         g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Serif", Font.BOLD, 16));
-        g2d.drawString("Pila de desposeídos", baseX - 20, margenSuperior - 20);
+        g2d.setFont(FUENTE_PILA);
+        g2d.drawString("Pila de desposeídos", baseX - 20, MARGEN_SUPERIOR - 20);
 
-        for (int i = 0; i < pila.size(); i++) {
-            Pastor p = pila.get(i);
-            int y = margenSuperior + i * alturaBloque;
+        for (int i = primeroPila; i < hasta; i++) {
+            int y = MARGEN_SUPERIOR + (i - primeroPila) * alturaBloque;
 
             g2d.setColor(Color.LIGHT_GRAY);
-            g2d.fillRect(baseX, y, anchoBloque, alturaBloque - 5);
+            g2d.fillRect(baseX, y, ANCHO_BLOQUE, alturaBloque - 5);
 
             g2d.setColor(Color.BLACK);
-            g2d.drawRect(baseX, y, anchoBloque, alturaBloque - 5);
-            g2d.drawString(p.getNombre(), baseX + 10, y + alturaBloque / 2);
+            g2d.drawRect(baseX, y, ANCHO_BLOQUE, alturaBloque - 5);
+            g2d.drawString(pila.get(i).getNombre(), baseX + 10, y + alturaBloque / 2);
+        }
+
+        if (hasta - primeroPila < tamannoPila) {
+            int fondo = tamannoPila - pila.size();
+            g2d.setFont(FUENTE_AVISO);
+            g2d.drawString((fondo + primeroPila + 1) + "–" + (fondo + hasta) + " de " + tamannoPila,
+                    baseX, MARGEN_SUPERIOR + visibles * alturaBloque + 12);
+        }
+    }
+
+    /** Pinta (una sola vez) el óvalo del asiento con su icono en una imagen compatible. */
+    private BufferedImage imagenAsiento(Graphics2D g2d) {
+        if (imagenAsiento == null) {
+            int lado = TAMANO_ASIENTO + 4;
+            GraphicsConfiguration configuracion = g2d.getDeviceConfiguration();
+            imagenAsiento = configuracion.createCompatibleImage(lado, lado, Transparency.TRANSLUCENT);
+            Graphics2D g = imagenAsiento.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(COLOR_ASIENTO);
+            g.fillOval(2, 2, TAMANO_ASIENTO, TAMANO_ASIENTO);
+            g.setColor(Color.BLACK);
+            g.setStroke(TRAZO_ASIENTO);
+            g.drawOval(2, 2, TAMANO_ASIENTO, TAMANO_ASIENTO);
+
+            g.setFont(FUENTE_ICONO);
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(ICONO, lado / 2 - fm.stringWidth(ICONO) / 2, lado / 2 + fm.getAscent() / 4);
+            g.dispose();
+        }
+        return imagenAsiento;
+    }
+
+    // ========================
+    //        GEOMETRÍA
+    // ========================
+
+    /** Centro, radio, paso angular y nivel de detalle para el tamaño y la vista actuales. */
+    private void calcularGeometria() {
+        int ancho = getWidth();
+        int alto = getHeight();
+        double radioBase = Math.max(60, Math.min(ancho - 300, alto) / 2.0 - 70);
+        centroX = ancho / 2.0 - 150 + desplazamientoX;
+        centroY = alto / 2.0 + desplazamientoY;
+        radio = radioBase * zoom;
+
+        int n = asientos.size();
+        paso = n == 0 ? 2 * Math.PI : 2 * Math.PI / n;
+        double arco = radio * paso;
+        nivel = arco >= TAMANO_ASIENTO ? Nivel.DETALLE : arco >= ARCO_MINIMO_PUNTO ? Nivel.PUNTOS : Nivel.BANDAS;
+    }
+
+    /** Rellena la tabla de direcciones de los asientos si la mesa no es demasiado grande. */
+    private void calcularDirecciones() {
+        int n = asientos.size();
+        if (n > LIMITE_TABLA) {
+            cosenos = null;
+            senos = null;
+            return;
+        }
+        cosenos = new double[n];
+        senos = new double[n];
+        for (int i = 0; i < n; i++) {
+            double angulo = 2 * Math.PI * i / n - Math.PI / 2;
+            cosenos[i] = Math.cos(angulo);
+            senos[i] = Math.sin(angulo);
+        }
+    }
+
+    private double coseno(int i) {
+        return cosenos != null ? cosenos[i] : Math.cos(2 * Math.PI * i / asientos.size() - Math.PI / 2);
+    }
+
+    private double seno(int i) {
+        return senos != null ? senos[i] : Math.sin(2 * Math.PI * i / asientos.size() - Math.PI / 2);
+    }
+
+    /**
+     * Calcula el rango de posiciones del anillo (asientos o bandas de ángulo {@code paso},
+     * empezando arriba) que pueden tocar un rectángulo, sin recorrer las demás.
+     *
+     * @param zona   rectángulo a cubrir
+     * @param paso   ángulo de cada posición
+     * @param margen distancia al anillo que ocupa el dibujo de una posición, hacia dentro y fuera
+     * @param lateral medio ancho del dibujo de una posición a lo largo del anillo
+     * @return {@code [desde, hasta)} sin reducir módulo el número de posiciones; las
+     *         posiciones {@code k} se corresponden con {@code floorMod(k, total)}
+     */
+    private long[] rangoVisible(Rectangle zona, double paso, double margen, double lateral) {
+        int total = (int) Math.round(2 * Math.PI / paso);
+        double x0 = zona.getMinX() - lateral;
+        double y0 = zona.getMinY() - lateral;
+        double x1 = zona.getMaxX() + lateral;
+        double y1 = zona.getMaxY() + lateral;
+
+        // Distancias del centro al punto más cercano y más lejano del rectángulo
+        double cercaX = Math.max(x0 - centroX, Math.max(0, centroX - x1));
+        double cercaY = Math.max(y0 - centroY, Math.max(0, centroY - y1));
+        double lejosX = Math.max(Math.abs(x0 - centroX), Math.abs(x1 - centroX));
+        double lejosY = Math.max(Math.abs(y0 - centroY), Math.abs(y1 - centroY));
+        if (Math.hypot(cercaX, cercaY) > radio + margen || Math.hypot(lejosX, lejosY) < radio - margen) {
+            return new long[] {0, 0};
+        }
+        if (cercaX == 0 && cercaY == 0) {
+            return new long[] {0, total};
+        }
+
+        // Con el centro fuera del rectángulo, sus esquinas abarcan menos de media vuelta
+        double referencia = Math.atan2((y0 + y1) / 2 - centroY, (x0 + x1) / 2 - centroX);
+        double minimo = 0;
+        double maximo = 0;
+        double[] esquinasX = {x0, x1, x1, x0};
+        double[] esquinasY = {y0, y0, y1, y1};
+        for (int e = 0; e < 4; e++) {
+            double diferencia = Math.atan2(esquinasY[e] - centroY, esquinasX[e] - centroX) - referencia;
+            diferencia = Math.IEEEremainder(diferencia, 2 * Math.PI);
+            minimo = Math.min(minimo, diferencia);
+            maximo = Math.max(maximo, diferencia);
+        }
+        // El asiento 0 está arriba, en el ángulo -π/2
+        long desde = (long) Math.floor((referencia + minimo + Math.PI / 2) / paso) - 1;
+        long hasta = (long) Math.ceil((referencia + maximo + Math.PI / 2) / paso) + 2;
+        if (hasta - desde >= total) {
+            return new long[] {0, total};
         }
+        return new long[] {desde, hasta};
+    }
+
+    /** Zona del asiento {@code i} ocupado por {@code pastor}, según la geometría y el nivel actuales. */
+    private Rectangle zonaAsiento(int i, Pastor pastor) {
+        int x = (int) (centroX + radio * coseno(i));
+        int y = (int) (centroY + radio * seno(i));
+        if (nivel != Nivel.DETALLE) {
+            int mitad = (int) Math.min(TAMANO_ASIENTO, radio * paso) / 2 + 2;
+            return new Rectangle(x - mitad, y - mitad, 2 * mitad, 2 * mitad);
+        }
+        FontMetrics fm = getFontMetrics(FUENTE_NOMBRE);
+        int mitad = TAMANO_ASIENTO / 2 + 2;
+        int mitadNombre = fm.stringWidth(pastor.getNombre()) / 2 + 2;
+        int mitadAncho = Math.max(mitad, mitadNombre);
+        int arriba = mitad + 5 + fm.getAscent();
+        return new Rectangle(x - mitadAncho, y - arriba, 2 * mitadAncho, arriba + mitad);
+    }
+
+    /** Parte del panel a la izquierda de la pila, donde se dibuja la mesa. */
+    private Rectangle zonaMesa() {
+        return new Rectangle(0, 0, Math.max(0, getWidth() - ANCHO_COLUMNA_PILA), getHeight());
     }
 
-    // Getters y Setters
+    /** Columna de la derecha que ocupa la pila, con su título. */
+    private Rectangle zonaPila() {
+        int desde = getWidth() - ANCHO_COLUMNA_PILA;
+        return new Rectangle(desde, 0, getWidth() - desde, getHeight());
+    }
 
-    public ArrayList<Pastor> getPastores() {
-        return pastores;
+    private int alturaBloquePila() {
+        int espacioTotal = getHeight() - (MARGEN_SUPERIOR + MARGEN_INFERIOR);
+        return Math.max(ALTURA_MINIMA_BLOQUE,
+                Math.min(ALTURA_MAXIMA_BLOQUE, espacioTotal / Math.max(1, tamannoPila)));
     }
 
-    public void setPastores(ArrayList<Pastor> pastores) {
-        this.pastores = pastores;
+    /** Entradas de la pila que caben en la columna. */
+    private int visiblesPila() {
+        int espacioTotal = getHeight() - (MARGEN_SUPERIOR + MARGEN_INFERIOR);
+        return Math.max(1, espacioTotal / alturaBloquePila());
     }
 
-    public ArrayList<Pastor> getPila() {
-        return pila;
+    private boolean mismaPila(List<Pastor> anterior) {
+        if (anterior.size() != pila.size()) {
+            return false;
+        }
+        for (int i = 0; i < pila.size(); i++) {
+            if (anterior.get(i) != pila.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Getters
+
+    public InstantaneaMesa getInstantanea() {
+        return instantanea;
     }
 
-    public void setPila(ArrayList<Pastor> pila) {
-        this.pila = pila;
+    /**
+     * @return la copia de los asientos que dibuja el panel (no modificable)
+     */
+    public List<Pastor> getAsientos() {
+        return asientos;
     }
 }